@@ -0,0 +1,718 @@
+package com.opencsv;
+
+import com.opencsv.exceptions.CsvLimitExceededException;
+import com.opencsv.exceptions.CsvRunawayQuoteException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+/**
+ * Base class for the record tokenizers reading bytes.
+ * <p>
+ * In charsets like UTF-8 and the ISO-8859 family the line terminators and
+ * the special characters of a parser are single ASCII bytes that never occur
+ * inside the encoding of another character.  Records and fields can then be
+ * found in the raw bytes, and only the values of the fields have to be
+ * decoded.  Values consisting of ASCII bytes only, which is what most values
+ * are, are widened to characters without a decoder.  This saves decoding the
+ * whole input up front the way an {@link java.io.InputStreamReader} does.</p>
+ * <p>
+ * Everything else works like the {@link CharRecordTokenizer}: a reusable
+ * window is refilled directly from the underlying stream and values are kept
+ * as a range of the window as long as possible.  Malformed input is replaced
+ * just like an InputStreamReader replaces it.</p>
+ *
+ * @since 3.10
+ */
+abstract class ByteRecordTokenizer implements RecordTokenizer {
+
+    private final InputStream in;
+    protected final boolean keepCR;
+    private final boolean verifyReader;
+
+    private final CharsetDecoder decoder;
+    private final boolean singleByte;
+    private final boolean latin1;
+
+    /**
+     * The byte window.  Valid data lies between 0 and {@link #limit}.
+     */
+    protected byte[] buf;
+    /**
+     * The window wrapped for a {@link SpecialByteFinder}.
+     */
+    protected ByteBuffer words;
+    /**
+     * The next byte to be scanned.
+     */
+    protected int pos;
+    /**
+     * The end of the valid data in the window.
+     */
+    protected int limit;
+    /**
+     * The start of the record currently being tokenized.  Everything from
+     * here on is kept in the window when it is refilled.
+     */
+    protected int recordStart;
+    /**
+     * The start of the physical line currently being tokenized.
+     */
+    protected int lineStart;
+
+    private boolean endOfInput;
+    private boolean endedByEmptyLine;
+    private boolean skipLF;
+    private boolean quoteOpenAtEnd;
+    private long linesRead;
+    /**
+     * The line the record currently being tokenized starts on.
+     */
+    private long recordLine;
+    /**
+     * The limits checked, or null if records are not limited.
+     */
+    private RecordLimits limits;
+    /**
+     * The start of the second line of the record currently being tokenized,
+     * or -1 while the record has only one line.  This is where reading goes
+     * on after a runaway quote.
+     */
+    private int nextLineStart = -1;
+    /**
+     * The position in the input of the start of the window.
+     */
+    private long windowOffset;
+
+    /*
+     * The value of the field being assembled, as bytes.  As long as the value
+     * is a contiguous run of the window it is only tracked by valueStart and
+     * valueEnd.  As soon as bytes have to be dropped or replaced it is copied
+     * into the value array.
+     */
+    private int valueStart;
+    private int valueEnd;
+    private boolean copying;
+    private byte[] value = new byte[ICSVParser.INITIAL_READ_SIZE];
+    private int valueLength;
+
+    /*
+     * Where bytes were dropped between two bytes of non-ASCII characters.
+     * Decoding the joined bytes could turn malformed input into a valid
+     * character, so the parts are decoded separately, as they would be if
+     * the whole input was decoded.
+     */
+    private int[] breaks = new int[4];
+    private int breakCount;
+    private int appendEnd = -1;
+
+    /**
+     * The decoded characters of the value handed to the sink.
+     */
+    private char[] chars = new char[ICSVParser.INITIAL_READ_SIZE];
+
+    /**
+     * Number of fields handed to the sink for the current record.
+     */
+    protected int fieldCount;
+
+    /**
+     * Constructs a tokenizer reading from the given stream.
+     *
+     * @param in           The stream to an underlying CSV source.
+     * @param charset      The charset of the stream, see {@link #canScan(Charset, char...)}
+     * @param keepCR       True to keep carriage returns in data read, false otherwise
+     * @param verifyReader True if a failing stream should be treated as the end of the input.
+     */
+    ByteRecordTokenizer(InputStream in, Charset charset, boolean keepCR, boolean verifyReader) {
+        this.in = in;
+        this.keepCR = keepCR;
+        this.verifyReader = verifyReader;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.singleByte = decoder.maxCharsPerByte() == 1.0f && charset.newEncoder().maxBytesPerChar() == 1.0f;
+        this.latin1 = "ISO-8859-1".equals(charset.name());
+        this.buf = new byte[DEFAULT_BUFFER_SIZE];
+        this.words = SpecialByteFinder.words(buf);
+    }
+
+    /**
+     * Checks if a charset can be tokenized byte by byte.
+     *
+     * @param charset The charset
+     * @param special The special characters of the parser
+     * @return True if the charset is UTF-8 or a single byte charset in which
+     * the line terminators and the special characters are the ASCII bytes
+     * of the same value.
+     */
+    static boolean canScan(Charset charset, char... special) {
+        if (!"UTF-8".equals(charset.name()) && charset.newEncoder().maxBytesPerChar() != 1.0f) {
+            return false;
+        }
+        char[] terminators = {'\n', '\r'};
+        for (char[] characters : new char[][]{terminators, special}) {
+            for (char c : characters) {
+                byte[] encoded = String.valueOf(c).getBytes(charset);
+                if (c > 0x7F || encoded.length != 1 || encoded[0] != c) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    @Override
+    public long getPosition() {
+        return windowOffset + pos;
+    }
+
+    @Override
+    public boolean isAfterCarriageReturn() {
+        return skipLF;
+    }
+
+    @Override
+    public boolean isEndOfInput() {
+        return endOfInput;
+    }
+
+    @Override
+    public boolean isQuoteOpenAtEnd() {
+        return quoteOpenAtEnd;
+    }
+
+    @Override
+    public void setLimits(RecordLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public void resume(long position, long linesRead, boolean afterCarriageReturn, boolean endOfInput) throws IOException {
+        long remaining = position;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                throw new IOException("The input ends before the position to resume from.");
+            }
+            remaining -= skipped;
+        }
+        windowOffset = position;
+        this.linesRead = linesRead;
+        this.skipLF = afterCarriageReturn;
+        this.endOfInput = endOfInput;
+    }
+
+    @Override
+    public void skipLines(int lines) throws IOException {
+        if (lines <= 0 || (verifyReader && !hasMoreInput())) {
+            return;
+        }
+        for (int i = 0; i < lines; i++) {
+            skipLine();
+            linesRead++;
+        }
+    }
+
+    private void skipLine() throws IOException {
+        if (!hasMoreInput()) {
+            return;
+        }
+        recordStart = pos;
+        for (;;) {
+            while (pos < limit) {
+                byte b = buf[pos++];
+                if (b == '\n') {
+                    return;
+                }
+                if (b == '\r' && !keepCR) {
+                    skipLF = true;
+                    return;
+                }
+            }
+            recordStart = pos;
+            if (!fill()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Positions the tokenizer at the start of the next record and starts its
+     * first field.
+     *
+     * @return True if there is a record to read, false at the end of the input.
+     * @throws IOException If bad things happen during the read
+     */
+    protected final boolean beginRecord() throws IOException {
+        recordStart = pos;
+        if (!beginLine()) {
+            return false;
+        }
+        recordLine = linesRead;
+        nextLineStart = -1;
+        fieldCount = 0;
+        resetValue();
+        return true;
+    }
+
+    /**
+     * Positions the tokenizer at the start of the next physical line of a
+     * record continued by an open quote, and checks the record for a
+     * runaway quote.
+     *
+     * @return True if there is a line to read, false at the end of the input.
+     * @throws IOException If bad things happen during the read, or the quote
+     *                     is most likely a runaway quote
+     */
+    protected final boolean continueRecord() throws IOException {
+        if (!beginLine()) {
+            return false;
+        }
+        if (nextLineStart < 0) {
+            nextLineStart = lineStart;
+        }
+        checkRunawayQuote(pos - recordStart);
+        return true;
+    }
+
+    /**
+     * Checks a record continued by an open quote for a runaway quote.  If
+     * the quote has run away, the tokenizer goes back to the second line of
+     * the record, so that the next record is read from there.
+     *
+     * @param size The size of the record read so far
+     * @throws CsvRunawayQuoteException If the quote is most likely a runaway quote
+     */
+    private void checkRunawayQuote(int size) throws CsvRunawayQuoteException {
+        if (limits == null || nextLineStart < 0) {
+            return;
+        }
+        try {
+            limits.checkQuotedRecord(linesRead - recordLine + 1, size, recordLine);
+        } catch (CsvRunawayQuoteException e) {
+            pos = nextLineStart;
+            linesRead = recordLine;
+            skipLF = false;
+            endOfInput = false;
+            nextLineStart = -1;
+            resetRecordState();
+            throw e;
+        }
+    }
+
+    /**
+     * Forgets the state the subclass carries over from one record to the
+     * next.  This is called when a record is dropped for a runaway quote, so
+     * the input after it is tokenized as if it started there, just like the
+     * parser starts afresh once it drops the field it keeps pending.
+     */
+    protected abstract void resetRecordState();
+
+    /**
+     * Positions the tokenizer at the start of the next physical line.
+     *
+     * @return True if there is a line to read, false at the end of the input.
+     * @throws IOException If bad things happen during the read
+     */
+    protected boolean beginLine() throws IOException {
+        if (endedByEmptyLine) {
+            skipLineAfterTheEnd();
+            return false;
+        }
+        if (!hasMoreInput()) {
+            return false;
+        }
+        if (keepCR && buf[pos] == '\n') {
+            // the line based reading treats an empty line as the end of the input
+            pos++;
+            endOfInput = true;
+            endedByEmptyLine = true;
+            return false;
+        }
+        lineStart = pos;
+        linesRead++;
+        return true;
+    }
+
+    /**
+     * Skips the next line after an empty line ended the input.  The line
+     * based reading still reads a line whenever it is asked for a record
+     * after the end, counting it unless it is empty, but never hands it out.
+     *
+     * @throws IOException If bad things happen during the read
+     */
+    private void skipLineAfterTheEnd() throws IOException {
+        recordStart = pos;
+        boolean empty = true;
+        for (;;) {
+            while (pos < limit) {
+                if (buf[pos++] == '\n') {
+                    if (!empty) {
+                        linesRead++;
+                    }
+                    return;
+                }
+                empty = false;
+            }
+            recordStart = pos;
+            if (!fill()) {
+                if (!empty) {
+                    linesRead++;
+                }
+                return;
+            }
+        }
+    }
+
+    private boolean hasMoreInput() throws IOException {
+        for (;;) {
+            if (endOfInput) {
+                return false;
+            }
+            if (pos == limit && !fillAtLineStart()) {
+                endOfInput = true;
+                return false;
+            }
+            if (skipLF) {
+                skipLF = false;
+                if (buf[pos] == '\n') {
+                    pos++;
+                    continue;
+                }
+            }
+            return true;
+        }
+    }
+
+    private boolean fillAtLineStart() throws IOException {
+        try {
+            return fill();
+        } catch (CsvLimitExceededException e) {
+            throw e;
+        } catch (IOException e) {
+            if (verifyReader) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Checks to see if the byte is a line terminator.
+     *
+     * @param b Source byte
+     * @return True if the byte ends a physical line.
+     */
+    protected final boolean isLineTerminator(int b) {
+        return b == '\n' || (b == '\r' && !keepCR);
+    }
+
+    /**
+     * Consumes the line terminator at the current position.  A CR may be
+     * followed by an LF that has not been read yet, so that LF is skipped
+     * when the next line begins.
+     */
+    protected void consumeLineTerminator() {
+        if (buf[pos++] == '\r') {
+            skipLF = true;
+        }
+    }
+
+    /**
+     * Returns the byte after the current position if it belongs to the
+     * same physical line.
+     *
+     * @return The next byte as an unsigned value, or -1 if the line ends
+     * after the current position.
+     * @throws IOException If bad things happen during the read
+     */
+    protected int nextByteInLine() throws IOException {
+        if (pos + 1 >= limit && !fill()) {
+            return -1;
+        }
+        byte b = buf[pos + 1];
+        return isLineTerminator(b) ? -1 : b & 0xFF;
+    }
+
+    /**
+     * Checks if the current position is past the second character of the
+     * line, the way the line based parsing counts characters.
+     *
+     * @return True if there are more than two characters between the start
+     * of the line and the current position.
+     */
+    protected final boolean isPastSecondCharOfLine() {
+        int bytes = pos - lineStart;
+        if (bytes <= 2) {
+            return false;
+        }
+        if (singleByte || bytes > 12) {
+            // no character takes more than four bytes
+            return true;
+        }
+        for (int i = lineStart; i < pos; i++) {
+            if (buf[i] < 0) {
+                return decode(buf, lineStart, bytes, 0) > 2;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads more data into the window.  The data from {@link #recordStart}
+     * on is moved to the front of the window first and all positions are
+     * adjusted accordingly.  The window grows if the record fills it, unless
+     * that makes the record exceed the limits.
+     *
+     * @return True if more data was read, false at the end of the input.
+     * @throws IOException If bad things happen during the read
+     */
+    protected boolean fill() throws IOException {
+        if (recordStart > 0) {
+            int shift = recordStart;
+            windowOffset += shift;
+            System.arraycopy(buf, shift, buf, 0, limit - shift);
+            limit -= shift;
+            pos -= shift;
+            lineStart -= shift;
+            if (nextLineStart >= 0) {
+                nextLineStart -= shift;
+            }
+            if (valueEnd > valueStart) {
+                valueStart -= shift;
+                valueEnd -= shift;
+            }
+            if (appendEnd >= 0) {
+                appendEnd -= shift;
+            }
+            recordStart = 0;
+        }
+        if (limits != null && limit > 0) {
+            limits.checkRecordSize(limit, recordLine);
+            limits.checkFieldLength(valueLength(), recordLine);
+            checkRunawayQuote(limit);
+        }
+        if (limit == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+            words = SpecialByteFinder.words(buf);
+        }
+        int read = in.read(buf, limit, buf.length - limit);
+        if (read <= 0) {
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    /**
+     * Starts a new, empty field value.
+     */
+    protected final void resetValue() {
+        copying = false;
+        valueLength = 0;
+        breakCount = 0;
+        appendEnd = -1;
+        valueStart = 0;
+        valueEnd = 0;
+    }
+
+    /**
+     * @return The number of bytes in the current field value.
+     */
+    protected final int valueLength() {
+        return copying ? valueLength : valueEnd - valueStart;
+    }
+
+    /**
+     * Appends a run of bytes of the window to the field value.
+     *
+     * @param from Index of the first byte in the window
+     * @param to   Index after the last byte in the window
+     */
+    protected final void appendRange(int from, int to) {
+        int previousEnd = appendEnd;
+        appendEnd = to;
+        if (!copying) {
+            if (valueStart == valueEnd) {
+                valueStart = from;
+                valueEnd = to;
+                return;
+            }
+            if (valueEnd == from) {
+                valueEnd = to;
+                return;
+            }
+            startCopying();
+        }
+        int length = to - from;
+        if (!singleByte && from != previousEnd && valueLength > 0 && value[valueLength - 1] < 0 && buf[from] < 0) {
+            if (breakCount == breaks.length) {
+                breaks = Arrays.copyOf(breaks, breakCount * 2);
+            }
+            breaks[breakCount++] = valueLength;
+        }
+        ensureValueCapacity(valueLength + length);
+        System.arraycopy(buf, from, value, valueLength, length);
+        valueLength += length;
+    }
+
+    /**
+     * Appends an ASCII character that is not in the window to the field value.
+     *
+     * @param c The character to append
+     */
+    protected final void appendAscii(char c) {
+        appendEnd = -1;
+        if (!copying) {
+            startCopying();
+        }
+        ensureValueCapacity(valueLength + 1);
+        value[valueLength++] = (byte) c;
+    }
+
+    private void startCopying() {
+        valueLength = valueEnd - valueStart;
+        ensureValueCapacity(valueLength);
+        System.arraycopy(buf, valueStart, value, 0, valueLength);
+        copying = true;
+    }
+
+    private void ensureValueCapacity(int capacity) {
+        if (capacity > value.length) {
+            value = Arrays.copyOf(value, Math.max(capacity, value.length * 2));
+        }
+    }
+
+    /**
+     * @return True if the field value consists only of white space.
+     */
+    protected final boolean valueIsWhitespace() {
+        int length = decodeValue();
+        for (int i = 0; i < length; i++) {
+            if (!Character.isWhitespace(chars[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int decodeValue() {
+        if (!copying) {
+            return decode(buf, valueStart, valueEnd - valueStart, 0);
+        }
+        int length = 0;
+        int from = 0;
+        for (int i = 0; i < breakCount; i++) {
+            length = decode(value, from, breaks[i] - from, length);
+            from = breaks[i];
+        }
+        return decode(value, from, valueLength - from, length);
+    }
+
+    /**
+     * Decodes bytes into {@link #chars}.  No character of the charsets
+     * supported takes fewer bytes than Java characters, so the decoded
+     * characters always fit into an array as long as the bytes.
+     *
+     * @param bytes  The bytes
+     * @param offset The offset of the first byte
+     * @param length The number of bytes
+     * @param start  The index in chars to decode to
+     * @return The index in chars after the last character decoded.
+     */
+    private int decode(byte[] bytes, int offset, int length, int start) {
+        if (chars.length < start + length) {
+            chars = Arrays.copyOf(chars, Math.max(start + length, chars.length * 2));
+        }
+        char[] c = chars;
+        int i = 0;
+        while (i < length && bytes[offset + i] >= 0) {
+            c[start + i] = (char) bytes[offset + i];
+            i++;
+        }
+        if (i == length) {
+            return start + length;
+        }
+        if (latin1) {
+            for (; i < length; i++) {
+                c[start + i] = (char) (bytes[offset + i] & 0xFF);
+            }
+            return start + length;
+        }
+        CharBuffer out = CharBuffer.wrap(c, start + i, c.length - start - i);
+        decoder.reset();
+        decoder.decode(ByteBuffer.wrap(bytes, offset + i, length - i), out, true);
+        decoder.flush(out);
+        return out.position();
+    }
+
+    /**
+     * Decodes the current field value and hands it to the sink.
+     *
+     * @param sink   Receives the field
+     * @param asNull True if the field should be passed on as null
+     * @param quoted True if the field was enclosed in quotes
+     * @throws IOException If the field exceeds the limits
+     */
+    protected final void emitValue(FieldSink sink, boolean asNull, boolean quoted) throws IOException {
+        int index = fieldCount++;
+        if (limits != null) {
+            limits.checkColumns(fieldCount, recordLine);
+            limits.checkFieldLength(valueLength(), recordLine);
+        }
+        if (index == 0) {
+            sink.startRecord();
+        }
+        if (!sink.wantsField(index)) {
+            return;
+        }
+        if (asNull) {
+            sink.field(null, 0, 0, quoted);
+        } else {
+            sink.field(chars, 0, decodeValue(), quoted);
+        }
+    }
+
+    /**
+     * Finishes the current record.
+     *
+     * @param sink Receives the end of the record
+     * @return True if the record had any fields.
+     * @throws IOException If the record exceeds the limits
+     */
+    protected final boolean endRecord(FieldSink sink) throws IOException {
+        if (fieldCount == 0) {
+            return false;
+        }
+        if (limits != null) {
+            limits.checkRecordSize(pos - recordStart, recordLine);
+        }
+        sink.endRecord();
+        return true;
+    }
+
+    /**
+     * Finishes the current record at the end of the input while a quoted
+     * section is still open.
+     *
+     * @param sink Receives the end of the record
+     * @return True if the record had any fields.
+     * @throws IOException If the record exceeds the limits
+     */
+    protected final boolean endRecordInQuotes(FieldSink sink) throws IOException {
+        quoteOpenAtEnd = true;
+        return endRecord(sink);
+    }
+}
@@ -0,0 +1,159 @@
+package com.opencsv;
+
+import com.opencsv.exceptions.CsvRunawayQuoteException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hands out the records of a {@link CSVReader} in batches to several threads.
+ * <p>
+ * Reading and parsing stays sequential, but each call to {@link #nextBatch()}
+ * takes a whole batch of parsed records, so worker threads spend their time
+ * on processing the records and not on waiting for each other.  Every batch
+ * carries its position in the input, so the results of the workers can be put
+ * back in order.  Unlike the {@link CSVIterator} errors are not hidden: the
+ * records read before an IOException are handed out as a batch of their own,
+ * and the exception is thrown to the thread asking for the next batch, and to
+ * every thread asking after that.  A
+ * {@link com.opencsv.exceptions.CsvRunawayQuoteException} is only thrown
+ * once, since the reader goes on after it.</p>
+ * <p>
+ * Create one with {@link CSVReader#batches(int)}:</p>
+ * <pre>
+ * {@code
+ * final CSVBatchReader batches = reader.batches(1000);
+ * for (int i = 0; i < threads; i++) {
+ *     executor.submit(new Callable<Void>() {
+ *         public Void call() throws IOException {
+ *             CSVBatchReader.Batch batch;
+ *             while ((batch = batches.nextBatch()) != null) {
+ *                 ...
+ *             }
+ *             return null;
+ *         }
+ *     });
+ * }
+ * }
+ * </pre>
+ * <p>
+ * To read a whole file with several parsing threads use the
+ * {@link ParallelCSVReader}.</p>
+ *
+ * @since 3.10
+ */
+public class CSVBatchReader {
+
+    private final CSVReader reader;
+    private final int batchSize;
+    private int nextIndex;
+    private IOException failure;
+    /**
+     * The failure that ended the last batch early, thrown by the next call.
+     */
+    private IOException pendingFailure;
+
+    /**
+     * Constructs a batch reader.
+     *
+     * @param reader    The reader the records are read from
+     * @param batchSize The maximum number of records in a batch
+     * @throws IllegalArgumentException If the batch size is not positive
+     */
+    CSVBatchReader(CSVReader reader, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive.");
+        }
+        this.reader = reader;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reads the next batch of records.  May be called from several threads.
+     *
+     * @return The next batch, or null if there are no more records.
+     * @throws IOException If bad things happen during the read, now or during
+     *                     an earlier call
+     */
+    public synchronized Batch nextBatch() throws IOException {
+        if (pendingFailure != null) {
+            IOException e = pendingFailure;
+            pendingFailure = null;
+            fail(e);
+        }
+        if (failure != null) {
+            throw new IOException("An earlier batch could not be read.", failure);
+        }
+        long firstRecord = reader.getRecordsRead() + 1;
+        List<String[]> records = new ArrayList<String[]>(batchSize);
+        try {
+            String[] record;
+            while (records.size() < batchSize && (record = reader.readNext()) != null) {
+                records.add(record);
+            }
+        } catch (IOException e) {
+            if (records.isEmpty()) {
+                fail(e);
+            }
+            // the records read so far are handed out before the failure
+            pendingFailure = e;
+        }
+        if (records.isEmpty()) {
+            return null;
+        }
+        return new Batch(nextIndex++, firstRecord, records);
+    }
+
+    /**
+     * Throws a failure to read, which fails all later calls too unless the
+     * reader can go on after it.
+     *
+     * @param e The failure
+     * @throws IOException Always, the failure itself
+     */
+    private void fail(IOException e) throws IOException {
+        if (!(e instanceof CsvRunawayQuoteException)) {
+            failure = e;
+        }
+        throw e;
+    }
+
+    /**
+     * Records read together by a {@link CSVBatchReader}.
+     */
+    public static final class Batch {
+        private final int index;
+        private final long firstRecord;
+        private final List<String[]> records;
+
+        private Batch(int index, long firstRecord, List<String[]> records) {
+            this.index = index;
+            this.firstRecord = firstRecord;
+            this.records = Collections.unmodifiableList(records);
+        }
+
+        /**
+         * @return The number of the batch, counting from zero.
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * @return The number of the first record of the batch, as returned by
+         * {@link CSVReader#getRecordsRead()} right after reading it.
+         */
+        public long getFirstRecord() {
+            return firstRecord;
+        }
+
+        /**
+         * @return The records of the batch, in the order of the input.
+         */
+        public List<String[]> getRecords() {
+            return records;
+        }
+    }
+}
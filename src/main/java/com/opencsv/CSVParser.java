@@ -20,8 +20,7 @@ import com.opencsv.enums.CSVReaderNullFieldIndicator;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * A very simple CSV parser released under a commercial-friendly license.
@@ -65,8 +64,39 @@ public class CSVParser implements ICSVParser {
      */
     private final boolean ignoreQuotations;
     private final CSVReaderNullFieldIndicator nullFieldIndicator;
-    private String pending;
+    /**
+     * The class of every character up to the highest special character:
+     * {@link #ORDINARY}, {@link #SEPARATOR}, {@link #QUOTE} or {@link #ESCAPE}.
+     * All characters beyond the table are ordinary.
+     */
+    private final byte[] charClasses;
+    /**
+     * The start of a quoted field that continues on the next line.  It is
+     * kept as a builder so that each further line is only appended to it.
+     */
+    private StringBuilder pending;
     private boolean inField = false;
+    /**
+     * The number of fields of the last line parsed, used to size the array
+     * for the next one.
+     */
+    private int expectedTokens = 1;
+    /**
+     * Splits lines with nothing special in them but separators, or null if
+     * the parser has quotes.
+     */
+    private final UnquotedLineSplitter unquotedSplitter;
+    /**
+     * True if the parser has the default separator, quote and escape
+     * characters and neither strict nor ignored quotes, the dialect of most
+     * input, which is parsed by {@link #parseDefaultDialect(String, boolean)}.
+     */
+    private final boolean defaultDialect;
+
+    private static final byte ORDINARY = 0;
+    private static final byte SEPARATOR = 1;
+    private static final byte QUOTE = 2;
+    private static final byte ESCAPE = 3;
 
     /**
      * Constructs CSVParser using a comma for the separator.
@@ -177,6 +207,22 @@ public class CSVParser implements ICSVParser {
         this.ignoreLeadingWhiteSpace = ignoreLeadingWhiteSpace;
         this.ignoreQuotations = ignoreQuotations;
         this.nullFieldIndicator = nullFieldIndicator;
+        this.charClasses = new byte[Math.max(separator, Math.max(quotechar, escape)) + 1];
+        // later assignments take precedence, just like the escape is checked before the quote character
+        charClasses[separator] = SEPARATOR;
+        charClasses[quotechar] = QUOTE;
+        charClasses[escape] = ESCAPE;
+        // without quotes a field is only ever cut at separators, escapes aside
+        this.unquotedSplitter = quotechar == NULL_CHARACTER && !strictQuotes
+                ? new UnquotedLineSplitter(separator, nullFieldIndicator == CSVReaderNullFieldIndicator.EMPTY_SEPARATORS
+                        || nullFieldIndicator == CSVReaderNullFieldIndicator.BOTH)
+                : null;
+        // subclasses may change how escapes are recognised, so they always take the general way
+        this.defaultDialect = getClass() == CSVParser.class
+                && separator == DEFAULT_SEPARATOR
+                && quotechar == DEFAULT_QUOTE_CHARACTER
+                && escape == DEFAULT_ESCAPE_CHARACTER
+                && !strictQuotes && !ignoreQuotations;
     }
 
 
@@ -298,36 +344,49 @@ public class CSVParser implements ICSVParser {
 
         if (nextLine == null) {
             if (pending != null) {
-                String s = pending;
+                String s = pending.toString();
                 pending = null;
                 return new String[]{s};
             }
             return null;
         }
 
-        List<String> tokensOnThisLine = new ArrayList<String>();
-        StringBuilder sb = new StringBuilder(nextLine.length() + READ_BUFFER_SIZE);
+        if (unquotedSplitter != null && pending == null && isUnquoted(nextLine)) {
+            inField = false;
+            return unquotedSplitter.split(nextLine);
+        }
+
+        if (defaultDialect) {
+            return parseDefaultDialect(nextLine, multi);
+        }
+
+        String[] tokens = new String[expectedTokens];
+        int tokenCount = 0;
+        FieldValue value = new FieldValue(nextLine, pending);
         boolean inQuotes = false;
         boolean fromQuotedField = false;
         if (pending != null) {
-            sb.append(pending);
             pending = null;
             inQuotes = !this.ignoreQuotations;
         }
-        for (int i = 0; i < nextLine.length(); i++) {
+        final int length = nextLine.length();
+        for (int i = 0; i < length; i++) {
 
             char c = nextLine.charAt(i);
-            if (c == this.escape) {
+            byte charClass = c < charClasses.length ? charClasses[c] : ORDINARY;
+            if (charClass == ESCAPE) {
                 if (isNextCharacterEscapable(nextLine, inQuotes(inQuotes), i)) {
-                    i = appendNextCharacterAndAdvanceLoop(nextLine, sb, i);
+                    value.append(i + 1);
+                    i++;
                 }
-            } else if (c == quotechar) {
+            } else if (charClass == QUOTE) {
                 if (isNextCharacterEscapedQuote(nextLine, inQuotes(inQuotes), i)) {
-                    i = appendNextCharacterAndAdvanceLoop(nextLine, sb, i);
+                    value.append(i + 1);
+                    i++;
                 } else {
 
                     inQuotes = !inQuotes;
-                    if (atStartOfField(sb)) {
+                    if (value.length() == 0) {
                         fromQuotedField = true;
                     }
 
@@ -335,41 +394,136 @@ public class CSVParser implements ICSVParser {
                     if (!strictQuotes) {
                         if (i > 2 //not on the beginning of the line
                                 && nextLine.charAt(i - 1) != this.separator //not at the beginning of an escape sequence
-                                && nextLine.length() > (i + 1) &&
+                                && length > (i + 1) &&
                                 nextLine.charAt(i + 1) != this.separator //not at the	end of an escape sequence
                                 ) {
 
-                            if (ignoreLeadingWhiteSpace && sb.length() > 0 && StringUtils.isWhitespace(sb)) {
-                                sb.setLength(0);
+                            if (ignoreLeadingWhiteSpace && value.length() > 0 && value.isWhitespace()) {
+                                value.clear();
                             } else {
-                                sb.append(c);
+                                value.append(i);
                             }
 
                         }
                     }
                 }
                 inField = !inField;
-            } else if (c == separator && !(inQuotes && !ignoreQuotations)) {
-                tokensOnThisLine.add(convertEmptyToNullIfNeeded(sb.toString(), fromQuotedField));
+            } else if (charClass == SEPARATOR && !(inQuotes && !ignoreQuotations)) {
+                if (tokenCount == tokens.length) {
+                    tokens = Arrays.copyOf(tokens, tokenCount * 2);
+                }
+                tokens[tokenCount++] = convertEmptyToNullIfNeeded(value.take(), fromQuotedField);
                 fromQuotedField = false;
-                sb.setLength(0);
                 inField = false;
             } else {
                 if (!strictQuotes || (inQuotes && !ignoreQuotations)) {
-                    sb.append(c);
+                    value.append(i);
                     inField = true;
                     fromQuotedField = true;
                 }
             }
 
         }
+        return endLine(tokens, tokenCount, value, inQuotes, fromQuotedField, multi);
+    }
+
+    /**
+     * Parses a line of the default dialect.  This is the loop of
+     * {@link #parseLine(String, boolean)} with the special characters as
+     * constants and the branches for strict and ignored quotes left out, so
+     * the compiler is left with three comparisons per character.
+     *
+     * @param nextLine The string to parse
+     * @param multi Does it take multiple lines to form a single record.
+     * @return The list of elements
+     * @throws IOException If the line ends inside quotes and multi is false
+     */
+    private String[] parseDefaultDialect(String nextLine, boolean multi) throws IOException {
+        String[] tokens = new String[expectedTokens];
+        int tokenCount = 0;
+        FieldValue value = new FieldValue(nextLine, pending);
+        boolean inQuotes = pending != null;
+        boolean fromQuotedField = false;
+        boolean inField = this.inField;
+        pending = null;
+        final int length = nextLine.length();
+        for (int i = 0; i < length; i++) {
+            char c = nextLine.charAt(i);
+            if (c == DEFAULT_SEPARATOR) {
+                if (inQuotes) {
+                    value.append(i);
+                    inField = true;
+                    fromQuotedField = true;
+                } else {
+                    if (tokenCount == tokens.length) {
+                        tokens = Arrays.copyOf(tokens, tokenCount * 2);
+                    }
+                    tokens[tokenCount++] = convertEmptyToNullIfNeeded(value.take(), fromQuotedField);
+                    fromQuotedField = false;
+                    inField = false;
+                }
+            } else if (c == DEFAULT_QUOTE_CHARACTER) {
+                char next = i + 1 < length ? nextLine.charAt(i + 1) : NULL_CHARACTER;
+                if ((inQuotes || inField) && next == DEFAULT_QUOTE_CHARACTER) {
+                    value.append(i + 1);
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                    if (value.length() == 0) {
+                        fromQuotedField = true;
+                    }
+                    // the tricky case of an embedded quote in the middle: a,bc"d"ef,g
+                    if (i > 2 && nextLine.charAt(i - 1) != DEFAULT_SEPARATOR
+                            && i + 1 < length && next != DEFAULT_SEPARATOR) {
+                        if (ignoreLeadingWhiteSpace && value.length() > 0 && value.isWhitespace()) {
+                            value.clear();
+                        } else {
+                            value.append(i);
+                        }
+                    }
+                }
+                inField = !inField;
+            } else if (c == DEFAULT_ESCAPE_CHARACTER) {
+                if ((inQuotes || inField) && i + 1 < length) {
+                    char next = nextLine.charAt(i + 1);
+                    if (next == DEFAULT_QUOTE_CHARACTER || next == DEFAULT_ESCAPE_CHARACTER) {
+                        value.append(i + 1);
+                        i++;
+                    }
+                }
+            } else {
+                value.append(i);
+                inField = true;
+                fromQuotedField = true;
+            }
+        }
+        this.inField = inField;
+        return endLine(tokens, tokenCount, value, inQuotes, fromQuotedField, multi);
+    }
+
+    /**
+     * Finishes the record at the end of a line: the last field is added,
+     * unless it is quoted and continues on the next line.
+     *
+     * @param tokens          The fields found so far, possibly with room for more
+     * @param tokenCount      The number of fields found so far
+     * @param value           The value of the last field
+     * @param inQuotes        True if the line ends inside quotes
+     * @param fromQuotedField True if the last field was quoted or has content
+     * @param multi           Does it take multiple lines to form a single record.
+     * @return The list of elements
+     * @throws IOException If the line ends inside quotes and multi is false
+     */
+    private String[] endLine(String[] tokens, int tokenCount, FieldValue value,
+                             boolean inQuotes, boolean fromQuotedField, boolean multi) throws IOException {
         // line is done - check status
+        boolean lastFieldComplete = true;
         if (inQuotes && !ignoreQuotations) {
             if (multi) {
                 // continuing a quoted section, re-append newline
-                sb.append('\n');
-                pending = sb.toString();
-                sb = null; // this partial content is not to be added to field list yet
+                value.append('\n');
+                pending = value.takeBuilder();
+                lastFieldComplete = false; // this partial content is not to be added to field list yet
             } else {
                 throw new IOException("Un-terminated quoted field at end of CSV line");
             }
@@ -380,15 +534,38 @@ public class CSVParser implements ICSVParser {
             inField = false;
         }
 
-        if (sb != null) {
-            tokensOnThisLine.add(convertEmptyToNullIfNeeded(sb.toString(), fromQuotedField));
+        if (lastFieldComplete) {
+            if (tokenCount == tokens.length) {
+                tokens = Arrays.copyOf(tokens, tokenCount + 1);
+            }
+            tokens[tokenCount++] = convertEmptyToNullIfNeeded(value.take(), fromQuotedField);
+        }
+        if (tokenCount > 0) {
+            expectedTokens = tokenCount;
         }
-        return tokensOnThisLine.toArray(new String[tokensOnThisLine.size()]);
+        return tokenCount == tokens.length ? tokens : Arrays.copyOf(tokens, tokenCount);
+    }
 
+    /**
+     * @return The length of the value of the field that continues on the
+     * next line, including the newline ending it so far, or 0 if there is
+     * none.
+     */
+    int pendingLength() {
+        return pending == null ? 0 : pending.length();
     }
 
-    private boolean atStartOfField(StringBuilder sb) {
-        return sb.length() == 0;
+    /**
+     * Checks whether a line of a parser without quotes can simply be split
+     * at its separators.  The null character stands for the missing quote
+     * and escape characters, so it is special too.
+     *
+     * @param nextLine The line to check
+     * @return True if the line holds neither an escape nor a null character
+     */
+    private boolean isUnquoted(String nextLine) {
+        return nextLine.indexOf(NULL_CHARACTER) < 0
+                && (escape == NULL_CHARACTER || nextLine.indexOf(escape) < 0);
     }
 
     private String convertEmptyToNullIfNeeded(String s, boolean fromQuotedField) {
@@ -411,20 +588,6 @@ public class CSVParser implements ICSVParser {
         }
     }
 
-    /**
-     * Appends the next character in the line to the string buffer.
-     *
-     * @param line Line to process
-     * @param sb Contains the processed character
-     * @param i Current position in the line.
-     * @return New position in the line.
-     */
-    private int appendNextCharacterAndAdvanceLoop(String line, StringBuilder sb, int i) {
-        sb.append(line.charAt(i + 1));
-        i++;
-        return i;
-    }
-
     /**
      * Determines if we can process as if we were in quotes.
      *
@@ -509,4 +672,109 @@ public class CSVParser implements ICSVParser {
     public CSVReaderNullFieldIndicator nullFieldIndicator() {
         return nullFieldIndicator;
     }
+
+    /**
+     * The value of the field being parsed.
+     * <p>
+     * Most values are one contiguous stretch of the line, so as long as a
+     * value is only extended at its end it is tracked by its bounds and
+     * taken from the line with substring.  Only values assembled from
+     * several pieces, because of escapes, quotes in the middle of a field or
+     * lines continuing a quoted field, are copied into a StringBuilder.  The
+     * builder of a field spanning several lines is handed on from line to
+     * line, so such a field is assembled in time linear to its length.</p>
+     */
+    private static final class FieldValue {
+        private final String line;
+        private int start;
+        private int end;
+        private StringBuilder sb;
+        private boolean copying;
+
+        FieldValue(String line, StringBuilder pending) {
+            this.line = line;
+            if (pending != null) {
+                sb = pending;
+                copying = true;
+            }
+        }
+
+        int length() {
+            return copying ? sb.length() : end - start;
+        }
+
+        /**
+         * Appends the character of the line at the given index.
+         *
+         * @param i Index in the line
+         */
+        void append(int i) {
+            if (!copying) {
+                if (start == end) {
+                    start = i;
+                    end = i + 1;
+                    return;
+                }
+                if (end == i) {
+                    end++;
+                    return;
+                }
+                startCopying();
+            }
+            sb.append(line.charAt(i));
+        }
+
+        void append(char c) {
+            if (!copying) {
+                startCopying();
+            }
+            sb.append(c);
+        }
+
+        private void startCopying() {
+            if (sb == null) {
+                sb = new StringBuilder(line.length() + READ_BUFFER_SIZE);
+            }
+            sb.append(line, start, end);
+            copying = true;
+        }
+
+        boolean isWhitespace() {
+            return StringUtils.isWhitespace(copying ? sb : line.subSequence(start, end));
+        }
+
+        void clear() {
+            start = 0;
+            end = 0;
+            if (copying) {
+                sb.setLength(0);
+                copying = false;
+            }
+        }
+
+        /**
+         * @return The value, after which the value is empty again.
+         */
+        String take() {
+            String value = copying ? sb.toString() : line.substring(start, end);
+            clear();
+            return value;
+        }
+
+        /**
+         * @return The builder holding the value, which is no longer used by
+         * this field value.
+         */
+        StringBuilder takeBuilder() {
+            if (!copying) {
+                startCopying();
+            }
+            StringBuilder value = sb;
+            sb = null;
+            copying = false;
+            start = 0;
+            end = 0;
+            return value;
+        }
+    }
 }
@@ -0,0 +1,202 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Record tokenizer implementing the rules of the {@link CSVParser} on bytes.
+ * <p>
+ * This is the byte reading twin of the {@link CSVParserTokenizer} and
+ * applies the rules in exactly the same way, so a {@link CSVReader} returns
+ * the same data whether it reads bytes or characters.</p>
+ *
+ * @since 3.10
+ */
+class CSVParserByteTokenizer extends ByteRecordTokenizer {
+
+    private final byte separator;
+    private final byte quotechar;
+    private final byte escape;
+    private final boolean strictQuotes;
+    private final boolean ignoreLeadingWhiteSpace;
+    private final boolean ignoreQuotations;
+    private final CSVReaderNullFieldIndicator nullFieldIndicator;
+    private final SpecialByteFinder finder;
+
+    /**
+     * Mirrors the inField state the CSVParser keeps between lines.
+     */
+    private boolean inField;
+
+    /**
+     * Constructs a tokenizer with the settings of the given parser.
+     *
+     * @param in           The stream to an underlying CSV source.
+     * @param charset      The charset of the stream
+     * @param parser       The parser whose settings are used
+     * @param keepCR       True to keep carriage returns in data read, false otherwise
+     * @param verifyReader True if a failing stream should be treated as the end of the input.
+     */
+    CSVParserByteTokenizer(InputStream in, Charset charset, CSVParser parser, boolean keepCR, boolean verifyReader) {
+        super(in, charset, keepCR, verifyReader);
+        this.separator = (byte) parser.getSeparator();
+        this.quotechar = (byte) parser.getQuotechar();
+        this.escape = (byte) parser.getEscape();
+        this.strictQuotes = parser.isStrictQuotes();
+        this.ignoreLeadingWhiteSpace = parser.isIgnoreLeadingWhiteSpace();
+        this.ignoreQuotations = parser.isIgnoreQuotations();
+        this.nullFieldIndicator = parser.nullFieldIndicator();
+        this.finder = keepCR
+                ? new SpecialByteFinder(separator, quotechar, escape, (byte) '\n')
+                : new SpecialByteFinder(separator, quotechar, escape, (byte) '\n', (byte) '\r');
+    }
+
+    /**
+     * Checks if input in the given charset can be tokenized with the rules of
+     * the given parser byte by byte.
+     *
+     * @param charset The charset of the input
+     * @param parser  The parser
+     * @return True if the special characters of the parser can be found in
+     * the bytes of the input.
+     */
+    static boolean canScan(Charset charset, CSVParser parser) {
+        return canScan(charset, parser.getSeparator(), parser.getQuotechar(), parser.getEscape());
+    }
+
+    @Override
+    protected void resetRecordState() {
+        inField = false;
+    }
+
+    @Override
+    public boolean readRecord(FieldSink sink) throws IOException {
+        if (!beginRecord()) {
+            return false;
+        }
+        boolean inQuotes = false;
+        boolean fromQuotedField = false;
+        boolean quoted = false;
+
+        for (;;) {
+            // consume a run of ordinary bytes in one go
+            int runStart = pos;
+            int end = limit;
+            int p = finder.find(words, runStart, end);
+            if (p > runStart && (!strictQuotes || (inQuotes && !ignoreQuotations))) {
+                appendRange(runStart, p);
+                inField = true;
+                fromQuotedField = true;
+            }
+            pos = p;
+            if (p == end) {
+                if (fill()) {
+                    continue;
+                }
+                // end of input without a line terminator
+                if (inQuotes && !ignoreQuotations) {
+                    return endRecordInQuotes(sink);
+                }
+                inField = false;
+                emitValue(sink, isNull(fromQuotedField), quoted);
+                return endRecord(sink);
+            }
+
+            byte c = buf[pos];
+            if (isLineTerminator(c)) {
+                if (inQuotes && !ignoreQuotations) {
+                    // continuing a quoted section, the terminator becomes a newline
+                    if (c == '\n') {
+                        appendRange(pos, pos + 1);
+                    } else {
+                        appendAscii('\n');
+                    }
+                    consumeLineTerminator();
+                    fromQuotedField = false;
+                    if (!continueRecord()) {
+                        return endRecordInQuotes(sink);
+                    }
+                    continue;
+                }
+                inField = false;
+                emitValue(sink, isNull(fromQuotedField), quoted);
+                consumeLineTerminator();
+                return endRecord(sink);
+            }
+
+            if (c == escape) {
+                int next = nextByteInLine();
+                if (inQuotes(inQuotes) && next != -1 && (next == quotechar || next == escape)) {
+                    appendRange(pos + 1, pos + 2);
+                    pos += 2;
+                } else {
+                    pos++;
+                }
+            } else if (c == quotechar) {
+                int next = nextByteInLine();
+                if (inQuotes(inQuotes) && next == quotechar) {
+                    appendRange(pos + 1, pos + 2);
+                    pos += 2;
+                } else {
+                    inQuotes = !inQuotes;
+                    if (valueLength() == 0) {
+                        fromQuotedField = true;
+                        quoted = true;
+                    }
+                    // the tricky case of an embedded quote in the middle: a,bc"d"ef,g
+                    if (!strictQuotes
+                            && isPastSecondCharOfLine()
+                            && buf[pos - 1] != separator
+                            && next != -1 && next != separator) {
+                        if (ignoreLeadingWhiteSpace && valueLength() > 0 && valueIsWhitespace()) {
+                            resetValue();
+                        } else {
+                            appendRange(pos, pos + 1);
+                        }
+                    }
+                    pos++;
+                }
+                inField = !inField;
+            } else if (!(inQuotes && !ignoreQuotations)) {
+                // separator outside of quotes
+                emitValue(sink, isNull(fromQuotedField), quoted);
+                fromQuotedField = false;
+                quoted = false;
+                resetValue();
+                inField = false;
+                pos++;
+            } else {
+                // separator inside of quotes
+                if (!strictQuotes || (inQuotes && !ignoreQuotations)) {
+                    appendRange(pos, pos + 1);
+                    inField = true;
+                    fromQuotedField = true;
+                }
+                pos++;
+            }
+        }
+    }
+
+    private boolean inQuotes(boolean inQuotes) {
+        return (inQuotes && !ignoreQuotations) || inField;
+    }
+
+    private boolean isNull(boolean fromQuotedField) {
+        if (valueLength() != 0) {
+            return false;
+        }
+        switch (nullFieldIndicator) {
+            case BOTH:
+                return true;
+            case EMPTY_SEPARATORS:
+                return !fromQuotedField;
+            case EMPTY_QUOTES:
+                return fromQuotedField;
+            default:
+                return false;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Record tokenizer implementing the rules of the {@link CSVParser}.
+ * <p>
+ * The rules are applied exactly as {@link CSVParser#parseLineMulti(String)}
+ * applies them line by line (including the treatment of quotes in the
+ * middle of a field, which looks at the position in the physical line), so
+ * a {@link CSVReader} returns the same data whichever way it reads.</p>
+ *
+ * @since 3.10
+ */
+class CSVParserTokenizer extends CharRecordTokenizer {
+
+    private final char separator;
+    private final char quotechar;
+    private final char escape;
+    private final boolean strictQuotes;
+    private final boolean ignoreLeadingWhiteSpace;
+    private final boolean ignoreQuotations;
+    private final CSVReaderNullFieldIndicator nullFieldIndicator;
+
+    /**
+     * Mirrors the inField state the CSVParser keeps between lines.
+     */
+    private boolean inField;
+
+    /*
+     * The state of the record being tokenized, kept from one step to the next.
+     */
+    private boolean inQuotes;
+    private boolean fromQuotedField;
+    private boolean quoted;
+
+    /**
+     * Constructs a tokenizer with the settings of the given parser.
+     *
+     * @param in           The reader to an underlying CSV source.
+     * @param parser       The parser whose settings are used
+     * @param keepCR       True to keep carriage returns in data read, false otherwise
+     * @param verifyReader True if a failing reader should be treated as the end of the input.
+     */
+    CSVParserTokenizer(Reader in, CSVParser parser, boolean keepCR, boolean verifyReader) {
+        super(in, keepCR, verifyReader);
+        this.separator = parser.getSeparator();
+        this.quotechar = parser.getQuotechar();
+        this.escape = parser.getEscape();
+        this.strictQuotes = parser.isStrictQuotes();
+        this.ignoreLeadingWhiteSpace = parser.isIgnoreLeadingWhiteSpace();
+        this.ignoreQuotations = parser.isIgnoreQuotations();
+        this.nullFieldIndicator = parser.nullFieldIndicator();
+    }
+
+    @Override
+    protected void beginRecordState() {
+        inQuotes = false;
+        fromQuotedField = false;
+        quoted = false;
+    }
+
+    @Override
+    protected void resetRecordState() {
+        inField = false;
+    }
+
+    @Override
+    protected int step(FieldSink sink) throws IOException {
+        // consume a run of ordinary characters in one go
+        char[] b = buf;
+        int runStart = pos;
+        int p = pos;
+        int end = limit;
+        while (p < end) {
+            char c = b[p];
+            if (c == separator || c == quotechar || c == escape || c == '\n' || (c == '\r' && !keepCR)) {
+                break;
+            }
+            p++;
+        }
+        if (p > runStart && (!strictQuotes || (inQuotes && !ignoreQuotations))) {
+            appendRange(runStart, p);
+            inField = true;
+            fromQuotedField = true;
+        }
+        pos = p;
+        if (p > runStart && (p == end || isStreaming())) {
+            // the run is handed on before the window is refilled or the field ends
+            return CONTINUE;
+        }
+        if (p == end) {
+            if (fill()) {
+                return CONTINUE;
+            }
+            // end of input without a line terminator
+            if (inQuotes && !ignoreQuotations) {
+                return status(endRecordInQuotes(sink));
+            }
+            inField = false;
+            emitValue(sink, isNull(fromQuotedField), quoted);
+            return status(endRecord(sink));
+        }
+
+        char c = buf[pos];
+        if (isLineTerminator(c)) {
+            if (inQuotes && !ignoreQuotations) {
+                // continuing a quoted section, the terminator becomes a newline
+                if (c == '\n') {
+                    appendRange(pos, pos + 1);
+                } else {
+                    appendChar('\n');
+                }
+                consumeLineTerminator();
+                fromQuotedField = false;
+                if (!continueRecord()) {
+                    return status(endRecordInQuotes(sink));
+                }
+                return CONTINUE;
+            }
+            inField = false;
+            emitValue(sink, isNull(fromQuotedField), quoted);
+            consumeLineTerminator();
+            return status(endRecord(sink));
+        }
+
+        if (c == escape) {
+            int next = nextCharInLine();
+            if (inQuotes(inQuotes) && next != -1 && (next == quotechar || next == escape)) {
+                appendRange(pos + 1, pos + 2);
+                pos += 2;
+            } else {
+                pos++;
+            }
+        } else if (c == quotechar) {
+            int next = nextCharInLine();
+            if (inQuotes(inQuotes) && next == quotechar) {
+                appendRange(pos + 1, pos + 2);
+                pos += 2;
+            } else {
+                inQuotes = !inQuotes;
+                if (valueIsEmpty()) {
+                    fromQuotedField = true;
+                    quoted = true;
+                }
+                // the tricky case of an embedded quote in the middle: a,bc"d"ef,g
+                if (!strictQuotes
+                        && pos - lineStart > 2
+                        && buf[pos - 1] != separator
+                        && next != -1 && next != separator) {
+                    if (ignoreLeadingWhiteSpace && !valueIsEmpty() && valueIsWhitespace()) {
+                        resetValue();
+                    } else {
+                        appendRange(pos, pos + 1);
+                    }
+                }
+                pos++;
+            }
+            inField = !inField;
+        } else if (!(inQuotes && !ignoreQuotations)) {
+            // separator outside of quotes
+            emitValue(sink, isNull(fromQuotedField), quoted);
+            fromQuotedField = false;
+            quoted = false;
+            resetValue();
+            inField = false;
+            pos++;
+        } else {
+            // separator inside of quotes
+            if (!strictQuotes || (inQuotes && !ignoreQuotations)) {
+                appendRange(pos, pos + 1);
+                inField = true;
+                fromQuotedField = true;
+            }
+            pos++;
+        }
+        return CONTINUE;
+    }
+
+    @Override
+    protected boolean valueMayBeDropped() {
+        // a value of white space is dropped by a quote in the middle of the field
+        return ignoreLeadingWhiteSpace && !strictQuotes;
+    }
+
+    private boolean inQuotes(boolean inQuotes) {
+        return (inQuotes && !ignoreQuotations) || inField;
+    }
+
+    private boolean isNull(boolean fromQuotedField) {
+        if (!valueIsEmpty()) {
+            return false;
+        }
+        switch (nullFieldIndicator) {
+            case BOTH:
+                return true;
+            case EMPTY_SEPARATORS:
+                return !fromQuotedField;
+            case EMPTY_QUOTES:
+                return fromQuotedField;
+            default:
+                return false;
+        }
+    }
+}
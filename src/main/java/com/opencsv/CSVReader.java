@@ -16,15 +16,23 @@ package com.opencsv;
  limitations under the License.
  */
 
+import com.opencsv.exceptions.CsvRunawayQuoteException;
 import com.opencsv.stream.reader.LineReader;
 
 import java.io.BufferedReader;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * A very simple CSV reader released under a commercial-friendly license.
@@ -40,6 +48,12 @@ public class CSVReader implements Closeable, Iterable<String[]> {
      */
     public static final int DEFAULT_SKIP_LINES = 0;
     public static final int READ_AHEAD_LIMIT = Character.SIZE / Byte.SIZE;
+    /**
+     * The default size from which on a file read through
+     * {@link CSVReaderBuilder#CSVReaderBuilder(java.nio.file.Path, java.nio.charset.Charset)} is memory mapped.
+     * @since 3.10
+     */
+    public static final long DEFAULT_MAPPING_THRESHOLD = 16L * 1024 * 1024;
     protected ICSVParser parser;
     protected int skipLines;
     protected BufferedReader br;
@@ -52,6 +66,64 @@ public class CSVReader implements Closeable, Iterable<String[]> {
     protected long linesRead = 0;
     protected long recordsRead = 0;
 
+    /**
+     * The tokenizer used instead of the line reader and the parser, or null
+     * if lines are read and handed to the parser.
+     */
+    private RecordTokenizer tokenizer;
+    private StringArraySink recordSink;
+    private VisitorSink visitorSink;
+    private RowSink rowSink;
+    private CountingSink countingSink;
+
+    /**
+     * The columns returned, or null to return all of them.
+     */
+    private ColumnProjection projection;
+    private StringArraySink projectedSink;
+
+    /**
+     * The canonical values of the columns, or null if values are not pooled.
+     */
+    private ValuePool valuePool;
+
+    /**
+     * The lines to read again after a runaway quote, or null if there are none.
+     */
+    private ArrayDeque<String> replay;
+
+    /**
+     * The fields streamed by {@link #readNext(CsvFieldStreamHandler)}, or
+     * null if fields are not streamed.
+     */
+    private StreamedFields streamedFields;
+
+    /**
+     * The background reader, or null if records are read by the caller.
+     */
+    private ReadAhead readAhead;
+
+    /**
+     * The checkpoint to resume from before the first read, or null to start
+     * at the beginning of the input.
+     */
+    private CsvCheckpoint resumeFrom;
+    /**
+     * The number of records after which the input ends, or -1 to read all
+     * of the input.
+     */
+    private long recordLimit = -1;
+    /**
+     * The limits records are checked against, or null if records are not
+     * limited.
+     */
+    private RecordLimits limits;
+    /**
+     * The stream records are found in the bytes of, which is closed instead
+     * of {@link #br}, or null if the input is read as characters.
+     */
+    private InputStream byteInput;
+
     /**
      * Constructs CSVReader using a comma for the separator.
      *
@@ -204,6 +276,21 @@ public class CSVReader implements Closeable, Iterable<String[]> {
      * @param verifyReader   True to verify reader before each read, false otherwise
      */
     CSVReader(Reader reader, int line, ICSVParser icsvParser, boolean keepCR, boolean verifyReader) {
+        this(reader, line, icsvParser, keepCR, verifyReader, false);
+    }
+
+    /**
+     * Constructs CSVReader with supplied CSVParser.
+     *
+     * @param reader    The reader to an underlying CSV source.
+     * @param line      The number of lines to skip before reading
+     * @param icsvParser The parser to use to parse input
+     * @param keepCR    True to keep carriage returns in data read, false otherwise
+     * @param verifyReader   True to verify reader before each read, false otherwise
+     * @param useRecordTokenizer True to tokenize records directly from a character buffer if the parser allows it
+     */
+    CSVReader(Reader reader, int line, ICSVParser icsvParser, boolean keepCR, boolean verifyReader,
+              boolean useRecordTokenizer) {
         this.br =
                 (reader instanceof BufferedReader ?
                         (BufferedReader) reader :
@@ -213,7 +300,192 @@ public class CSVReader implements Closeable, Iterable<String[]> {
         this.parser = icsvParser;
         this.keepCR = keepCR;
         this.verifyReader = verifyReader;
+        if (useRecordTokenizer) {
+            this.tokenizer = createTokenizer(br, icsvParser, keepCR, verifyReader);
+        }
     }
+
+    /**
+     * Constructs CSVReader reading bytes in the given charset.
+     * <p>
+     * With the record tokenizer, if the charset and the parser allow it,
+     * records are found in the bytes read and only the values of the fields
+     * are decoded.  Otherwise the stream is decoded as a whole.</p>
+     *
+     * @param in        The stream to an underlying CSV source.
+     * @param charset   The charset of the stream
+     * @param line      The number of lines to skip before reading
+     * @param icsvParser The parser to use to parse input
+     * @param keepCR    True to keep carriage returns in data read, false otherwise
+     * @param verifyReader   True to verify reader before each read, false otherwise
+     * @param useRecordTokenizer True to tokenize records directly from a buffer if the parser allows it
+     */
+    CSVReader(InputStream in, Charset charset, int line, ICSVParser icsvParser, boolean keepCR, boolean verifyReader,
+              boolean useRecordTokenizer) {
+        this.skipLines = line;
+        this.parser = icsvParser;
+        this.keepCR = keepCR;
+        this.verifyReader = verifyReader;
+        if (useRecordTokenizer && icsvParser != null && icsvParser.getClass() == CSVParser.class
+                && CSVParserByteTokenizer.canScan(charset, (CSVParser) icsvParser)) {
+            // the stream is never decoded as a whole, so no reader is needed
+            this.byteInput = in;
+            this.tokenizer = new CSVParserByteTokenizer(in, charset, (CSVParser) icsvParser, keepCR, verifyReader);
+        } else {
+            this.br = new BufferedReader(new InputStreamReader(in, charset));
+            this.lineReader = new LineReader(br, keepCR);
+            if (useRecordTokenizer) {
+                this.tokenizer = createTokenizer(br, icsvParser, keepCR, verifyReader);
+            }
+        }
+    }
+
+    /**
+     * Creates the record tokenizer for the given parser.
+     *
+     * @param reader       The reader to an underlying CSV source.
+     * @param icsvParser   The parser whose settings the tokenizer follows
+     * @param keepCR       True to keep carriage returns in data read, false otherwise
+     * @param verifyReader True to verify reader before each read, false otherwise
+     * @return The tokenizer or null if the parser has to be used to parse lines.
+     */
+    private static RecordTokenizer createTokenizer(Reader reader, ICSVParser icsvParser, boolean keepCR, boolean verifyReader) {
+        // subclasses may change how lines are parsed, so they are left to do so
+        if (icsvParser != null && icsvParser.getClass() == CSVParser.class) {
+            return new CSVParserTokenizer(reader, (CSVParser) icsvParser, keepCR, verifyReader);
+        }
+        return null;
+    }
+
+    /**
+     * Restricts the records returned to the given columns.
+     *
+     * @param projection The columns to return, or null to return all of them
+     */
+    void setColumnProjection(ColumnProjection projection) {
+        this.projection = projection;
+    }
+
+    /**
+     * Makes the reader return one canonical String for values repeated in a
+     * column.
+     *
+     * @param valuePool The pool of values, or null to create a String for
+     *                  every value
+     */
+    void setValuePool(ValuePool valuePool) {
+        this.valuePool = valuePool;
+    }
+
+    /**
+     * Sets the fields {@link #readNext(CsvFieldStreamHandler)} streams.
+     *
+     * @param streamedFields The fields to stream, or null to stream none
+     */
+    void setStreamedFields(StreamedFields streamedFields) {
+        this.streamedFields = streamedFields;
+    }
+
+    /**
+     * Makes the reader read and parse records in a background thread.
+     *
+     * @param batches   The number of batches of records read ahead
+     * @param batchSize The number of records in a batch
+     */
+    void setReadAhead(int batches, int batchSize) {
+        this.readAhead = new ReadAhead(this, batches, batchSize);
+    }
+
+    /**
+     * Makes the reader go on from a checkpoint instead of starting at the
+     * beginning of the input.
+     *
+     * @param checkpoint The checkpoint taken by a reader of the same input
+     */
+    void setCheckpoint(CsvCheckpoint checkpoint) {
+        this.resumeFrom = checkpoint;
+        this.linesRead = checkpoint.getLinesRead();
+        this.recordsRead = checkpoint.getRecordsRead();
+    }
+
+    /**
+     * Makes the reader stop once it has read the given number of records,
+     * counting the records before a checkpoint resumed from.
+     *
+     * @param recordLimit The number of records after which the input ends
+     */
+    void setRecordLimit(long recordLimit) {
+        this.recordLimit = recordLimit;
+    }
+
+    /**
+     * Makes the reader check the records it reads against the given limits.
+     *
+     * @param limits The limits, or null to read records of any size
+     */
+    void setLimits(RecordLimits limits) {
+        this.limits = limits;
+        if (tokenizer != null) {
+            tokenizer.setLimits(limits);
+        }
+    }
+
+    /**
+     * Skips the lines to skip, or the input up to the checkpoint to resume
+     * from, through the record tokenizer.
+     *
+     * @throws IOException If bad things happen during the read
+     */
+    private void skipLinesOrResume() throws IOException {
+        if (resumeFrom == null) {
+            tokenizer.skipLines(skipLines);
+        } else {
+            if (resumeFrom.isBytePosition() != tokenizer instanceof ByteRecordTokenizer) {
+                throw new IOException("The checkpoint counts " + (resumeFrom.isBytePosition() ? "bytes" : "characters")
+                        + " but the reader reads " + (resumeFrom.isBytePosition() ? "characters." : "bytes."));
+            }
+            tokenizer.resume(resumeFrom.getPosition(), resumeFrom.getLinesRead(), resumeFrom.isAfterCarriageReturn(),
+                    resumeFrom.isEndOfInput());
+        }
+        linesRead = tokenizer.getLinesRead();
+        linesSkiped = true;
+    }
+
+    /**
+     * Takes a checkpoint after the last record read, from which a new reader
+     * for the same input can go on, see
+     * {@link CSVReaderBuilder#withCheckpoint(CsvCheckpoint)}.
+     * <p>
+     * Checkpoints can only be taken by readers using the record tokenizer
+     * (see {@link CSVReaderBuilder#withRecordTokenizer(boolean)}) that
+     * neither read ahead nor choose their columns by name.</p>
+     *
+     * @return The checkpoint
+     * @throws IOException If the lines to skip have not been skipped yet and
+     *                     bad things happen while skipping them
+     * @throws IllegalStateException If the reader cannot take checkpoints
+     * @since 3.10
+     */
+    public CsvCheckpoint checkpoint() throws IOException {
+        if (tokenizer == null) {
+            throw new IllegalStateException("Only readers using the record tokenizer can take checkpoints.");
+        }
+        if (readAhead != null) {
+            throw new IllegalStateException("Readers reading ahead cannot take checkpoints.");
+        }
+        if (projection != null && projection.isByName()) {
+            throw new IllegalStateException("Readers choosing their columns by name cannot take checkpoints.");
+        }
+        if (!linesSkiped) {
+            if (resumeFrom != null) {
+                return resumeFrom;
+            }
+            skipLinesOrResume();
+        }
+        return new CsvCheckpoint(tokenizer.getPosition(), tokenizer instanceof ByteRecordTokenizer,
+                tokenizer.isAfterCarriageReturn(), tokenizer.isEndOfInput(), linesRead, recordsRead);
+    }
+
     /**
      * @return The CSVParser used by the reader.
      */
@@ -251,6 +523,13 @@ public class CSVReader implements Closeable, Iterable<String[]> {
     public List<String[]> readAll() throws IOException {
 
         List<String[]> allElements = new ArrayList<String[]>();
+        if (readAhead != null) {
+            // hasNext belongs to the background thread
+            for (String[] record = readNext(); record != null; record = readNext()) {
+                allElements.add(record);
+            }
+            return allElements;
+        }
         while (hasNext) {
             String[] nextLineAsTokens = readNext();
             if (nextLineAsTokens != null) {
@@ -263,31 +542,407 @@ public class CSVReader implements Closeable, Iterable<String[]> {
 
     /**
      * Reads the next line from the buffer and converts to a string array.
+     * <p>
+     * If the reader was built for certain columns only (see
+     * {@link CSVReaderBuilder#withColumns(int...)}) the array holds just
+     * those columns.</p>
      *
      * @return A string array with each comma-separated element as a separate
      * entry.
      * @throws IOException If bad things happen during the read
      */
     public String[] readNext() throws IOException {
+        if (readAhead != null) {
+            return readAhead.next();
+        }
+        return readNextDirectly();
+    }
+
+    /**
+     * Reads the next record in the calling thread.  This is where the
+     * background thread of the read ahead reads its records.
+     *
+     * @return The record or null if there is no more input.
+     * @throws IOException If bad things happen during the read
+     */
+    String[] readNextDirectly() throws IOException {
+        if (projection != null) {
+            return readNextProjected();
+        }
+        return readNextRecordOrLine();
+    }
+
+    /**
+     * Reads the next record restricted to the projected columns.  If the
+     * columns are chosen by name the first record is the header they are
+     * looked up in.
+     *
+     * @return The projected record or null if there is no more input.
+     * @throws IOException If bad things happen during the read
+     */
+    private String[] readNextProjected() throws IOException {
+        if (!projection.isResolved()) {
+            String[] header = readNextRecordOrLine();
+            if (header != null) {
+                projection.resolve(header);
+            }
+            return projection.project(header);
+        }
+        if (tokenizer == null) {
+            return projection.project(readNextRecordOrLine());
+        }
+        if (projectedSink == null) {
+            projectedSink = new StringArraySink(projection, valuePool);
+        }
+        return validateResult(readRecord(projectedSink) ? projectedSink.getRecord() : null);
+    }
+
+    /**
+     * Reads the next record with all of its columns.
+     *
+     * @return A string array with each comma-separated element as a separate
+     * entry or null if there is no more input.
+     * @throws IOException If bad things happen during the read
+     */
+    private String[] readNextRecordOrLine() throws IOException {
+        if (tokenizer != null) {
+            return readNextRecord();
+        }
 
         String[] result = null;
+        int resultLength = 0;
+        long startLine = -1;
+        long size = 0;
+        long openFieldLength = 0;
+        List<String> lookahead = null;
         do {
             String nextLine = getNextLine();
             if (!hasNext) {
-                return validateResult(result);
+                break;
+            }
+            if (limits != null) {
+                // lines are read whole, so the record is checked line by line
+                if (startLine < 0) {
+                    startLine = linesRead;
+                }
+                size += nextLine.length() + 1;
+                limits.checkRecordSize(size, startLine);
+            }
+            boolean continued = parser.isPending();
+            if (continued && limits != null && limits.detectsRunawayQuotes()) {
+                if (lookahead == null) {
+                    lookahead = new ArrayList<String>();
+                }
+                lookahead.add(nextLine);
+                try {
+                    limits.checkQuotedRecord(lookahead.size() + 1, size, startLine);
+                } catch (CsvRunawayQuoteException e) {
+                    resynchronize(lookahead);
+                    throw e;
+                }
             }
             String[] r = parser.parseLineMulti(nextLine);
+            if (limits != null) {
+                limits.checkColumns(resultLength + r.length, startLine);
+                for (String field : r) {
+                    if (field != null) {
+                        limits.checkFieldLength(field.length(), startLine);
+                    }
+                }
+                if (parser.isPending()) {
+                    openFieldLength = openFieldLength(nextLine, continued, openFieldLength);
+                    limits.checkFieldLength(openFieldLength, startLine);
+                } else {
+                    openFieldLength = 0;
+                }
+            }
             if (r.length > 0) {
                 if (result == null) {
                     result = r;
                 } else {
-                    result = combineResultsFromMultipleReads(result, r);
+                    // grow geometrically so records spanning many lines take linear time
+                    if (resultLength + r.length > result.length) {
+                        result = Arrays.copyOf(result, Math.max(resultLength + r.length, result.length * 2));
+                    }
+                    System.arraycopy(r, 0, result, resultLength, r.length);
                 }
+                resultLength += r.length;
             }
         } while (parser.isPending());
+        if (result != null && resultLength < result.length) {
+            result = Arrays.copyOf(result, resultLength);
+        }
+        if (valuePool != null) {
+            valuePool.pool(result);
+        }
         return validateResult(result);
     }
 
+    /**
+     * Measures the field the parser keeps open at the end of a line.
+     *
+     * @param line            The line just parsed
+     * @param continued       True if the field was already open before the line
+     * @param openFieldLength The length of the field before the line
+     * @return The length of the field so far
+     */
+    private long openFieldLength(String line, boolean continued, long openFieldLength) {
+        if (parser instanceof CSVParser) {
+            // the value so far, as the record tokenizer counts it
+            return ((CSVParser) parser).pendingLength();
+        }
+        if (parser instanceof RFC4180Parser) {
+            return ((RFC4180Parser) parser).pendingLength();
+        }
+        // other parsers only tell that the whole line belongs to the field
+        return continued ? openFieldLength + line.length() + 1 : 0;
+    }
+
+    /**
+     * Drops the record a runaway quote kept open, so that reading goes on at
+     * its second line.
+     *
+     * @param lookahead The lines of the record after the first one
+     */
+    private void resynchronize(List<String> lookahead) {
+        // parsing a single line drops the field the parser keeps pending
+        try {
+            parser.parseLine("");
+        } catch (IOException e) {
+            // an empty line cannot fail to parse
+        }
+        if (replay == null) {
+            replay = new ArrayDeque<String>();
+        }
+        for (int i = lookahead.size() - 1; i >= 0; i--) {
+            replay.addFirst(lookahead.get(i));
+        }
+        linesRead -= lookahead.size();
+    }
+
+    /**
+     * Reads the next record through the record tokenizer.
+     *
+     * @return A string array with each comma-separated element as a separate
+     * entry or null if there is no more input.
+     * @throws IOException If bad things happen during the read
+     */
+    private String[] readNextRecord() throws IOException {
+        if (recordSink == null) {
+            recordSink = new StringArraySink(null, valuePool);
+        }
+        return validateResult(readRecord(recordSink) ? recordSink.getRecord() : null);
+    }
+
+    /**
+     * Hands the next record read by the record tokenizer to the sink.
+     *
+     * @param sink Receives the fields of the record
+     * @return True if a record was read, false if there is no more input.
+     * @throws IOException If bad things happen during the read
+     */
+    private boolean readRecord(RecordTokenizer.FieldSink sink) throws IOException {
+        if (!hasNext) {
+            return false;
+        }
+        if (!linesSkiped) {
+            skipLinesOrResume();
+        }
+        if (recordLimit >= 0 && recordsRead >= recordLimit) {
+            hasNext = false;
+            return false;
+        }
+        boolean read;
+        try {
+            read = tokenizer.readRecord(sink);
+        } finally {
+            linesRead = tokenizer.getLinesRead();
+        }
+        if (!read) {
+            hasNext = false;
+        }
+        return read;
+    }
+
+    /**
+     * Reads the next record, streaming the fields the reader was built to
+     * stream to the handler instead of returning them.
+     * <p>
+     * The fields of the columns given to
+     * {@link CSVReaderBuilder#withStreamedFields(int, int...)}, and the
+     * fields longer than the threshold given there, are handed to the
+     * handler as a Reader while the record is read.  The record returned
+     * holds null for them.  If the record tokenizer reading characters is
+     * used, which streaming fields selects whenever the parser allows it, a
+     * streamed field is read straight from the buffer of the reader as the
+     * handler reads it and is never held in memory as a whole.  Otherwise,
+     * and if the reader was built for certain columns only or to read ahead,
+     * the record is read with {@link #readNext()} and the handler is given
+     * readers over its Strings.</p>
+     *
+     * @param handler Receives the streamed fields
+     * @return The record, with null for the streamed fields, or null if
+     * there is no more input.
+     * @throws IOException If bad things happen during the read, or the
+     *                     handler fails
+     * @throws IllegalStateException If the reader was not built to stream fields
+     * @since 3.10
+     */
+    public String[] readNext(CsvFieldStreamHandler handler) throws IOException {
+        if (streamedFields == null) {
+            throw new IllegalStateException("The reader was not built to stream fields.");
+        }
+        if (!(tokenizer instanceof CharRecordTokenizer) || projection != null || readAhead != null) {
+            String[] record = readNext();
+            if (record != null) {
+                for (int i = 0; i < record.length; i++) {
+                    String field = record[i];
+                    if (streamedFields.isStreamed(i)
+                            || (field != null && streamedFields.exceedsThreshold(field.length()))) {
+                        record[i] = null;
+                        handler.handleField(i, field != null ? new StringReader(field) : null);
+                    }
+                }
+            }
+            return record;
+        }
+        if (recordSink == null) {
+            recordSink = new StringArraySink(null, valuePool);
+        }
+        CharRecordTokenizer charTokenizer = (CharRecordTokenizer) tokenizer;
+        charTokenizer.streamFields(streamedFields, handler);
+        try {
+            return validateResult(readRecord(recordSink) ? recordSink.getRecord() : null);
+        } finally {
+            charTokenizer.streamFields(null, null);
+        }
+    }
+
+    /**
+     * Reads the next record and hands its fields to the visitor one by one
+     * instead of collecting them into a String array.
+     * <p>
+     * If the record tokenizer is used (see
+     * {@link CSVReaderBuilder#withRecordTokenizer(boolean)}) the values the
+     * visitor receives are views over the internal buffer of the reader and
+     * no Strings are created for them.  Otherwise, and if the reader was
+     * built for certain columns only or to read ahead, the record is read
+     * with {@link #readNext()} and its Strings are handed to the visitor.</p>
+     *
+     * @param visitor Receives the fields of the record
+     * @return True if a record was read, false if there is no more input.
+     * @throws IOException If bad things happen during the read
+     * @since 3.10
+     */
+    public boolean readNext(CsvFieldVisitor visitor) throws IOException {
+        if (tokenizer == null || projection != null || readAhead != null) {
+            String[] record = readNext();
+            if (record == null) {
+                return false;
+            }
+            visitor.startRecord();
+            for (String field : record) {
+                visitor.field(field, false);
+            }
+            visitor.endRecord();
+            return true;
+        }
+        if (visitorSink == null || visitorSink.visitor != visitor) {
+            visitorSink = new VisitorSink(visitor);
+        }
+        if (readRecord(visitorSink)) {
+            recordsRead++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reads the next record as a row that creates the Strings of its fields
+     * only when they are asked for.
+     * <p>
+     * If the record tokenizer is used (see
+     * {@link CSVReaderBuilder#withRecordTokenizer(boolean)}) the row keeps
+     * the characters of the fields and a String is only created for a field
+     * when {@link CsvRow#get(int)} is called.  Otherwise, and if the reader
+     * was built for certain columns only, with a value pool or to read ahead,
+     * the record is read with {@link #readNext()} and the row holds its
+     * Strings.</p>
+     * <p>
+     * The row returned is reused for the next record, see
+     * {@link CsvRow#detach()}.</p>
+     *
+     * @return The record or null if there is no more input.
+     * @throws IOException If bad things happen during the read
+     * @since 3.10
+     */
+    public CsvRow readNextRow() throws IOException {
+        if (tokenizer == null || projection != null || valuePool != null || readAhead != null) {
+            String[] record = readNext();
+            return record == null ? null : new CsvRow(record);
+        }
+        if (rowSink == null) {
+            rowSink = new RowSink();
+        }
+        if (readRecord(rowSink)) {
+            recordsRead++;
+            return rowSink.row;
+        }
+        return null;
+    }
+
+    /**
+     * Reads the remaining records only to count them and their columns,
+     * without creating their values.
+     * <p>
+     * This answers questions like how many records a file has, or whether
+     * all of them have the same number of columns, much faster than reading
+     * the records.  If the record tokenizer is used (see
+     * {@link CSVReaderBuilder#withRecordTokenizer(boolean)}) only the quote
+     * state is followed through the input and no field is ever copied or
+     * turned into a String.  Otherwise, and if the reader was built for
+     * certain columns only or to read ahead, the records are read with
+     * {@link #readNext()} and their columns are counted.</p>
+     * <p>
+     * The records scanned count as read, see {@link #getRecordsRead()}.</p>
+     *
+     * @return What the scan found out about the records
+     * @throws IOException If bad things happen during the read
+     * @since 3.10
+     */
+    public CsvScanResult scan() throws IOException {
+        CsvScanResult result = new CsvScanResult();
+        if (tokenizer == null || projection != null || readAhead != null) {
+            for (;;) {
+                // lines still to be skipped come before the first record
+                long startLine = Math.max(getLinesRead(), skipLines) + 1;
+                String[] record = readNext();
+                if (record == null) {
+                    break;
+                }
+                result.record(startLine, record.length);
+            }
+            result.end(getLinesRead(), tokenizer != null ? tokenizer.isQuoteOpenAtEnd() : parser.isPending());
+            return result;
+        }
+        if (countingSink == null) {
+            countingSink = new CountingSink();
+        }
+        if (hasNext && !linesSkiped) {
+            skipLinesOrResume();
+        }
+        for (;;) {
+            long startLine = linesRead + 1;
+            if (!readRecord(countingSink)) {
+                break;
+            }
+            recordsRead++;
+            result.record(startLine, countingSink.columns);
+        }
+        result.end(linesRead, tokenizer.isQuoteOpenAtEnd());
+        return result;
+    }
+
     /**
      * Increments the number of records read if the result passed in is not null.
      *
@@ -306,7 +961,10 @@ public class CSVReader implements Closeable, Iterable<String[]> {
      * @param buffer Previous data read for this record
      * @param lastRead Latest data read for this record.
      * @return String array with union of the buffer and lastRead arrays.
+     * @deprecated {@link #readNext()} no longer copies the record for every
+     * line read and does not call this method any more.
      */
+    @Deprecated
     protected String[] combineResultsFromMultipleReads(String[] buffer, String[] lastRead) {
         String[] t = new String[buffer.length + lastRead.length];
         System.arraycopy(buffer, 0, t, 0, buffer.length);
@@ -321,12 +979,19 @@ public class CSVReader implements Closeable, Iterable<String[]> {
      * @throws IOException If bad things happen during the read
      */
     protected String getNextLine() throws IOException {
+        if (replay != null && !replay.isEmpty()) {
+            linesRead++;
+            return replay.removeFirst();
+        }
         if (isClosed()) {
             hasNext = false;
             return null;
         }
 
         if (!this.linesSkiped) {
+            if (resumeFrom != null) {
+                throw new IOException("Only readers using the record tokenizer can resume from a checkpoint.");
+            }
             for (int i = 0; i < skipLines; i++) {
                 lineReader.readLine();
                 linesRead++;
@@ -368,7 +1033,14 @@ public class CSVReader implements Closeable, Iterable<String[]> {
      */
     @Override
     public void close() throws IOException {
-        br.close();
+        if (readAhead != null) {
+            readAhead.stop();
+        }
+        if (byteInput != null) {
+            byteInput.close();
+        } else {
+            br.close();
+        }
     }
 
     /**
@@ -384,6 +1056,51 @@ public class CSVReader implements Closeable, Iterable<String[]> {
         }
     }
 
+    /**
+     * Creates a {@link CSVBatchReader} that hands the remaining records out
+     * in batches, for processing them in several threads.  The reader must
+     * not be used directly any more.
+     *
+     * @param batchSize The maximum number of records in a batch
+     * @return The batch reader
+     * @throws IllegalArgumentException If the batch size is not positive
+     * @since 3.10
+     */
+    public CSVBatchReader batches(int batchSize) {
+        return new CSVBatchReader(this, batchSize);
+    }
+
+    /**
+     * Creates a publisher of the remaining records that reads a record only
+     * once its subscriber has requested it.  The reader must not be used
+     * directly any more, and is not closed by the publisher.
+     *
+     * @param executor The executor to read and send the records with, or null
+     *                 to do so in the thread requesting them
+     * @return A publisher for a single subscriber
+     * @since 3.10
+     */
+    public CsvPublisher<String[]> publisher(Executor executor) {
+        return new CsvPublisher<String[]>(executor) {
+            @Override
+            protected String[] next() throws IOException {
+                return readNext();
+            }
+        };
+    }
+
+    /**
+     * Returns if the CSVReader tokenizes records directly from a character
+     * buffer instead of reading lines and handing them to the parser.
+     *
+     * @return True if the record tokenizer is used.
+     * @see CSVReaderBuilder#withRecordTokenizer(boolean)
+     * @since 3.10
+     */
+    public boolean usesRecordTokenizer() {
+        return tokenizer != null;
+    }
+
     /**
      * Returns if the CSVReader will verify the reader before each read.
      * <p>
@@ -440,7 +1157,7 @@ public class CSVReader implements Closeable, Iterable<String[]> {
      * @since 3.6
      */
     public long getLinesRead() {
-        return linesRead;
+        return readAhead != null ? readAhead.getLinesRead() : linesRead;
     }
 
     /**
@@ -478,6 +1195,166 @@ public class CSVReader implements Closeable, Iterable<String[]> {
      * @since 3.6
      */
     public long getRecordsRead() {
-        return recordsRead;
+        return readAhead != null ? readAhead.getRecordsRead() : recordsRead;
+    }
+
+    /**
+     * Collects the fields of a record into a String array.  The array is
+     * sized after the previous record, so for data with a constant number of
+     * columns exactly one array is allocated per record.
+     * <p>
+     * With a projection only the fields of the projected columns are
+     * collected, each into its place in the projected record.  With a value
+     * pool repeated values are taken from the pool instead of creating a new
+     * String for them.</p>
+     */
+    private static final class StringArraySink implements RecordTokenizer.FieldSink {
+        private final ColumnProjection projection;
+        private final ValuePool valuePool;
+        private String[] fields = new String[16];
+        private int count;
+        private int lastCount = -1;
+        private int column;
+        private int slot;
+
+        StringArraySink(ColumnProjection projection, ValuePool valuePool) {
+            this.projection = projection;
+            this.valuePool = valuePool;
+        }
+
+        @Override
+        public void startRecord() {
+            count = 0;
+            if (projection != null) {
+                fields = new String[projection.size()];
+            } else if (lastCount >= 0) {
+                fields = new String[lastCount];
+            }
+        }
+
+        @Override
+        public boolean wantsField(int index) {
+            column = index;
+            if (projection == null) {
+                return true;
+            }
+            slot = projection.slotOf(index);
+            return slot >= 0;
+        }
+
+        @Override
+        public void field(char[] chars, int offset, int length, boolean quoted) {
+            String value;
+            if (chars == null) {
+                value = null;
+            } else if (valuePool != null) {
+                value = valuePool.get(column, chars, offset, length);
+            } else {
+                value = new String(chars, offset, length);
+            }
+            if (projection != null) {
+                fields[slot] = value;
+                return;
+            }
+            if (count == fields.length) {
+                fields = Arrays.copyOf(fields, Math.max(16, count * 2));
+            }
+            fields[count++] = value;
+        }
+
+        @Override
+        public void endRecord() {
+            lastCount = count;
+        }
+
+        String[] getRecord() {
+            return projection != null || count == fields.length ? fields : Arrays.copyOf(fields, count);
+        }
+    }
+
+    /**
+     * Collects the characters of the fields of a record into a reused
+     * {@link CsvRow}.
+     */
+    private static final class RowSink implements RecordTokenizer.FieldSink {
+        private final CsvRow row = new CsvRow();
+
+        @Override
+        public void startRecord() {
+            row.clear();
+        }
+
+        @Override
+        public boolean wantsField(int index) {
+            return true;
+        }
+
+        @Override
+        public void field(char[] chars, int offset, int length, boolean quoted) {
+            row.add(chars, offset, length, quoted);
+        }
+
+        @Override
+        public void endRecord() {
+        }
+    }
+
+    /**
+     * Counts the fields of a record without taking any of them.
+     */
+    private static final class CountingSink implements RecordTokenizer.FieldSink {
+        private int columns;
+
+        @Override
+        public void startRecord() {
+            columns = 0;
+        }
+
+        @Override
+        public boolean wantsField(int index) {
+            columns = index + 1;
+            return false;
+        }
+
+        @Override
+        public void field(char[] chars, int offset, int length, boolean quoted) {
+        }
+
+        @Override
+        public void endRecord() {
+        }
+    }
+
+    /**
+     * Hands the fields of a record to a {@link CsvFieldVisitor} as views
+     * over the buffer they were found in.
+     */
+    private static final class VisitorSink implements RecordTokenizer.FieldSink {
+        private final CsvFieldVisitor visitor;
+        private final CharArraySequence view = new CharArraySequence();
+
+        VisitorSink(CsvFieldVisitor visitor) {
+            this.visitor = visitor;
+        }
+
+        @Override
+        public void startRecord() {
+            visitor.startRecord();
+        }
+
+        @Override
+        public boolean wantsField(int index) {
+            return true;
+        }
+
+        @Override
+        public void field(char[] chars, int offset, int length, boolean quoted) {
+            visitor.field(chars == null ? null : view.set(chars, offset, length), quoted);
+        }
+
+        @Override
+        public void endRecord() {
+            visitor.endRecord();
+        }
     }
 }
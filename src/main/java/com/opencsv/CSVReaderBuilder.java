@@ -18,7 +18,11 @@ package com.opencsv;
 
 import com.opencsv.enums.CSVReaderNullFieldIndicator;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 
 /**
  * Builder for creating a CSVReader.
@@ -45,11 +49,30 @@ public class CSVReaderBuilder {
 
     private final CSVParserBuilder parserBuilder = new CSVParserBuilder();
     private final Reader reader;
+    private final Path path;
+    private final InputStream inputStream;
+    private final Charset charset;
+    private long mappingThreshold = CSVReader.DEFAULT_MAPPING_THRESHOLD;
     private int skipLines = CSVReader.DEFAULT_SKIP_LINES;
     /*@Nullable*/private ICSVParser icsvParser = null;
     private boolean keepCR;
     private boolean verifyReader = CSVReader.DEFAULT_VERIFY_READER;
     private CSVReaderNullFieldIndicator nullFieldIndicator = CSVReaderNullFieldIndicator.NEITHER;
+    private boolean useRecordTokenizer;
+    private ColumnProjection projection;
+    private int valuesPerColumn;
+    private int readAheadBatches;
+    private int readAheadBatchSize;
+    private long followPollMillis;
+    private long followIdleTimeoutMillis;
+    private CsvCheckpoint checkpoint;
+    private long recordLimit = -1;
+    private int maxFieldLength;
+    private int maxColumns;
+    private int maxRecordSize;
+    private int maxQuotedLines;
+    private int maxQuotedSize;
+    private StreamedFields streamedFields;
 
    /**
     * Sets the reader to an underlying CSV source.
@@ -62,8 +85,66 @@ public class CSVReaderBuilder {
          throw new IllegalArgumentException("Reader may not be null");
       }
       this.reader = reader;
+      this.path = null;
+      this.inputStream = null;
+      this.charset = null;
    }
 
+    /**
+     * Sets the file to read.
+     *
+     * <p>The file is opened on the first read.  Files of at least the
+     * mapping threshold (see {@link #withMappingThreshold(long)}) are read
+     * through memory mapped windows, smaller files are streamed.  With the
+     * record tokenizer (see {@link #withRecordTokenizer(boolean)}) and a
+     * charset in which the special characters of the parser are single ASCII
+     * bytes, records are found in the bytes of the file instead, as for a
+     * stream.</p>
+     *
+     * @param path    The file to read.
+     * @param charset The charset of the file.
+     * @since 3.10
+     */
+    public CSVReaderBuilder(final Path path, final Charset charset) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path may not be null");
+        }
+        if (charset == null) {
+            throw new IllegalArgumentException("Charset may not be null");
+        }
+        this.reader = null;
+        this.path = path;
+        this.inputStream = null;
+        this.charset = charset;
+    }
+
+    /**
+     * Sets the stream of bytes to read.
+     *
+     * <p>Together with the record tokenizer (see
+     * {@link #withRecordTokenizer(boolean)}) and a charset in which the line
+     * terminators and the special characters of the parser are single ASCII
+     * bytes (like UTF-8 or ISO-8859-1), records are found in the raw bytes
+     * and only the values of the fields are decoded.  Otherwise the stream is
+     * decoded as a whole, like an {@link java.io.InputStreamReader} does.</p>
+     *
+     * @param inputStream The stream to an underlying CSV source.
+     * @param charset     The charset of the stream.
+     * @since 3.10
+     */
+    public CSVReaderBuilder(final InputStream inputStream, final Charset charset) {
+        if (inputStream == null) {
+            throw new IllegalArgumentException("InputStream may not be null");
+        }
+        if (charset == null) {
+            throw new IllegalArgumentException("Charset may not be null");
+        }
+        this.reader = null;
+        this.path = null;
+        this.inputStream = inputStream;
+        this.charset = charset;
+    }
+
     /**
      * Used by unit tests.
      *
@@ -73,6 +154,24 @@ public class CSVReaderBuilder {
         return reader;
     }
 
+    /**
+     * Used by unit tests.
+     *
+     * @return The file, or null if the builder was not given a path.
+     */
+    protected Path getPath() {
+        return path;
+    }
+
+    /**
+     * Used by unit tests.
+     *
+     * @return The stream, or null if the builder was not given a stream.
+     */
+    protected InputStream getInputStream() {
+        return inputStream;
+    }
+
     /**
      * Used by unit tests.
      *
@@ -124,9 +223,68 @@ public class CSVReaderBuilder {
     public CSVReader build() {
         final ICSVParser parser =
                 icsvParser != null ? icsvParser : parserBuilder.withFieldAsNull(nullFieldIndicator).build();
-       return new CSVReader(reader, skipLines, parser, keepCR, verifyReader);
+        final boolean limited = maxFieldLength > 0 || maxColumns > 0 || maxRecordSize > 0
+                || maxQuotedLines > 0 || maxQuotedSize > 0;
+        final boolean tokenize = useRecordTokenizer || projection != null || checkpoint != null || limited;
+        final boolean streaming = streamedFields != null;
+        final CSVReader csvReader;
+        if (streaming) {
+            // fields are only streamed by the tokenizer reading characters
+            csvReader = new CSVReader(charSource(), skipLines, parser, keepCR, verifyReader, true);
+        } else if (inputStream != null) {
+            csvReader = new CSVReader(inputStream, charset, skipLines, parser, keepCR, verifyReader, tokenize);
+        } else if (followPollMillis > 0) {
+            final InputStream following = new FollowingInputStream(path, followPollMillis, followIdleTimeoutMillis);
+            csvReader = new CSVReader(following, charset, skipLines, parser, keepCR, verifyReader, tokenize);
+        } else if (path != null && tokenize && parser.getClass() == CSVParser.class
+                && CSVParserByteTokenizer.canScan(charset, (CSVParser) parser)) {
+            // finding records in the bytes keeps positions seekable for checkpoints
+            csvReader = new CSVReader(new PathInputStream(path, mappingThreshold), charset, skipLines, parser, keepCR, verifyReader, true);
+        } else {
+            csvReader = new CSVReader(charSource(), skipLines, parser, keepCR, verifyReader, tokenize);
+        }
+        if (projection != null) {
+            csvReader.setColumnProjection(projection.copy());
+        }
+        if (valuesPerColumn > 0) {
+            csvReader.setValuePool(new ValuePool(valuesPerColumn));
+        }
+        if (readAheadBatches > 0) {
+            csvReader.setReadAhead(readAheadBatches, readAheadBatchSize);
+        }
+        if (checkpoint != null) {
+            csvReader.setCheckpoint(checkpoint);
+        }
+        if (recordLimit >= 0) {
+            csvReader.setRecordLimit(recordLimit);
+        }
+        if (limited) {
+            csvReader.setLimits(new RecordLimits(maxFieldLength, maxColumns, maxRecordSize,
+                    maxQuotedLines, maxQuotedSize));
+        }
+        if (streaming) {
+            csvReader.setStreamedFields(streamedFields);
+        }
+        return csvReader;
    }
 
+    /**
+     * @return The source of the reader built, decoded into characters.
+     */
+    private Reader charSource() {
+        if (reader != null) {
+            return reader;
+        }
+        if (inputStream != null) {
+            return new InputStreamReader(inputStream, charset);
+        }
+        if (followPollMillis > 0) {
+            return new InputStreamReader(
+                    new FollowingInputStream(path, followPollMillis, followIdleTimeoutMillis), charset);
+        }
+        return new PathReader(path, charset, mappingThreshold);
+    }
+
     /**
      * Sets if the reader will keep or discard carriage returns.
      *
@@ -174,4 +332,433 @@ public class CSVReaderBuilder {
         this.nullFieldIndicator = indicator;
         return this;
     }
+
+    /**
+     * Sets if the reader should tokenize records directly from a character
+     * buffer instead of reading the input line by line and handing every line
+     * to the parser.
+     *
+     * <p>This avoids creating a String for every line read and, for quoted
+     * fields spanning several lines, the repeated concatenation of the lines
+     * read so far.  The data returned is the same either way.</p>
+     *
+     * <p>The record tokenizer is only available for the {@link CSVParser}.
+     * Other parsers (including subclasses of CSVParser) always get lines
+     * handed to them.</p>
+     *
+     * <p>The default value is false.</p>
+     *
+     * @param useRecordTokenizer True to tokenize records from a character buffer, false to parse line by line.
+     * @return The CSVReaderBuilder based on this criteria.
+     * @since 3.10
+     */
+    public CSVReaderBuilder withRecordTokenizer(boolean useRecordTokenizer) {
+        this.useRecordTokenizer = useRecordTokenizer;
+        return this;
+    }
+
+    /**
+     * Limits the length of a field.
+     *
+     * <p>The limits guard against input that would make the reader use
+     * unbounded memory, like a quote that is never closed, which turns the
+     * rest of the input into a single field.  A record exceeding a limit
+     * makes the reader throw a
+     * {@link com.opencsv.exceptions.CsvLimitExceededException} giving the
+     * line the record starts on.  With the record tokenizer (see
+     * {@link #withRecordTokenizer(boolean)}), which any limit selects
+     * whenever the parser allows it, a field or record is stopped as soon
+     * as it exceeds the limit, so the memory a reader uses stays bounded.
+     * Otherwise the input is checked line by line, and a single line is
+     * still read whole.</p>
+     *
+     * <p>Lengths count characters, or bytes for readers finding records in
+     * the bytes of a file or stream.  Read line by line, the input no longer
+     * tells which line terminator a line had, if any, so every line counts
+     * one character for it.  The limits then only agree with those of the
+     * record tokenizer for input whose lines all end in a line feed.  The
+     * default is no limit.</p>
+     *
+     * @param maxFieldLength The maximum length of a field, or 0 for no limit
+     * @return The CSVReaderBuilder based on this criteria.
+     * @since 3.10
+     */
+    public CSVReaderBuilder withMaxFieldLength(final int maxFieldLength) {
+        this.maxFieldLength = maxFieldLength <= 0 ? 0 : maxFieldLength;
+        return this;
+    }
+
+    /**
+     * Limits the number of columns of a record, see
+     * {@link #withMaxFieldLength(int)}.
+     *
+     * @param maxColumns The maximum number of columns, or 0 for no limit
+     * @return The CSVReaderBuilder based on this criteria.
+     * @since 3.10
+     */
+    public CSVReaderBuilder withMaxColumns(final int maxColumns) {
+        this.maxColumns = maxColumns <= 0 ? 0 : maxColumns;
+        return this;
+    }
+
+    /**
+     * Limits the size of a record, including its line terminators, see
+     * {@link #withMaxFieldLength(int)}.
+     *
+     * @param maxRecordSize The maximum size of a record in characters or
+     *                      bytes, or 0 for no limit
+     * @return The CSVReaderBuilder based on this criteria.
+     * @since 3.10
+     */
+    public CSVReaderBuilder withMaxRecordSize(final int maxRecordSize) {
+        this.maxRecordSize = maxRecordSize <= 0 ? 0 : maxRecordSize;
+        return this;
+    }
+
+    /**
+     * Detects quotes that are most likely stray and resynchronizes after
+     * them.
+     *
+     * <p>A stray quote makes the parser take everything up to the next
+     * quote as part of a single field, which both corrupts the data and
+     * makes reading slow.  A quoted field that keeps a record open for more
+     * than the given number of lines, or beyond the given size, is taken as
+     * such a runaway quote.  The reader then throws a
+     * {@link com.opencsv.exceptions.CsvRunawayQuoteException} giving the
+     * line the record starts on, drops the record and goes on reading at
+     * the line after it, so the rest of the input is read as usual.  Only
+     * the lines looked ahead for the closing quote are read again, so the
+     * bounds also bound the memory used.</p>
+     *
+     * <p>Records of a single line are never affected.  With the record
+     * tokenizer (see {@link #withRecordTokenizer(boolean)}), which runaway
+     * quote detection selects whenever the parser allows it, sizes count
+     * characters, or bytes for readers finding records in the bytes of a
+     * file or stream.  Otherwise every line counts one character for its
+     * terminator, just like for {@link #withMaxFieldLength(int)}.</p>
+     *
+     * @param maxLines The maximum number of lines of a record with an open
+     *                 quote, or 0 for no limit
+     * @param maxSize  The maximum size of a record with an open quote, or 0
+     *                 for no limit
+     * @return The CSVReaderBuilder based on this criteria.
+     * @since 3.10
+     */
+    public CSVReaderBuilder withRunawayQuoteDetection(final int maxLines, final int maxSize) {
+        this.maxQuotedLines = maxLines <= 0 ? 0 : maxLines;
+        this.maxQuotedSize = maxSize <= 0 ? 0 : maxSize;
+        return this;
+    }
+
+    /**
+     * Used by unit tests.
+     *
+     * @return The maximum size of a record, 0 if records are not limited.
+     */
+    protected int getMaxRecordSize() {
+        return maxRecordSize;
+    }
+
+    /**
+     * Makes {@link CSVReader#readNext(CsvFieldStreamHandler)} stream huge
+     * fields to a handler instead of returning them.
+     *
+     * <p>The fields of the given columns are always streamed, other fields
+     * only once they turn out to be longer than the threshold.  With the
+     * record tokenizer reading characters, which streaming fields selects
+     * whenever the parser allows it, a streamed field is read from the
+     * buffer of the reader as the handler reads it, so fields of any length
+     * can be handled without holding them in memory.  Limits (see
+     * {@link #withMaxFieldLength(int)}) only count what of such a field is
+     * held in memory at a time.  Records read with
+     * {@link CSVReader#readNext()} still return all fields.</p>
+     *
+     * @param threshold The length beyond which a field is streamed, or 0 to
+     *                  stream only the given columns
+     * @param columns   The columns that are always streamed, counting from zero
+     * @return The CSVReaderBuilder based on this criteria.
+     * @throws IllegalArgumentException If a column is negative
+     * @since 3.10
+     */
+    public CSVReaderBuilder withStreamedFields(final int threshold, final int... columns) {
+        for (int column : columns) {
+            if (column < 0) {
+                throw new IllegalArgumentException("Columns count from zero, " + column + " is not a column.");
+            }
+        }
+        this.streamedFields = threshold > 0 || columns.length > 0 ? new StreamedFields(threshold, columns) : null;
+        return this;
+    }
+
+    /**
+     * Restricts the records read to the given columns.
+     *
+     * <p>The records returned hold the values of these columns in the order
+     * given, with null for columns a record is too short for.  The other
+     * columns are still parsed, but no Strings are created for them: the
+     * record tokenizer (see {@link #withRecordTokenizer(boolean)}) is used
+     * whenever the parser allows it.</p>
+     *
+     * @param columns The indexes of the columns to read, counting from zero
+     * @return The CSVReaderBuilder based on this criteria.
+     * @throws IllegalArgumentException If no column is given, an index is
+     *                                  negative or a column is given twice
+     * @since 3.10
+     */
+    public CSVReaderBuilder withColumns(final int... columns) {
+        this.projection = ColumnProjection.ofIndexes(columns);
+        return this;
+    }
+
+    /**
+     * Restricts the records read to the columns with the given names.
+     *
+     * <p>The first record read (after the skipped lines) is taken as the
+     * header the names are looked up in.  It is returned like every other
+     * record, restricted to the columns given, so it can still serve as the
+     * header of a mapping strategy.  Reading it throws an IOException if a
+     * name is not part of it.  Otherwise this works like
+     * {@link #withColumns(int...)}.</p>
+     *
+     * @param names The names of the columns to read
+     * @return The CSVReaderBuilder based on this criteria.
+     * @throws IllegalArgumentException If no name is given, a name is null or
+     *                                  a name is given twice
+     * @since 3.10
+     */
+    public CSVReaderBuilder withColumns(final String... names) {
+        this.projection = ColumnProjection.ofNames(names);
+        return this;
+    }
+
+    /**
+     * Makes the reader return the same String instance for values repeated
+     * in a column.
+     *
+     * <p>For columns with few distinct values, like country codes or status
+     * values, this saves a lot of memory when many records are kept, as
+     * {@link CSVReader#readAll()} or {@link com.opencsv.bean.CsvToBean} do.
+     * With the record tokenizer (see {@link #withRecordTokenizer(boolean)})
+     * repeated values are found before a String is created for them.</p>
+     *
+     * <p>The reader keeps up to the given number of recent values per
+     * column.  Columns whose values are mostly new, like ids or free text,
+     * stop being pooled after a while, and values longer than 64 characters
+     * are never pooled.</p>
+     *
+     * <p>The default value is 0, which turns pooling off.</p>
+     *
+     * @param valuesPerColumn The number of distinct values kept per column
+     * @return The CSVReaderBuilder based on this criteria.
+     * @since 3.10
+     */
+    public CSVReaderBuilder withValuePool(final int valuesPerColumn) {
+        this.valuesPerColumn = valuesPerColumn <= 0 ? 0 : valuesPerColumn;
+        return this;
+    }
+
+    /**
+     * Used by unit tests.
+     *
+     * @return The number of distinct values kept per column, 0 if values
+     * are not pooled.
+     */
+    protected int getValuesPerColumn() {
+        return valuesPerColumn;
+    }
+
+    /**
+     * Makes the reader read and parse records in a background thread while
+     * the caller processes the records read before.
+     *
+     * <p>This pays off when both reading the input and processing the
+     * records take time, for example for a file on a network share whose
+     * records feed expensive computations.  The thread is started by the
+     * first read and puts the records into batches of the given size.  Once
+     * the given number of batches is waiting to be taken, it waits for the
+     * caller.  If reading fails, the records read before the failure are
+     * returned first, and then {@link CSVReader#readNext()} throws the
+     * exception.  {@link CSVReader#close()} stops the thread.</p>
+     *
+     * <p>The reader must then only be used by one thread, the caller.
+     * {@link CSVReader#getLinesRead()} and
+     * {@link CSVReader#getRecordsRead()} count up to the last record
+     * returned.</p>
+     *
+     * <p>The default is 0 batches, which reads in the calling thread.</p>
+     *
+     * @param batches   The number of batches read ahead
+     * @param batchSize The number of records in a batch
+     * @return The CSVReaderBuilder based on this criteria.
+     * @throws IllegalArgumentException If batches is positive but batchSize
+     *                                  is not
+     * @since 3.10
+     */
+    public CSVReaderBuilder withReadAhead(final int batches, final int batchSize) {
+        if (batches > 0 && batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive.");
+        }
+        this.readAheadBatches = batches <= 0 ? 0 : batches;
+        this.readAheadBatchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Used by unit tests.
+     *
+     * @return The number of batches read ahead, 0 if records are read in
+     * the calling thread.
+     */
+    protected int getReadAheadBatches() {
+        return readAheadBatches;
+    }
+
+    /**
+     * Returns if the reader built will tokenize records from a character buffer.
+     *
+     * @return True if the record tokenizer should be used, false otherwise.
+     */
+    protected boolean useRecordTokenizer() {
+        return this.useRecordTokenizer;
+    }
+
+    /**
+     * Used by unit tests.
+     *
+     * @return The charset of the input, or null if the builder was given a reader.
+     */
+    protected Charset getCharset() {
+        return this.charset;
+    }
+
+    /**
+     * Sets the size from which on a file given by its path is memory mapped
+     * instead of read through a stream.
+     *
+     * <p>Mapping saves the copies of a stream (into a byte buffer, then into a
+     * character buffer) but setting up a mapping costs more than opening a
+     * stream, so it only pays off for larger files.  Files larger than 2GB
+     * are mapped one window at a time.</p>
+     *
+     * <p>The default value is {@link CSVReader#DEFAULT_MAPPING_THRESHOLD}.
+     * Use {@link Long#MAX_VALUE} to never map a file and 0 to always map it.</p>
+     *
+     * @param mappingThreshold The size of a file in bytes from which on it is mapped.
+     * @return The CSVReaderBuilder based on this criteria.
+     * @since 3.10
+     */
+    public CSVReaderBuilder withMappingThreshold(long mappingThreshold) {
+        this.mappingThreshold = mappingThreshold;
+        return this;
+    }
+
+    /**
+     * Makes the reader follow a file that other processes are still
+     * appending to, like {@code tail -f} does.
+     *
+     * <p>At the end of the file the reader does not report the end of input
+     * but waits for the file to grow, checking its size every poll interval.
+     * It then goes on from exactly where it stopped, in the middle of a
+     * record or even of a quoted field if need be.  Nothing is read twice,
+     * and a record is only returned once it is complete.</p>
+     *
+     * <p>Once the file has not grown for the idle timeout, what has been
+     * read is taken as the whole file: a record still missing its line
+     * terminator is returned as it is and the end of input is reported.
+     * With an idle timeout of 0 the reader waits for ever; interrupt the
+     * reading thread to stop it.  Waiting for the next record the reader
+     * then reports the end of input, like it does for other errors between
+     * records if it verifies the reader (see
+     * {@link #withVerifyReader(boolean)}), while waiting for the rest of a
+     * record an {@link java.io.InterruptedIOException} is thrown.  A file
+     * that becomes shorter than what was read is reported as an
+     * IOException.</p>
+     *
+     * <p>Following a file turns memory mapping off.  The default poll
+     * interval is 0, which reads the file as it is.</p>
+     *
+     * @param pollMillis        The time in milliseconds between checks of the
+     *                          file size, or 0 to not follow the file
+     * @param idleTimeoutMillis The time in milliseconds without new data after
+     *                          which the file is taken to be complete, or 0
+     *                          to wait for ever
+     * @return The CSVReaderBuilder based on this criteria.
+     * @throws IllegalStateException If the builder was not given a path
+     * @since 3.10
+     */
+    public CSVReaderBuilder withFollow(long pollMillis, long idleTimeoutMillis) {
+        if (path == null) {
+            throw new IllegalStateException("Only a file given by its path can be followed.");
+        }
+        this.followPollMillis = pollMillis <= 0 ? 0 : pollMillis;
+        this.followIdleTimeoutMillis = idleTimeoutMillis <= 0 ? 0 : idleTimeoutMillis;
+        return this;
+    }
+
+    /**
+     * Used by unit tests.
+     *
+     * @return The time between checks of the file size, 0 if the file is
+     * not followed.
+     */
+    protected long getFollowPollMillis() {
+        return followPollMillis;
+    }
+
+    /**
+     * Makes the reader go on from a checkpoint taken by a reader of the same
+     * input (see {@link CSVReader#checkpoint()}) instead of starting at the
+     * beginning.
+     *
+     * <p>The input up to the checkpoint is skipped without being parsed, and
+     * the lines to skip are not skipped again.  A checkpoint counting bytes
+     * needs a reader finding records in bytes, which for a file given by its
+     * path or a stream means the same charset and a {@link CSVParser} with
+     * the same settings.  The skip of a file given by its path, or of a
+     * stream that supports it like a {@link java.io.FileInputStream}, is a
+     * seek, so nothing before the checkpoint is read at all.</p>
+     *
+     * <p>Resuming forces the record tokenizer (see
+     * {@link #withRecordTokenizer(boolean)}).  The reader counts lines and
+     * records on from the numbers of the checkpoint.</p>
+     *
+     * @param checkpoint The checkpoint to go on from, or null to start at the
+     *                   beginning of the input
+     * @return The CSVReaderBuilder based on this criteria.
+     * @since 3.10
+     */
+    public CSVReaderBuilder withCheckpoint(CsvCheckpoint checkpoint) {
+        this.checkpoint = checkpoint;
+        return this;
+    }
+
+    /**
+     * Restricts the reader to a split of the file planned by
+     * {@link ParallelCSVReader#split(int)}.
+     *
+     * <p>The reader starts at the first record of the split, skipping the
+     * file before it without reading it, and returns no more records after
+     * the last record of the split.  It must be built for the file the split
+     * was planned for, given by its path or as a stream, with the same
+     * charset and parser settings.  Lines and records are counted as in the
+     * whole file.</p>
+     *
+     * @param split The split to read, or null to read the whole input
+     * @return The CSVReaderBuilder based on this criteria.
+     * @since 3.10
+     */
+    public CSVReaderBuilder withSplit(CsvSplit split) {
+        this.checkpoint = split != null ? split.getCheckpoint() : null;
+        this.recordLimit = split != null ? split.getRecordsBefore() + split.getRecords() : -1;
+        return this;
+    }
+
+    /**
+     * Returns the size from which on a file is memory mapped.
+     *
+     * @return The mapping threshold in bytes
+     */
+    protected long getMappingThreshold() {
+        return this.mappingThreshold;
+    }
 }
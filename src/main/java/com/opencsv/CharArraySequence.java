@@ -0,0 +1,58 @@
+package com.opencsv;
+
+/**
+ * A reusable, mutable view of a range of a character array.
+ * <p>
+ * This is what a {@link CsvFieldVisitor} gets to see of a field when the
+ * record tokenizer is used.  The view is pointed at the next field as soon
+ * as the visitor returns, which is why visitors must not keep it.</p>
+ *
+ * @since 3.10
+ */
+final class CharArraySequence implements CharSequence {
+
+    private char[] chars;
+    private int offset;
+    private int length;
+
+    /**
+     * Points the view at a range of a character array.
+     *
+     * @param chars  The characters
+     * @param offset The offset of the range in chars
+     * @param length The length of the range
+     * @return This view
+     */
+    CharArraySequence set(char[] chars, int offset, int length) {
+        this.chars = chars;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+        }
+        return chars[offset + index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("Start: " + start + ", End: " + end + ", Length: " + length);
+        }
+        return new String(chars, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, offset, length);
+    }
+}
@@ -0,0 +1,816 @@
+package com.opencsv;
+
+import com.opencsv.exceptions.CsvLimitExceededException;
+import com.opencsv.exceptions.CsvRunawayQuoteException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Base class for the record tokenizers reading characters.
+ * <p>
+ * A tokenizer scans a reusable character window that is refilled directly
+ * from the underlying reader.  Record boundaries and field boundaries are
+ * found in a single pass, so no per-line Strings and no "pending"
+ * concatenation for multi-line fields are created.  Only the values of the
+ * fields are ever materialized and then only by the {@link FieldSink}
+ * receiving them.</p>
+ *
+ * @since 3.10
+ */
+abstract class CharRecordTokenizer implements RecordTokenizer {
+
+    /**
+     * Returned by {@link #step(FieldSink)} while the record goes on.
+     */
+    protected static final int CONTINUE = 0;
+    /**
+     * Returned by {@link #step(FieldSink)} when a record has been read.
+     */
+    protected static final int RECORD = 1;
+    /**
+     * Returned by {@link #step(FieldSink)} when the input ended without a
+     * record.
+     */
+    protected static final int NO_RECORD = 2;
+
+    private final Reader in;
+    protected final boolean keepCR;
+    private final boolean verifyReader;
+
+    /**
+     * The character window.  Valid data lies between 0 and {@link #limit}.
+     */
+    protected char[] buf;
+    /**
+     * The next character to be scanned.
+     */
+    protected int pos;
+    /**
+     * The end of the valid data in the window.
+     */
+    protected int limit;
+    /**
+     * The start of the record currently being tokenized.  Everything from
+     * here on is kept in the window when it is refilled.
+     */
+    protected int recordStart;
+    /**
+     * The start of the physical line currently being tokenized.
+     */
+    protected int lineStart;
+
+    private boolean endOfInput;
+    private boolean endedByEmptyLine;
+    private boolean skipLF;
+    private boolean quoteOpenAtEnd;
+    private long linesRead;
+    /**
+     * The line the record currently being tokenized starts on.
+     */
+    private long recordLine;
+    /**
+     * The limits checked, or null if records are not limited.
+     */
+    private RecordLimits limits;
+    /**
+     * The start of the second line of the record currently being tokenized,
+     * or -1 while the record has only one line.  This is where reading goes
+     * on after a runaway quote.
+     */
+    private int nextLineStart = -1;
+    /**
+     * The position in the input of the start of the window.
+     */
+    private long windowOffset;
+
+    /*
+     * The value of the field being assembled.  As long as the value is a
+     * contiguous run of the window it is only tracked by valueStart and
+     * valueEnd.  As soon as characters have to be dropped or replaced it is
+     * copied into the value array.
+     */
+    private int valueStart;
+    private int valueEnd;
+    private boolean copying;
+    private char[] value = new char[ICSVParser.INITIAL_READ_SIZE];
+    private int valueLength;
+
+    /**
+     * Number of fields handed to the sink for the current record.
+     */
+    protected int fieldCount;
+
+    /*
+     * The fields streamed and where they go, or null if all fields are
+     * handed to the sink.  While a field is streamed its value is handed on
+     * in chunks after every step instead of being assembled.
+     */
+    private StreamedFields streamedFields;
+    private CsvFieldStreamHandler streamHandler;
+    private int streamColumn = -1;
+    private boolean streamEnded;
+    private boolean streamNull;
+    private long streamed;
+    private int status;
+    private char[] chunk;
+    private int chunkOffset;
+    private int chunkLength;
+
+    /**
+     * Constructs a tokenizer reading from the given reader.
+     *
+     * @param in           The reader to an underlying CSV source.
+     * @param keepCR       True to keep carriage returns in data read, false otherwise
+     * @param verifyReader True if a failing reader should be treated as the end of the input.
+     */
+    CharRecordTokenizer(Reader in, boolean keepCR, boolean verifyReader) {
+        this.in = in;
+        this.keepCR = keepCR;
+        this.verifyReader = verifyReader;
+        this.buf = new char[DEFAULT_BUFFER_SIZE];
+    }
+
+    @Override
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    @Override
+    public long getPosition() {
+        return windowOffset + pos;
+    }
+
+    @Override
+    public boolean isAfterCarriageReturn() {
+        return skipLF;
+    }
+
+    @Override
+    public boolean isEndOfInput() {
+        return endOfInput;
+    }
+
+    @Override
+    public boolean isQuoteOpenAtEnd() {
+        return quoteOpenAtEnd;
+    }
+
+    @Override
+    public void setLimits(RecordLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public void resume(long position, long linesRead, boolean afterCarriageReturn, boolean endOfInput) throws IOException {
+        long remaining = position;
+        while (remaining > 0) {
+            long skipped = in.skip(remaining);
+            if (skipped <= 0) {
+                throw new IOException("The input ends before the position to resume from.");
+            }
+            remaining -= skipped;
+        }
+        windowOffset = position;
+        this.linesRead = linesRead;
+        this.skipLF = afterCarriageReturn;
+        this.endOfInput = endOfInput;
+    }
+
+    @Override
+    public void skipLines(int lines) throws IOException {
+        if (lines <= 0 || (verifyReader && !hasMoreInput())) {
+            return;
+        }
+        for (int i = 0; i < lines; i++) {
+            skipLine();
+            linesRead++;
+        }
+    }
+
+    private void skipLine() throws IOException {
+        if (!hasMoreInput()) {
+            return;
+        }
+        recordStart = pos;
+        for (;;) {
+            while (pos < limit) {
+                char c = buf[pos++];
+                if (c == '\n') {
+                    return;
+                }
+                if (c == '\r' && !keepCR) {
+                    skipLF = true;
+                    return;
+                }
+            }
+            recordStart = pos;
+            if (!fill()) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean readRecord(FieldSink sink) throws IOException {
+        if (!beginRecord()) {
+            return false;
+        }
+        beginRecordState();
+        status = CONTINUE;
+        streamColumn = -1;
+        streamed = 0;
+        if (streamHandler == null) {
+            do {
+                status = step(sink);
+            } while (status == CONTINUE);
+        } else {
+            while (status == CONTINUE) {
+                int column = fieldCount;
+                if (column != streamColumn
+                        && (streamedFields.isStreamed(column) || streamedFields.exceedsThreshold(valueLength()))) {
+                    streamField(sink, column);
+                } else {
+                    status = step(sink);
+                }
+            }
+        }
+        return status == RECORD;
+    }
+
+    /**
+     * Resets the state the subclass keeps for the record being tokenized.
+     */
+    protected abstract void beginRecordState();
+
+    /**
+     * Tokenizes the next bit of the record.  Every step either refills the
+     * window or consumes input, and it adds at most a run of the window to
+     * the field value.
+     *
+     * @param sink Receives the fields
+     * @return {@link #CONTINUE} while the record goes on, otherwise
+     * {@link #RECORD} or {@link #NO_RECORD}
+     * @throws IOException If bad things happen during the read
+     */
+    protected abstract int step(FieldSink sink) throws IOException;
+
+    /**
+     * Converts the result of finishing a record into the result of a step.
+     *
+     * @param record True if a record was read
+     * @return {@link #RECORD} or {@link #NO_RECORD}
+     */
+    protected static int status(boolean record) {
+        return record ? RECORD : NO_RECORD;
+    }
+
+    /**
+     * @return True if a value of white space only may still be dropped as a
+     * whole, so it must not be streamed before something else follows.
+     */
+    protected boolean valueMayBeDropped() {
+        return false;
+    }
+
+    /**
+     * @return True if fields may be streamed, so each step should leave the
+     * value it adds to be looked at before going on.
+     */
+    protected final boolean isStreaming() {
+        return streamHandler != null;
+    }
+
+    /**
+     * Makes the tokenizer stream the given fields to the handler instead of
+     * handing their values to the sink.
+     *
+     * @param streamedFields The fields to stream, or null to stream none
+     * @param handler        Receives the streamed fields
+     */
+    void streamFields(StreamedFields streamedFields, CsvFieldStreamHandler handler) {
+        this.streamedFields = streamedFields;
+        this.streamHandler = streamedFields != null ? handler : null;
+    }
+
+    /**
+     * Streams the field that has just started, or whose value has grown
+     * beyond the threshold, to the handler.  Whatever of the field the
+     * handler does not read is skipped afterwards.
+     *
+     * @param sink   Receives the fields
+     * @param column The column of the field
+     * @throws IOException If bad things happen during the read, or the
+     *                     handler fails
+     */
+    private void streamField(FieldSink sink, int column) throws IOException {
+        streamColumn = column;
+        streamEnded = false;
+        streamNull = false;
+        streamed = 0;
+        chunkLength = 0;
+        takeChunk(false);
+        // the handler is called once the field has a value, so a null field is known as such
+        while (chunkLength == 0 && !streamEnded && status == CONTINUE) {
+            status = step(sink);
+            takeChunk(false);
+        }
+        if (chunkLength == 0 && !streamEnded) {
+            // the input ended inside quotes and the record drops the field
+            streamed = 0;
+            return;
+        }
+        FieldReader reader = chunkLength == 0 && streamNull ? null : new FieldReader(sink);
+        try {
+            streamHandler.handleField(column, reader);
+        } finally {
+            if (reader != null) {
+                reader.closed = true;
+            }
+        }
+        chunkLength = 0;
+        while (!streamEnded && status == CONTINUE) {
+            status = step(sink);
+            takeChunk(false);
+            chunkLength = 0;
+        }
+        streamed = 0;
+    }
+
+    /**
+     * Takes the value assembled so far as the next chunk of the streamed
+     * field and starts the value over, so that the window does not have to
+     * keep it.
+     *
+     * @param fieldEnds True if the field ends with the value
+     */
+    private void takeChunk(boolean fieldEnds) {
+        int length = valueLength();
+        if (streamEnded || length == 0
+                || (!fieldEnds && streamed == 0 && valueMayBeDropped() && valueIsWhitespace())) {
+            return;
+        }
+        if (copying) {
+            chunk = value;
+            chunkOffset = 0;
+        } else {
+            chunk = buf;
+            chunkOffset = valueStart;
+        }
+        chunkLength = length;
+        streamed += length;
+        resetValue();
+        // a step may still look at the character before the current one
+        recordStart = Math.max(recordStart, pos - 1);
+    }
+
+    /**
+     * Positions the tokenizer at the start of the next record and starts its
+     * first field.
+     *
+     * @return True if there is a record to read, false at the end of the input.
+     * @throws IOException If bad things happen during the read
+     */
+    protected final boolean beginRecord() throws IOException {
+        recordStart = pos;
+        if (!beginLine()) {
+            return false;
+        }
+        recordLine = linesRead;
+        nextLineStart = -1;
+        fieldCount = 0;
+        resetValue();
+        return true;
+    }
+
+    /**
+     * Positions the tokenizer at the start of the next physical line of a
+     * record continued by an open quote, and checks the record for a
+     * runaway quote.
+     *
+     * @return True if there is a line to read, false at the end of the input.
+     * @throws IOException If bad things happen during the read, or the quote
+     *                     is most likely a runaway quote
+     */
+    protected final boolean continueRecord() throws IOException {
+        if (!beginLine()) {
+            return false;
+        }
+        if (nextLineStart < 0) {
+            nextLineStart = lineStart;
+        }
+        checkRunawayQuote(pos - recordStart);
+        return true;
+    }
+
+    /**
+     * Checks a record continued by an open quote for a runaway quote.  If
+     * the quote has run away, the tokenizer goes back to the second line of
+     * the record, so that the next record is read from there.
+     *
+     * @param size The size of the record read so far
+     * @throws CsvRunawayQuoteException If the quote is most likely a runaway quote
+     */
+    private void checkRunawayQuote(int size) throws CsvRunawayQuoteException {
+        // what has been streamed of the record cannot be read again
+        if (limits == null || nextLineStart < 0 || streamColumn >= 0) {
+            return;
+        }
+        try {
+            limits.checkQuotedRecord(linesRead - recordLine + 1, size, recordLine);
+        } catch (CsvRunawayQuoteException e) {
+            pos = nextLineStart;
+            linesRead = recordLine;
+            skipLF = false;
+            endOfInput = false;
+            nextLineStart = -1;
+            resetRecordState();
+            throw e;
+        }
+    }
+
+    /**
+     * Forgets the state the subclass carries over from one record to the
+     * next.  This is called when a record is dropped for a runaway quote, so
+     * the input after it is tokenized as if it started there, just like the
+     * parser starts afresh once it drops the field it keeps pending.
+     */
+    protected abstract void resetRecordState();
+
+    /**
+     * Positions the tokenizer at the start of the next physical line.
+     *
+     * @return True if there is a line to read, false at the end of the input.
+     * @throws IOException If bad things happen during the read
+     */
+    protected boolean beginLine() throws IOException {
+        if (endedByEmptyLine) {
+            skipLineAfterTheEnd();
+            return false;
+        }
+        if (!hasMoreInput()) {
+            return false;
+        }
+        if (keepCR && buf[pos] == '\n') {
+            // the line based reading treats an empty line as the end of the input
+            pos++;
+            endOfInput = true;
+            endedByEmptyLine = true;
+            return false;
+        }
+        lineStart = pos;
+        linesRead++;
+        return true;
+    }
+
+    /**
+     * Skips the next line after an empty line ended the input.  The line
+     * based reading still reads a line whenever it is asked for a record
+     * after the end, counting it unless it is empty, but never hands it out.
+     *
+     * @throws IOException If bad things happen during the read
+     */
+    private void skipLineAfterTheEnd() throws IOException {
+        recordStart = pos;
+        boolean empty = true;
+        for (;;) {
+            while (pos < limit) {
+                if (buf[pos++] == '\n') {
+                    if (!empty) {
+                        linesRead++;
+                    }
+                    return;
+                }
+                empty = false;
+            }
+            recordStart = pos;
+            if (!fill()) {
+                if (!empty) {
+                    linesRead++;
+                }
+                return;
+            }
+        }
+    }
+
+    private boolean hasMoreInput() throws IOException {
+        for (;;) {
+            if (endOfInput) {
+                return false;
+            }
+            if (pos == limit && !fillAtLineStart()) {
+                endOfInput = true;
+                return false;
+            }
+            if (skipLF) {
+                skipLF = false;
+                if (buf[pos] == '\n') {
+                    pos++;
+                    continue;
+                }
+            }
+            return true;
+        }
+    }
+
+    private boolean fillAtLineStart() throws IOException {
+        try {
+            return fill();
+        } catch (CsvLimitExceededException e) {
+            throw e;
+        } catch (IOException e) {
+            if (verifyReader) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Checks to see if the character is a line terminator.
+     *
+     * @param c Source character
+     * @return True if the character ends a physical line.
+     */
+    protected final boolean isLineTerminator(char c) {
+        return c == '\n' || (c == '\r' && !keepCR);
+    }
+
+    /**
+     * Consumes the line terminator at the current position.  A CR may be
+     * followed by an LF that has not been read yet, so that LF is skipped
+     * when the next line begins.
+     */
+    protected void consumeLineTerminator() {
+        if (buf[pos++] == '\r') {
+            skipLF = true;
+        }
+    }
+
+    /**
+     * Returns the character after the current position if it belongs to the
+     * same physical line.
+     *
+     * @return The next character or -1 if the line ends after the current position.
+     * @throws IOException If bad things happen during the read
+     */
+    protected int nextCharInLine() throws IOException {
+        if (pos + 1 >= limit && !fill()) {
+            return -1;
+        }
+        char c = buf[pos + 1];
+        return isLineTerminator(c) ? -1 : c;
+    }
+
+    /**
+     * Reads more data into the window.  The data from {@link #recordStart}
+     * on is moved to the front of the window first and all positions are
+     * adjusted accordingly.  The window grows if the record fills it, unless
+     * that makes the record exceed the limits.
+     *
+     * @return True if more data was read, false at the end of the input.
+     * @throws IOException If bad things happen during the read
+     */
+    protected boolean fill() throws IOException {
+        if (recordStart > 0) {
+            int shift = recordStart;
+            windowOffset += shift;
+            System.arraycopy(buf, shift, buf, 0, limit - shift);
+            limit -= shift;
+            pos -= shift;
+            lineStart -= shift;
+            if (nextLineStart >= 0) {
+                nextLineStart -= shift;
+            }
+            if (valueEnd > valueStart) {
+                valueStart -= shift;
+                valueEnd -= shift;
+            }
+            recordStart = 0;
+        }
+        if (limits != null && limit > 0) {
+            limits.checkRecordSize(limit, recordLine);
+            limits.checkFieldLength(valueLength(), recordLine);
+            checkRunawayQuote(limit);
+        }
+        if (limit == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+        int read = in.read(buf, limit, buf.length - limit);
+        if (read <= 0) {
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    /**
+     * Starts a new, empty field value.
+     */
+    protected final void resetValue() {
+        copying = false;
+        valueLength = 0;
+        valueStart = 0;
+        valueEnd = 0;
+    }
+
+    /**
+     * @return The number of characters in the current field value.
+     */
+    protected final int valueLength() {
+        return copying ? valueLength : valueEnd - valueStart;
+    }
+
+    /**
+     * Appends a run of characters of the window to the field value.
+     *
+     * @param from Index of the first character in the window
+     * @param to   Index after the last character in the window
+     */
+    protected final void appendRange(int from, int to) {
+        if (!copying) {
+            if (valueStart == valueEnd) {
+                valueStart = from;
+                valueEnd = to;
+                return;
+            }
+            if (valueEnd == from) {
+                valueEnd = to;
+                return;
+            }
+            startCopying();
+        }
+        int length = to - from;
+        ensureValueCapacity(valueLength + length);
+        System.arraycopy(buf, from, value, valueLength, length);
+        valueLength += length;
+    }
+
+    /**
+     * Appends a character that is not in the window to the field value.
+     *
+     * @param c The character to append
+     */
+    protected final void appendChar(char c) {
+        if (!copying) {
+            startCopying();
+        }
+        ensureValueCapacity(valueLength + 1);
+        value[valueLength++] = c;
+    }
+
+    private void startCopying() {
+        valueLength = valueEnd - valueStart;
+        ensureValueCapacity(valueLength);
+        System.arraycopy(buf, valueStart, value, 0, valueLength);
+        copying = true;
+    }
+
+    private void ensureValueCapacity(int capacity) {
+        if (capacity > value.length) {
+            value = Arrays.copyOf(value, Math.max(capacity, value.length * 2));
+        }
+    }
+
+    /**
+     * @return True if nothing has been added to the field value, including
+     * what has already been streamed of it.
+     */
+    protected final boolean valueIsEmpty() {
+        return valueLength() == 0 && streamed == 0;
+    }
+
+    /**
+     * @return True if the field value consists only of white space.  False
+     * once anything of the value has been streamed.
+     */
+    protected final boolean valueIsWhitespace() {
+        if (streamed != 0) {
+            return false;
+        }
+        char[] chars = copying ? value : buf;
+        int start = copying ? 0 : valueStart;
+        int end = start + valueLength();
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(chars[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Hands the current field value to the sink.
+     *
+     * @param sink   Receives the field
+     * @param asNull True if the field should be passed on as null
+     * @param quoted True if the field was enclosed in quotes
+     * @throws IOException If the field exceeds the limits
+     */
+    protected final void emitValue(FieldSink sink, boolean asNull, boolean quoted) throws IOException {
+        int index = fieldCount++;
+        if (limits != null) {
+            limits.checkColumns(fieldCount, recordLine);
+            limits.checkFieldLength(valueLength(), recordLine);
+        }
+        if (index == 0) {
+            sink.startRecord();
+        }
+        if (index == streamColumn && !streamEnded) {
+            takeChunk(true);
+            streamEnded = true;
+            streamNull = asNull;
+            if (sink.wantsField(index)) {
+                sink.field(null, 0, 0, quoted);
+            }
+            return;
+        }
+        if (!sink.wantsField(index)) {
+            return;
+        }
+        if (asNull) {
+            sink.field(null, 0, 0, quoted);
+        } else if (copying) {
+            sink.field(value, 0, valueLength, quoted);
+        } else {
+            sink.field(buf, valueStart, valueEnd - valueStart, quoted);
+        }
+    }
+
+    /**
+     * Finishes the current record.
+     *
+     * @param sink Receives the end of the record
+     * @return True if the record had any fields.
+     * @throws IOException If the record exceeds the limits
+     */
+    protected final boolean endRecord(FieldSink sink) throws IOException {
+        if (fieldCount == 0) {
+            return false;
+        }
+        if (limits != null) {
+            limits.checkRecordSize(pos - recordStart, recordLine);
+        }
+        sink.endRecord();
+        return true;
+    }
+
+    /**
+     * Finishes the current record at the end of the input while a quoted
+     * section is still open.
+     *
+     * @param sink Receives the end of the record
+     * @return True if the record had any fields.
+     * @throws IOException If the record exceeds the limits
+     */
+    protected final boolean endRecordInQuotes(FieldSink sink) throws IOException {
+        quoteOpenAtEnd = true;
+        return endRecord(sink);
+    }
+
+    /**
+     * Streams the field being tokenized by stepping through it as it is
+     * read.  Only valid while the handler is called.
+     */
+    private final class FieldReader extends Reader {
+        private final FieldSink sink;
+        private boolean closed;
+
+        FieldReader(FieldSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("The field can only be read while it is handled.");
+            }
+            if (len == 0) {
+                return 0;
+            }
+            while (chunkLength == 0) {
+                if (streamEnded) {
+                    return -1;
+                }
+                if (status != CONTINUE) {
+                    throw new EOFException("The input ends inside the quoted field in column " + streamColumn
+                            + ", which is not part of the record.");
+                }
+                status = step(sink);
+                takeChunk(false);
+            }
+            int n = Math.min(len, chunkLength);
+            System.arraycopy(chunk, chunkOffset, cbuf, off, n);
+            chunkOffset += n;
+            chunkLength -= n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+            // the rest of the field is skipped once the handler returns
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.opencsv;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * The columns a {@link CSVReader} returns, see
+ * {@link CSVReaderBuilder#withColumns(int...)} and
+ * {@link CSVReaderBuilder#withColumns(String...)}.
+ * <p>
+ * Columns chosen by name are looked up in the first record read, the header.
+ * Until then the projection is not resolved.</p>
+ *
+ * @since 3.10
+ */
+final class ColumnProjection {
+
+    private final String[] names;
+    private int[] columns;
+    /**
+     * The position in the projected record of each column of the input, or
+     * -1 for columns that are left out.
+     */
+    private int[] slots;
+
+    private ColumnProjection(int[] columns, String[] names) {
+        this.columns = columns;
+        this.names = names;
+        if (columns != null) {
+            createSlots();
+        }
+    }
+
+    /**
+     * Creates a projection to the columns with the given indexes.
+     *
+     * @param columns The indexes of the columns, counting from zero
+     * @return The projection
+     * @throws IllegalArgumentException If there are no columns, an index is
+     *                                  negative or a column is given twice
+     */
+    static ColumnProjection ofIndexes(int... columns) {
+        if (columns == null || columns.length == 0) {
+            throw new IllegalArgumentException("At least one column must be given.");
+        }
+        int[] sorted = columns.clone();
+        Arrays.sort(sorted);
+        if (sorted[0] < 0) {
+            throw new IllegalArgumentException("Column indexes may not be negative.");
+        }
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                throw new IllegalArgumentException("Column " + sorted[i] + " is given more than once.");
+            }
+        }
+        return new ColumnProjection(columns.clone(), null);
+    }
+
+    /**
+     * Creates a projection to the columns with the given names in the header.
+     *
+     * @param names The names of the columns
+     * @return The projection
+     * @throws IllegalArgumentException If there are no names, a name is null
+     *                                  or a name is given twice
+     */
+    static ColumnProjection ofNames(String... names) {
+        if (names == null || names.length == 0) {
+            throw new IllegalArgumentException("At least one column must be given.");
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] == null) {
+                throw new IllegalArgumentException("Column names may not be null.");
+            }
+            for (int j = 0; j < i; j++) {
+                if (names[i].equals(names[j])) {
+                    throw new IllegalArgumentException("Column " + names[i] + " is given more than once.");
+                }
+            }
+        }
+        return new ColumnProjection(null, names.clone());
+    }
+
+    /**
+     * @return A projection to the same columns that has not seen a header yet.
+     */
+    ColumnProjection copy() {
+        return names != null ? new ColumnProjection(null, names) : new ColumnProjection(columns, null);
+    }
+
+    private void createSlots() {
+        int max = 0;
+        for (int column : columns) {
+            max = Math.max(max, column);
+        }
+        slots = new int[max + 1];
+        Arrays.fill(slots, -1);
+        for (int i = 0; i < columns.length; i++) {
+            slots[columns[i]] = i;
+        }
+    }
+
+    /**
+     * @return True if the columns are given by their names in the header.
+     */
+    boolean isByName() {
+        return names != null;
+    }
+
+    /**
+     * @return True if the columns are known, false if they still have to be
+     * looked up in the header.
+     */
+    boolean isResolved() {
+        return slots != null;
+    }
+
+    /**
+     * Looks the columns up in the header.
+     *
+     * @param header The first record read
+     * @throws IOException If a column is not part of the header
+     */
+    void resolve(String[] header) throws IOException {
+        int[] found = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            found[i] = Arrays.asList(header).indexOf(names[i]);
+            if (found[i] < 0) {
+                throw new IOException("Column " + names[i] + " is not part of the header.");
+            }
+        }
+        columns = found;
+        createSlots();
+    }
+
+    /**
+     * @return The number of columns in a projected record.
+     */
+    int size() {
+        return columns.length;
+    }
+
+    /**
+     * @param column The index of a column of the input
+     * @return The position of the column in a projected record, or -1 if
+     * the column is left out.
+     */
+    int slotOf(int column) {
+        return column < slots.length ? slots[column] : -1;
+    }
+
+    /**
+     * Projects a whole record.
+     *
+     * @param record The record, or null
+     * @return The projected record, or null if the record is null.  Columns
+     * missing from the record are null.
+     */
+    String[] project(String[] record) {
+        if (record == null) {
+            return null;
+        }
+        String[] projected = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i] < record.length) {
+                projected[i] = record[columns[i]];
+            }
+        }
+        return projected;
+    }
+}
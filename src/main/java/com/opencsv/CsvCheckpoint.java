@@ -0,0 +1,109 @@
+package com.opencsv;
+
+import java.io.Serializable;
+
+/**
+ * The position of a {@link CSVReader} between two records, from which a new
+ * reader can go on reading.
+ * <p>
+ * A checkpoint is taken with {@link CSVReader#checkpoint()} and handed to
+ * {@link CSVReaderBuilder#withCheckpoint(CsvCheckpoint)} to build a reader
+ * for the same input that starts right after the last record read.  The
+ * input before the checkpoint is skipped without being parsed.  For readers
+ * that find records in the bytes of a file or stream (see
+ * {@link CSVReaderBuilder#CSVReaderBuilder(java.nio.file.Path, java.nio.charset.Charset)}
+ * and {@link CSVReaderBuilder#withRecordTokenizer(boolean)}) the position
+ * is a byte offset, so a file is not even read up to it.  Other readers
+ * count characters, which still have to be read but are not parsed.</p>
+ * <p>
+ * Checkpoints are serializable, so a long running import can store them
+ * and continue after a crash from the last one stored.</p>
+ *
+ * @since 3.10
+ */
+public final class CsvCheckpoint implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long position;
+    private final boolean bytePosition;
+    private final boolean afterCarriageReturn;
+    private final boolean endOfInput;
+    private final long linesRead;
+    private final long recordsRead;
+
+    /**
+     * Constructs a checkpoint.
+     *
+     * @param position            The position in the input after the last record read
+     * @param bytePosition        True if the position counts bytes, false if it counts characters
+     * @param afterCarriageReturn True if the last record ended with a carriage return
+     * @param endOfInput          True if the reader had reached the end of the input
+     * @param linesRead           The number of lines read up to the position
+     * @param recordsRead         The number of records read up to the position
+     */
+    CsvCheckpoint(long position, boolean bytePosition, boolean afterCarriageReturn, boolean endOfInput,
+                  long linesRead, long recordsRead) {
+        this.position = position;
+        this.bytePosition = bytePosition;
+        this.afterCarriageReturn = afterCarriageReturn;
+        this.endOfInput = endOfInput;
+        this.linesRead = linesRead;
+        this.recordsRead = recordsRead;
+    }
+
+    /**
+     * @return The position in the input after the last record read, see
+     * {@link #isBytePosition()}.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * @return True if the position counts bytes, false if it counts
+     * characters.
+     */
+    public boolean isBytePosition() {
+        return bytePosition;
+    }
+
+    /**
+     * @return True if the last record ended with a carriage return, so that
+     * a line feed right at the position still belongs to it.
+     */
+    boolean isAfterCarriageReturn() {
+        return afterCarriageReturn;
+    }
+
+    /**
+     * @return True if the reader had reached the end of the input, so that a
+     * reader resuming from the checkpoint reads nothing more.  With kept
+     * carriage returns an empty line ends the input even if more follows.
+     */
+    boolean isEndOfInput() {
+        return endOfInput;
+    }
+
+    /**
+     * @return The number of lines read up to the position, including skipped
+     * lines, see {@link CSVReader#getLinesRead()}.
+     */
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * @return The number of records read up to the position, see
+     * {@link CSVReader#getRecordsRead()}.
+     */
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    @Override
+    public String toString() {
+        return "CsvCheckpoint{position=" + position + (bytePosition ? " bytes" : " characters")
+                + ", linesRead=" + linesRead + ", recordsRead=" + recordsRead + "}";
+    }
+}
@@ -0,0 +1,51 @@
+package com.opencsv;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Receives the fields a {@link CSVReader} streams instead of returning their
+ * values, see {@link CSVReaderBuilder#withStreamedFields(int, int...)}.
+ * <p>
+ * Example:</p>
+ * <pre>
+ * {@code
+ * CSVReader reader = new CSVReaderBuilder(path, charset)
+ *         .withStreamedFields(0, 2)
+ *         .build();
+ * String[] record;
+ * while ((record = reader.readNext(new CsvFieldStreamHandler() {
+ *     public void handleField(int column, Reader field) throws IOException {
+ *         store(field);
+ *     }
+ * })) != null) {
+ *     ...
+ * }
+ * }
+ * </pre>
+ *
+ * @see CSVReader#readNext(CsvFieldStreamHandler)
+ * @since 3.10
+ */
+public interface CsvFieldStreamHandler {
+
+    /**
+     * Called for each streamed field of the record, in order, while the
+     * record is being read.
+     * <p>
+     * The field can only be read during the call.  Whatever of it is not
+     * read is skipped when the method returns, and the reader does not have
+     * to be closed.  A field still inside quotes at the end of the input is
+     * not part of the record returned, just like when records are read
+     * otherwise.  If it is left empty it is not streamed, else reading it
+     * ends in an {@link java.io.EOFException} instead of its end.</p>
+     *
+     * @param column The column of the field, counting from zero
+     * @param field  The value of the field, or null if the field is null
+     *               according to the
+     *               {@link com.opencsv.enums.CSVReaderNullFieldIndicator}
+     *               of the parser
+     * @throws IOException If the field cannot be read or handled
+     */
+    void handleField(int column, Reader field) throws IOException;
+}
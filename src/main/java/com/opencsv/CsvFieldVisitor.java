@@ -0,0 +1,68 @@
+package com.opencsv;
+
+/**
+ * Receives the fields of the records read by a {@link CSVReader} as they are
+ * found, instead of having them collected into a String array.
+ * <p>
+ * When the reader uses the record tokenizer (see
+ * {@link CSVReaderBuilder#withRecordTokenizer(boolean)}) the values handed to
+ * {@link #field(CharSequence, boolean)} are views over the internal buffer of
+ * the reader, so no String is created unless the visitor asks for one by
+ * calling {@link CharSequence#toString()}.  A visitor that only compares a
+ * field against a constant or parses it into a number never pays for the
+ * String.</p>
+ * <p>
+ * Example:</p>
+ * <pre>
+ * {@code
+ * class SumVisitor implements CsvFieldVisitor {
+ *     private int column;
+ *     long sum;
+ *
+ *     public void startRecord() { column = 0; }
+ *
+ *     public void field(CharSequence value, boolean quoted) {
+ *         if (column++ == 2) {
+ *             for (int i = 0; i < value.length(); i++) {
+ *                 sum = sum * 10 + value.charAt(i) - '0';
+ *             }
+ *         }
+ *     }
+ *
+ *     public void endRecord() { }
+ * }
+ *
+ * SumVisitor visitor = new SumVisitor();
+ * while (reader.readNext(visitor)) { }
+ * }
+ * </pre>
+ *
+ * @see CSVReader#readNext(CsvFieldVisitor)
+ * @since 3.10
+ */
+public interface CsvFieldVisitor {
+
+    /**
+     * Called before the first field of a record.
+     */
+    void startRecord();
+
+    /**
+     * Called for each field of the record, in order.
+     * <p>
+     * The value is only valid for the duration of the call.  It must not be
+     * kept after the method returns - call {@link CharSequence#toString()} on
+     * it to keep the value.</p>
+     *
+     * @param value  The value of the field or null if the field is considered null
+     *               (see {@link com.opencsv.enums.CSVReaderNullFieldIndicator}).
+     * @param quoted True if the field was enclosed in quotes.  Always false if the
+     *               reader hands lines to its parser.
+     */
+    void field(CharSequence value, boolean quoted);
+
+    /**
+     * Called after the last field of a record.
+     */
+    void endRecord();
+}
@@ -0,0 +1,169 @@
+package com.opencsv;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the records of a reader, or the beans made of them, at the pace
+ * of its subscriber.
+ * <p>
+ * An item is only read once the subscriber has requested it, so reading
+ * never gets ahead of the consumer and nothing piles up in memory however
+ * large the input is.  The items are read and sent either in the thread
+ * requesting them, or, if the publisher was given an executor, by tasks of
+ * that executor, which keeps the requesting thread free.  A failure to read
+ * is sent to {@link CsvSubscriber#onError(Throwable)}.</p>
+ * <p>
+ * The method names and rules follow Reactive Streams and
+ * {@code java.util.concurrent.Flow}, see {@link CsvSubscriber}.  A publisher
+ * reads its input only once, so it accepts only one subscriber.  The reader
+ * is not closed when the input is exhausted or the subscription cancelled.</p>
+ * <pre>
+ * {@code
+ * reader.publisher(executor).subscribe(new CsvSubscriber<String[]>() {
+ *     private CsvSubscription subscription;
+ *
+ *     public void onSubscribe(CsvSubscription subscription) {
+ *         this.subscription = subscription;
+ *         subscription.request(100);
+ *     }
+ *
+ *     public void onNext(String[] record) {
+ *         ...
+ *         subscription.request(1);
+ *     }
+ *     ...
+ * });
+ * }
+ * </pre>
+ *
+ * @param <T> The type of the items
+ * @see CSVReader#publisher(Executor)
+ * @see com.opencsv.bean.CsvToBean#publisher(Executor)
+ * @since 3.10
+ */
+public abstract class CsvPublisher<T> {
+
+    private final Executor executor;
+    private final AtomicInteger subscriptions = new AtomicInteger();
+
+    /**
+     * Constructs a publisher.
+     *
+     * @param executor The executor to read and send the items with, or null
+     *                 to do so in the thread requesting them
+     */
+    protected CsvPublisher(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Reads the next item.
+     *
+     * @return The next item or null if there are no more.
+     * @throws Exception If reading fails
+     */
+    protected abstract T next() throws Exception;
+
+    /**
+     * Subscribes to the items.  A second subscriber is sent an
+     * IllegalStateException through {@link CsvSubscriber#onError(Throwable)}.
+     *
+     * @param subscriber Receives the items
+     */
+    public void subscribe(CsvSubscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("Subscriber may not be null");
+        }
+        Subscription subscription = new Subscription(subscriber);
+        if (subscriptions.getAndIncrement() > 0) {
+            subscription.done = true;
+            subscriber.onSubscribe(subscription);
+            subscriber.onError(new IllegalStateException("The input can only be published to one subscriber."));
+            return;
+        }
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Sends the requested items.  Only one thread at a time sends, all
+     * others just leave the new demand to it.
+     */
+    private final class Subscription implements CsvSubscription, Runnable {
+        private final CsvSubscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger work = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile Throwable badRequest;
+        private boolean done;
+
+        Subscription(CsvSubscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                badRequest = new IllegalArgumentException("The number of items requested must be positive, not " + n + ".");
+            } else {
+                long current;
+                long next;
+                do {
+                    current = requested.get();
+                    next = current + n < 0 ? Long.MAX_VALUE : current + n;
+                } while (!requested.compareAndSet(current, next));
+            }
+            if (work.getAndIncrement() == 0) {
+                if (executor != null) {
+                    executor.execute(this);
+                } else {
+                    run();
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                if (done || cancelled) {
+                    return;
+                }
+                if (badRequest != null) {
+                    done = true;
+                    subscriber.onError(badRequest);
+                    return;
+                }
+                long demand = requested.get();
+                long sent = 0;
+                while (sent != demand && !cancelled) {
+                    T item;
+                    try {
+                        item = next();
+                    } catch (Throwable t) {
+                        done = true;
+                        subscriber.onError(t);
+                        return;
+                    }
+                    if (item == null) {
+                        done = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                    subscriber.onNext(item);
+                    sent++;
+                }
+                if (sent != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-sent);
+                }
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.opencsv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+/**
+ * Parses CSV data that is pushed to it in chunks, instead of pulling it from
+ * a reader.
+ * <p>
+ * This suits input arriving in pieces of arbitrary size, like the buffers of
+ * a non-blocking network server: the data is handed over with
+ * {@link #feed(CharBuffer)} or {@link #feed(ByteBuffer)} as it comes in, and
+ * every record completed by a chunk is handed to the {@link RecordHandler}
+ * right away.  A record, a field or even a character split between chunks is
+ * kept until the rest of it arrives, so no thread ever waits for input.
+ * {@link #endOfInput()} finishes the last record.</p>
+ * <p>
+ * The records are the same as a {@link CSVReader} reading the same data
+ * with the same parser would return: lines are split the same way, and the
+ * parser, built by a {@link CSVParserBuilder} or an
+ * {@link RFC4180ParserBuilder}, parses them.  The parser keeps the state of
+ * records spanning several lines, so it must not be used for anything else
+ * meanwhile.</p>
+ * <pre>
+ * {@code
+ * CsvPushParser push = new CsvPushParser(new CSVParserBuilder().build(), false,
+ *         Charset.forName("UTF-8"), new CsvPushParser.RecordHandler() {
+ *     public void handleRecord(String[] record) {
+ *         ...
+ *     }
+ * });
+ * push.feed(buffer);   // for every buffer received
+ * push.endOfInput();
+ * }
+ * </pre>
+ *
+ * @since 3.10
+ */
+public class CsvPushParser {
+
+    private static final int CHAR_CHUNK_SIZE = 8192;
+
+    private final ICSVParser parser;
+    private final boolean keepCR;
+    private final RecordHandler handler;
+    private final CharsetDecoder decoder;
+
+    /**
+     * The bytes of a character that is split between two chunks.
+     */
+    private final ByteBuffer partialCharacter;
+    private CharBuffer decoded;
+    private char[] scratch;
+
+    private final StringBuilder line = new StringBuilder(ICSVParser.INITIAL_READ_SIZE);
+    private boolean skipLF;
+    /**
+     * True once the data has ended, after which further data is ignored.
+     */
+    private boolean dataEnded;
+    /**
+     * True once the end of the input has been reported.
+     */
+    private boolean ended;
+
+    private String[] result;
+    private int resultLength;
+
+    private long linesRead;
+    private long recordsRead;
+
+    /**
+     * Constructs a push parser for character data.
+     *
+     * @param parser  The parser to parse the lines with
+     * @param handler Receives the records
+     */
+    public CsvPushParser(ICSVParser parser, RecordHandler handler) {
+        this(parser, CSVReader.DEFAULT_KEEP_CR, null, handler);
+    }
+
+    /**
+     * Constructs a push parser.
+     *
+     * @param parser  The parser to parse the lines with
+     * @param keepCR  True to keep carriage returns in data read, false otherwise
+     * @param charset The charset of the bytes fed, or null if only characters
+     *                are fed
+     * @param handler Receives the records
+     */
+    public CsvPushParser(ICSVParser parser, boolean keepCR, Charset charset, RecordHandler handler) {
+        if (parser == null) {
+            throw new IllegalArgumentException("Parser may not be null");
+        }
+        if (handler == null) {
+            throw new IllegalArgumentException("Handler may not be null");
+        }
+        this.parser = parser;
+        this.keepCR = keepCR;
+        this.handler = handler;
+        if (charset != null) {
+            this.decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.partialCharacter = ByteBuffer.allocate(Math.max(16, (int) Math.ceil(charset.newEncoder().maxBytesPerChar())));
+        } else {
+            this.decoder = null;
+            this.partialCharacter = null;
+        }
+    }
+
+    /**
+     * Parses a chunk of characters.  All records completed by the chunk are
+     * handed to the handler before this method returns.
+     *
+     * @param chars The characters, which are consumed entirely
+     * @throws IOException If the parser fails to parse a line
+     * @throws IllegalStateException If the end of the input was reported already
+     */
+    public void feed(CharBuffer chars) throws IOException {
+        checkNotEnded();
+        if (chars.hasArray()) {
+            int start = chars.arrayOffset() + chars.position();
+            scan(chars.array(), start, start + chars.remaining());
+            chars.position(chars.limit());
+            return;
+        }
+        if (scratch == null) {
+            scratch = new char[CHAR_CHUNK_SIZE];
+        }
+        while (chars.hasRemaining()) {
+            int length = Math.min(scratch.length, chars.remaining());
+            chars.get(scratch, 0, length);
+            scan(scratch, 0, length);
+        }
+    }
+
+    /**
+     * Parses a chunk of bytes in the charset given to the constructor.  A
+     * character whose bytes are split between chunks is decoded once the
+     * rest of its bytes arrive.  All records completed by the chunk are
+     * handed to the handler before this method returns.
+     *
+     * @param bytes The bytes, which are consumed entirely
+     * @throws IOException If the parser fails to parse a line
+     * @throws IllegalStateException If the end of the input was reported
+     *                               already or no charset was given
+     */
+    public void feed(ByteBuffer bytes) throws IOException {
+        checkNotEnded();
+        if (decoder == null) {
+            throw new IllegalStateException("Bytes can only be fed to a push parser constructed with a charset.");
+        }
+        // complete a character split between the chunks byte by byte
+        while (partialCharacter.position() > 0 && bytes.hasRemaining()) {
+            partialCharacter.put(bytes.get());
+            partialCharacter.flip();
+            decode(partialCharacter, false);
+            partialCharacter.compact();
+        }
+        decode(bytes, false);
+        partialCharacter.put(bytes);
+    }
+
+    private void decode(ByteBuffer bytes, boolean endOfInput) throws IOException {
+        if (decoded == null) {
+            decoded = CharBuffer.allocate(CHAR_CHUNK_SIZE);
+        }
+        CoderResult coderResult;
+        do {
+            coderResult = decoder.decode(bytes, decoded, endOfInput);
+            decoded.flip();
+            scan(decoded.array(), 0, decoded.limit());
+            decoded.clear();
+        } while (coderResult.isOverflow());
+    }
+
+    /**
+     * Reports the end of the input.  A last line without a line terminator
+     * is parsed, and the last record is handed to the handler.  Like for a
+     * {@link CSVReader}, a quoted field still open at the end of the input is
+     * dropped from it.
+     *
+     * @throws IOException If the parser fails to parse the last line
+     * @throws IllegalStateException If the end of the input was reported already
+     */
+    public void endOfInput() throws IOException {
+        checkNotEnded();
+        if (decoder != null) {
+            partialCharacter.flip();
+            decode(partialCharacter, true);
+            partialCharacter.clear();
+            CharBuffer flushed = CharBuffer.allocate(CHAR_CHUNK_SIZE);
+            decoder.flush(flushed);
+            flushed.flip();
+            scan(flushed.array(), 0, flushed.limit());
+        }
+        if (!dataEnded && line.length() > 0) {
+            endLine();
+        }
+        emitRecord();
+        ended = true;
+    }
+
+    private void checkNotEnded() {
+        if (ended) {
+            throw new IllegalStateException("The end of the input has been reported already.");
+        }
+    }
+
+    /**
+     * Splits characters into lines like the {@link CSVReader} does.
+     */
+    private void scan(char[] chars, int from, int to) throws IOException {
+        int runStart = from;
+        for (int i = from; i < to && !dataEnded; i++) {
+            char c = chars[i];
+            if (skipLF) {
+                skipLF = false;
+                if (c == '\n') {
+                    runStart = i + 1;
+                    continue;
+                }
+            }
+            if (c == '\n' || (c == '\r' && !keepCR)) {
+                line.append(chars, runStart, i - runStart);
+                runStart = i + 1;
+                skipLF = c == '\r';
+                endLine();
+            }
+        }
+        if (!dataEnded && runStart < to) {
+            line.append(chars, runStart, to - runStart);
+        }
+    }
+
+    private void endLine() throws IOException {
+        if (keepCR && line.length() == 0) {
+            // the line based reading treats an empty line as the end of the data
+            dataEnded = true;
+            emitRecord();
+            return;
+        }
+        String nextLine = line.toString();
+        line.setLength(0);
+        linesRead++;
+        String[] r = parser.parseLineMulti(nextLine);
+        if (r.length > 0) {
+            if (result == null) {
+                result = r;
+            } else {
+                if (resultLength + r.length > result.length) {
+                    result = Arrays.copyOf(result, Math.max(resultLength + r.length, result.length * 2));
+                }
+                System.arraycopy(r, 0, result, resultLength, r.length);
+            }
+            resultLength += r.length;
+        }
+        if (!parser.isPending()) {
+            emitRecord();
+        }
+    }
+
+    private void emitRecord() {
+        if (result == null) {
+            return;
+        }
+        String[] record = resultLength < result.length ? Arrays.copyOf(result, resultLength) : result;
+        result = null;
+        resultLength = 0;
+        recordsRead++;
+        handler.handleRecord(record);
+    }
+
+    /**
+     * @return The number of lines parsed so far.
+     */
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * @return The number of records handed to the handler so far.
+     */
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    /**
+     * Receives the records parsed by a {@link CsvPushParser}.
+     */
+    public interface RecordHandler {
+
+        /**
+         * Called for each record, in the order of the input.
+         *
+         * @param record The fields of the record
+         */
+        void handleRecord(String[] record);
+    }
+}
@@ -0,0 +1,205 @@
+package com.opencsv;
+
+import java.util.Arrays;
+
+/**
+ * A record read by {@link CSVReader#readNextRow()} that creates the Strings
+ * of its fields only when they are asked for.
+ * <p>
+ * With the record tokenizer (see
+ * {@link CSVReaderBuilder#withRecordTokenizer(boolean)}) the characters of
+ * all fields of a record are kept back to back in one buffer, together with
+ * where each field starts, how long it is and whether it was quoted.  A
+ * String is only created when {@link #get(int)} is called for a field, so a
+ * record that is looked at and dropped, for example by a filter checking one
+ * column, costs no Strings at all.</p>
+ * <p>
+ * The row handed out by a reader is reused for the next record.  Use
+ * {@link #detach()} to keep a record beyond that.</p>
+ *
+ * @since 3.10
+ */
+public final class CsvRow {
+
+    private char[] chars;
+    private int charCount;
+    private int[] offsets;
+    /**
+     * The length of each field, or -1 for a null field.
+     */
+    private int[] lengths;
+    private boolean[] quoted;
+    private String[] strings;
+    private int size;
+
+    /**
+     * Creates an empty row to be filled by a reader.
+     */
+    CsvRow() {
+        this(new char[ICSVParser.INITIAL_READ_SIZE], 16);
+    }
+
+    private CsvRow(char[] chars, int capacity) {
+        this.chars = chars;
+        this.offsets = new int[capacity];
+        this.lengths = new int[capacity];
+        this.quoted = new boolean[capacity];
+        this.strings = new String[capacity];
+    }
+
+    /**
+     * Creates a row holding the given values.
+     *
+     * @param values The values of the fields, null for null fields
+     */
+    public CsvRow(String[] values) {
+        this(new char[0], Math.max(values.length, 1));
+        for (int i = 0; i < values.length; i++) {
+            lengths[i] = values[i] == null ? -1 : values[i].length();
+            strings[i] = values[i];
+        }
+        size = values.length;
+    }
+
+    /**
+     * Removes all fields.
+     */
+    void clear() {
+        Arrays.fill(strings, 0, size, null);
+        size = 0;
+        charCount = 0;
+    }
+
+    /**
+     * Adds a field to the row.
+     *
+     * @param source   The characters of the field or null for a null field
+     * @param offset   The offset of the field in source
+     * @param length   The length of the field
+     * @param isQuoted True if the field was enclosed in quotes
+     */
+    void add(char[] source, int offset, int length, boolean isQuoted) {
+        if (size == lengths.length) {
+            int capacity = size * 2;
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            quoted = Arrays.copyOf(quoted, capacity);
+            strings = Arrays.copyOf(strings, capacity);
+        }
+        quoted[size] = isQuoted;
+        if (source == null) {
+            lengths[size++] = -1;
+            return;
+        }
+        if (charCount + length > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(charCount + length, chars.length * 2));
+        }
+        System.arraycopy(source, offset, chars, charCount, length);
+        offsets[size] = charCount;
+        lengths[size++] = length;
+        charCount += length;
+    }
+
+    /**
+     * @return The number of fields in the row.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Returns the value of a field.  The String is created on the first call
+     * for a field and then kept.
+     *
+     * @param index The index of the field, counting from zero
+     * @return The value of the field, or null for a null field.
+     * @throws IndexOutOfBoundsException If there is no such field
+     */
+    public String get(int index) {
+        checkIndex(index);
+        String value = strings[index];
+        if (value == null && lengths[index] >= 0) {
+            value = new String(chars, offsets[index], lengths[index]);
+            strings[index] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the characters of a field without creating a String for them.
+     * The sequence is only valid as long as the row is.
+     *
+     * @param index The index of the field, counting from zero
+     * @return The characters of the field, or null for a null field.
+     * @throws IndexOutOfBoundsException If there is no such field
+     */
+    public CharSequence getChars(int index) {
+        checkIndex(index);
+        if (strings[index] != null || lengths[index] < 0) {
+            return strings[index];
+        }
+        return new CharArraySequence().set(chars, offsets[index], lengths[index]);
+    }
+
+    /**
+     * @param index The index of the field, counting from zero
+     * @return True if the field is null.
+     * @throws IndexOutOfBoundsException If there is no such field
+     */
+    public boolean isNull(int index) {
+        checkIndex(index);
+        return lengths[index] < 0;
+    }
+
+    /**
+     * Tells if a field was enclosed in quotes.  This is only known for rows
+     * read with the record tokenizer, other rows report false.
+     *
+     * @param index The index of the field, counting from zero
+     * @return True if the field was enclosed in quotes.
+     * @throws IndexOutOfBoundsException If there is no such field
+     */
+    public boolean isQuoted(int index) {
+        checkIndex(index);
+        return quoted[index];
+    }
+
+    /**
+     * @return The values of all fields, as {@link CSVReader#readNext()}
+     * would have returned them.
+     */
+    public String[] toArray() {
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = get(i);
+        }
+        return values;
+    }
+
+    /**
+     * Copies the row so it can be kept after the reader has moved on.
+     *
+     * @return A row with the same fields that is not reused by the reader.
+     */
+    public CsvRow detach() {
+        CsvRow copy = new CsvRow(Arrays.copyOf(chars, charCount), Math.max(size, 1));
+        System.arraycopy(offsets, 0, copy.offsets, 0, size);
+        System.arraycopy(lengths, 0, copy.lengths, 0, size);
+        System.arraycopy(quoted, 0, copy.quoted, 0, size);
+        System.arraycopy(strings, 0, copy.strings, 0, size);
+        copy.charCount = charCount;
+        copy.size = size;
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,154 @@
+package com.opencsv;
+
+/**
+ * What {@link CSVReader#scan()} found out about the structure of the input:
+ * the number of records, the number of columns they have and whether the
+ * input ends inside a quoted field.
+ *
+ * @since 3.10
+ */
+public final class CsvScanResult {
+
+    private long records;
+    private long linesRead;
+    private int firstColumns = -1;
+    private int minColumns;
+    private int maxColumns;
+    private long inconsistentRecords;
+    private long firstInconsistentRecord = -1;
+    private long firstInconsistentLine = -1;
+    private boolean quoteOpenAtEnd;
+
+    /**
+     * Constructs an empty result.
+     */
+    CsvScanResult() {
+    }
+
+    /**
+     * Counts a record.
+     *
+     * @param startLine The number of the physical line the record starts on
+     * @param columns   The number of columns of the record
+     */
+    void record(long startLine, int columns) {
+        records++;
+        if (firstColumns < 0) {
+            firstColumns = columns;
+            minColumns = columns;
+            maxColumns = columns;
+            return;
+        }
+        minColumns = Math.min(minColumns, columns);
+        maxColumns = Math.max(maxColumns, columns);
+        if (columns != firstColumns) {
+            inconsistentRecords++;
+            if (firstInconsistentRecord < 0) {
+                firstInconsistentRecord = records;
+                firstInconsistentLine = startLine;
+            }
+        }
+    }
+
+    /**
+     * Records how the input ended.
+     *
+     * @param linesRead      The number of lines read by the reader
+     * @param quoteOpenAtEnd True if the input ended inside a quoted section
+     */
+    void end(long linesRead, boolean quoteOpenAtEnd) {
+        this.linesRead = linesRead;
+        this.quoteOpenAtEnd = quoteOpenAtEnd;
+    }
+
+    /**
+     * @return The number of records scanned.
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * @return The number of lines read by the reader, including skipped
+     * lines and the lines read before the scan, see
+     * {@link CSVReader#getLinesRead()}.
+     */
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * @return The number of columns of the first record scanned, or -1 if
+     * there were no records.
+     */
+    public int getColumns() {
+        return firstColumns;
+    }
+
+    /**
+     * @return The smallest number of columns of a record, or 0 if there were
+     * no records.
+     */
+    public int getMinColumns() {
+        return minColumns;
+    }
+
+    /**
+     * @return The largest number of columns of a record, or 0 if there were
+     * no records.
+     */
+    public int getMaxColumns() {
+        return maxColumns;
+    }
+
+    /**
+     * @return The number of records whose number of columns differs from
+     * that of the first record.
+     */
+    public long getInconsistentRecords() {
+        return inconsistentRecords;
+    }
+
+    /**
+     * @return The number of the first record, counting from one, whose
+     * number of columns differs from that of the first record, or -1 if all
+     * records have the same number of columns.
+     */
+    public long getFirstInconsistentRecord() {
+        return firstInconsistentRecord;
+    }
+
+    /**
+     * @return The physical line, counting from one, the first record starts
+     * on whose number of columns differs from that of the first record, or
+     * -1 if all records have the same number of columns.
+     */
+    public long getFirstInconsistentLine() {
+        return firstInconsistentLine;
+    }
+
+    /**
+     * @return True if the input ended inside a quoted field, which usually
+     * means a quote is missing somewhere.  The open field is not part of the
+     * last record, just like when the records are read.
+     */
+    public boolean isQuoteOpenAtEnd() {
+        return quoteOpenAtEnd;
+    }
+
+    /**
+     * @return True if all records have the same number of columns and the
+     * input does not end inside a quoted field.
+     */
+    public boolean isValid() {
+        return inconsistentRecords == 0 && !quoteOpenAtEnd;
+    }
+
+    @Override
+    public String toString() {
+        return "CsvScanResult{records=" + records + ", linesRead=" + linesRead
+                + ", columns=" + minColumns + ".." + maxColumns
+                + ", firstInconsistentLine=" + firstInconsistentLine
+                + ", quoteOpenAtEnd=" + quoteOpenAtEnd + '}';
+    }
+}
@@ -0,0 +1,122 @@
+package com.opencsv;
+
+import java.io.Serializable;
+
+/**
+ * A part of a CSV file that can be read on its own, by another thread, JVM
+ * or machine.
+ * <p>
+ * Splits are planned by {@link ParallelCSVReader#split(int)}, which finds
+ * the record boundaries following the quotes through the whole file, so a
+ * split never starts inside a quoted field, however many line breaks the
+ * field contains.  A split is made of the records starting between its
+ * start and its end; the last of them may run on past the end.</p>
+ * <p>
+ * Splits are serializable, so they can be sent to the workers.  A worker
+ * reads its split with a reader built for the same file, charset and parser
+ * settings:</p>
+ * <pre>
+ * {@code
+ * CSVReader reader = new CSVReaderBuilder(path, charset)
+ *         .withCSVParser(parser)
+ *         .withSplit(split)
+ *         .build();
+ * }
+ * </pre>
+ *
+ * @see CSVReaderBuilder#withSplit(CsvSplit)
+ * @since 3.10
+ */
+public final class CsvSplit implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int index;
+    private final long start;
+    private final long end;
+    private final long records;
+    private final long linesBefore;
+    private final long recordsBefore;
+
+    /**
+     * Constructs a split.
+     *
+     * @param index         The number of the split, counting from zero
+     * @param start         The byte offset of the first record of the split
+     * @param end           The byte offset of the first record after the split,
+     *                      or the size of the file
+     * @param records       The number of records of the split
+     * @param linesBefore   The number of lines before the first record, including skipped lines
+     * @param recordsBefore The number of records before the first record
+     */
+    CsvSplit(int index, long start, long end, long records, long linesBefore, long recordsBefore) {
+        this.index = index;
+        this.start = start;
+        this.end = end;
+        this.records = records;
+        this.linesBefore = linesBefore;
+        this.recordsBefore = recordsBefore;
+    }
+
+    /**
+     * @return The number of the split, counting from zero at the start of
+     * the file.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return The byte offset in the file at which the first record of the
+     * split starts.
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * @return The byte offset in the file at which the first record of the
+     * next split starts, or the size of the file for the last split.
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * @return The number of records of the split.
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * @return The number of lines in the file before the first record of the
+     * split, including skipped lines.  A reader of the split counts its lines
+     * on from here, so line numbers refer to the whole file.
+     */
+    public long getLinesBefore() {
+        return linesBefore;
+    }
+
+    /**
+     * @return The number of records in the file before the first record of
+     * the split.
+     */
+    public long getRecordsBefore() {
+        return recordsBefore;
+    }
+
+    /**
+     * @return A checkpoint at the start of the split.
+     */
+    CsvCheckpoint getCheckpoint() {
+        return new CsvCheckpoint(start, true, false, false, linesBefore, recordsBefore);
+    }
+
+    @Override
+    public String toString() {
+        return "CsvSplit{index=" + index + ", bytes=" + start + ".." + end
+                + ", records=" + records + ", linesBefore=" + linesBefore
+                + ", recordsBefore=" + recordsBefore + "}";
+    }
+}
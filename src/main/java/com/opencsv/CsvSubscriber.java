@@ -0,0 +1,43 @@
+package com.opencsv;
+
+/**
+ * Receives the items of a {@link CsvPublisher}.
+ * <p>
+ * The methods and the rules for calling them are those of the
+ * {@code Subscriber} of Reactive Streams and of
+ * {@code java.util.concurrent.Flow}, so a subscriber of either can be
+ * adapted by forwarding each call.  The calls for one subscription never
+ * overlap, and no item is sent that was not requested.</p>
+ *
+ * @param <T> The type of the items
+ * @since 3.10
+ */
+public interface CsvSubscriber<T> {
+
+    /**
+     * Called once when the subscriber subscribes, before anything else.
+     * Nothing is sent until items are requested through the subscription.
+     *
+     * @param subscription Requests items or cancels the subscription
+     */
+    void onSubscribe(CsvSubscription subscription);
+
+    /**
+     * Called for each item, in the order of the input.
+     *
+     * @param item The item
+     */
+    void onNext(T item);
+
+    /**
+     * Called once if reading fails.  Nothing is sent afterwards.
+     *
+     * @param throwable The failure
+     */
+    void onError(Throwable throwable);
+
+    /**
+     * Called once after the last item.  Nothing is sent afterwards.
+     */
+    void onComplete();
+}
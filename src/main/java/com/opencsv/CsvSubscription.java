@@ -0,0 +1,24 @@
+package com.opencsv;
+
+/**
+ * The link between a {@link CsvPublisher} and a {@link CsvSubscriber}
+ * through which the subscriber tells how many items it can take.
+ *
+ * @since 3.10
+ */
+public interface CsvSubscription {
+
+    /**
+     * Requests more items.  Requests add up, and {@link Long#MAX_VALUE}
+     * requests everything.  May be called from any thread, also from within
+     * {@link CsvSubscriber#onNext(Object)}.
+     *
+     * @param n The number of items to request, which must be positive
+     */
+    void request(long n);
+
+    /**
+     * Stops sending items.  Items already being sent may still arrive.
+     */
+    void cancel();
+}
@@ -0,0 +1,75 @@
+package com.opencsv;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * Reads a file that other processes are still appending to, see
+ * {@link CSVReaderBuilder#withFollow(long, long)}.
+ * <p>
+ * At the end of the file the stream does not report the end of input but
+ * waits, checking the size of the file every poll interval, and goes on
+ * reading from where it stopped once the file has grown.  Whoever reads the
+ * stream keeps its state meanwhile, so a {@link CSVReader} simply waits in
+ * the middle of a record until the rest of it is written, and never reads
+ * anything twice.</p>
+ * <p>
+ * The end of input is only reported once the file has not grown for the
+ * idle timeout, or after the stream is closed.  A thread waiting for data
+ * can be stopped by interrupting it, which throws an
+ * {@link InterruptedIOException}.</p>
+ *
+ * @since 3.10
+ */
+class FollowingInputStream extends PathInputStream {
+
+    private final long pollMillis;
+    private final long idleTimeoutMillis;
+
+    /**
+     * Constructs a stream following the given file.
+     *
+     * @param path              The file to read
+     * @param pollMillis        The time to wait between checks of the file size
+     * @param idleTimeoutMillis The time without new data after which the end
+     *                          of input is reported, or 0 to wait for ever
+     */
+    FollowingInputStream(Path path, long pollMillis, long idleTimeoutMillis) {
+        super(path);
+        this.pollMillis = pollMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        FileChannel in = channel();
+        long idleSince = System.currentTimeMillis();
+        while (true) {
+            int read = in.read(ByteBuffer.wrap(b, off, len));
+            if (read > 0) {
+                return read;
+            }
+            if (isClosed()) {
+                return -1;
+            }
+            if (in.size() < in.position()) {
+                throw new IOException("The file " + getPath() + " was truncated while being followed.");
+            }
+            if (idleTimeoutMillis > 0 && System.currentTimeMillis() - idleSince >= idleTimeoutMillis) {
+                return -1;
+            }
+            try {
+                Thread.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for " + getPath() + " to grow.");
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.opencsv;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Reads a file by decoding it straight out of memory mapped windows.
+ * <p>
+ * The characters are decoded from the mapped bytes directly into the array
+ * handed to {@link #read(char[], int, int)}, so there is no copy of the
+ * bytes into a heap buffer and no intermediate character buffer.  Since a
+ * single mapping cannot exceed 2GB the file is mapped one window at a time,
+ * moving the window on as it is used up.  Like an
+ * {@link java.io.InputStreamReader} malformed input is replaced, not
+ * reported.</p>
+ *
+ * @since 3.10
+ */
+class MappedFileReader extends Reader {
+
+    /**
+     * The default size of a mapped window.
+     */
+    static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final CharsetDecoder decoder;
+    private final int windowSize;
+    private final long size;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private boolean flushed;
+    private boolean closed;
+
+    /**
+     * Holds the second half of a surrogate pair that did not fit into the
+     * array of the caller.
+     */
+    private final CharBuffer spill = CharBuffer.allocate(2);
+
+    /**
+     * Constructs a reader over the given channel.
+     *
+     * @param channel    The channel to the file.  It is closed with the reader.
+     * @param charset    The charset of the file
+     * @param windowSize The size of a mapped window, at least the maximum
+     *                   number of bytes per character of the charset
+     * @throws IOException If the size of the file cannot be determined
+     */
+    MappedFileReader(FileChannel channel, Charset charset, int windowSize) throws IOException {
+        this.channel = channel;
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.windowSize = windowSize;
+        this.size = channel.size();
+        this.spill.limit(0);
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (off < 0 || len < 0 || off + len > cbuf.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+        if (spill.hasRemaining()) {
+            out.put(spill.get());
+        }
+        while (out.hasRemaining() && !flushed) {
+            if (window == null || !window.hasRemaining() && windowStart + window.limit() < size) {
+                map();
+            }
+            boolean endOfInput = windowStart + window.limit() >= size;
+            CoderResult result = decoder.decode(window, out, endOfInput);
+            if (result.isOverflow()) {
+                if (out.position() == off) {
+                    // a surrogate pair does not fit, decode it aside
+                    spill.clear();
+                    decoder.decode(window, spill, endOfInput);
+                    spill.flip();
+                    out.put(spill.get());
+                }
+                break;
+            }
+            if (endOfInput) {
+                if (decoder.flush(out).isOverflow()) {
+                    break;
+                }
+                flushed = true;
+            } else if (window.hasRemaining()) {
+                // an incomplete character at the end of the window
+                map();
+            }
+        }
+        int read = out.position() - off;
+        return read == 0 ? -1 : read;
+    }
+
+    private void map() throws IOException {
+        long start = window == null ? 0 : windowStart + window.position();
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+        windowStart = start;
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (spill.hasRemaining()) {
+            return true;
+        }
+        if (window == null) {
+            return size > 0;
+        }
+        return !flushed && (window.hasRemaining() || windowStart + window.limit() < size);
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        window = null;
+        channel.close();
+    }
+}
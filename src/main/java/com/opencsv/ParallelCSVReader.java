@@ -0,0 +1,385 @@
+package com.opencsv;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reads one CSV file with several threads.
+ * <p>
+ * The file is cut into chunks of roughly equal byte size and the chunks are
+ * read in three steps:</p>
+ * <ol>
+ * <li>Every chunk is scanned in parallel for its quote state, once for each
+ * state the chunk could start in (at the start of a record or in the middle
+ * of a quoted field).  No values are built in this step.</li>
+ * <li>The scans are chained in order, starting at the beginning of the file,
+ * which tells for each chunk in which state it really starts and so where its
+ * first record begins.</li>
+ * <li>The records beginning in each chunk are parsed in parallel, from the
+ * first one on, by a byte reading record tokenizer.  The last record of a
+ * chunk may run into the next one.</li>
+ * </ol>
+ * <p>
+ * Since the records are parsed with the rules of the {@link CSVParser}
+ * (including its treatment of quotes in the middle of fields) the result is
+ * the same as reading the file with a {@link CSVReader} using the same
+ * parser.  Only charsets in which the special characters are single ASCII
+ * bytes, like UTF-8 and the ISO-8859 family, are supported.</p>
+ * <p>
+ * Use the {@link ParallelCSVReaderBuilder} to create one:</p>
+ * <pre>
+ * {@code
+ * ParallelCSVReader reader = new ParallelCSVReaderBuilder(new File("big.csv"))
+ *         .withCharset(Charset.forName("UTF-8"))
+ *         .withSkipLines(1)
+ *         .build();
+ * reader.read(new ParallelCSVReader.ChunkHandler() {
+ *     public void handleChunk(int chunk, List<String[]> records) {
+ *         ...
+ *     }
+ * }, false);
+ * }
+ * </pre>
+ *
+ * @see ParallelCSVReaderBuilder
+ * @since 3.10
+ */
+public class ParallelCSVReader {
+
+    /**
+     * The default size of a chunk in bytes.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private final File file;
+    private final Charset charset;
+    private final CSVParser parser;
+    private final int skipLines;
+    private final boolean keepCR;
+    private final int chunkSize;
+    private final int threads;
+
+    /**
+     * Constructs a reader.  Use the {@link ParallelCSVReaderBuilder} instead.
+     *
+     * @param file      The file to read
+     * @param charset   The charset of the file
+     * @param parser    The parser whose rules are used
+     * @param skipLines The number of lines to skip before reading
+     * @param keepCR    True to keep carriage returns in data read, false otherwise
+     * @param chunkSize The size of a chunk in bytes
+     * @param threads   The number of threads reading
+     */
+    ParallelCSVReader(File file, Charset charset, CSVParser parser, int skipLines, boolean keepCR,
+                      int chunkSize, int threads) {
+        this.file = file;
+        this.charset = charset;
+        this.parser = parser;
+        this.skipLines = skipLines;
+        this.keepCR = keepCR;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+    }
+
+    /**
+     * Reads the entire file into a List with each element being a String[] of
+     * tokens, in the order of the file.
+     *
+     * @return A List of String[], with each String[] representing a record of the file.
+     * @throws IOException If bad things happen during the read
+     */
+    public List<String[]> readAll() throws IOException {
+        final List<String[]> records = new ArrayList<String[]>();
+        read(new ChunkHandler() {
+            @Override
+            public void handleChunk(int chunk, List<String[]> chunkRecords) {
+                records.addAll(chunkRecords);
+            }
+        }, true);
+        return records;
+    }
+
+    /**
+     * Reads the file and hands the records to the handler chunk by chunk.
+     * <p>
+     * The handler is only ever called from the calling thread.  Only a few
+     * chunks per thread are kept in memory at any time, so the handler should
+     * keep up with the readers.</p>
+     *
+     * @param handler Receives the records
+     * @param ordered True to hand the chunks to the handler in the order of the
+     *                file, false to hand them over as soon as they are parsed
+     * @throws IOException If bad things happen during the read
+     */
+    public void read(ChunkHandler handler, boolean ordered) throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        RandomAccessFile input = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = input.getChannel();
+            QuoteStateScanner scanner = new QuoteStateScanner(parser, keepCR);
+            long start = scanner.skipLines(channel, skipLines);
+            long size = channel.size();
+
+            List<Future<QuoteStateScanner.Stretch>> scans = new ArrayList<Future<QuoteStateScanner.Stretch>>();
+            for (long from = start; from < size; from += chunkSize) {
+                scans.add(executor.submit(new ScanTask(scanner, channel, from, Math.min(from + chunkSize, size), from == start)));
+            }
+
+            int maxPending = threads * 2;
+            LinkedList<Future<ParsedChunk>> pending = new LinkedList<Future<ParsedChunk>>();
+            CompletionService<ParsedChunk> completed = new ExecutorCompletionService<ParsedChunk>(executor);
+            int state = QuoteStateScanner.RECORD_START;
+            for (int i = 0; i < scans.size() && state != QuoteStateScanner.END; i++) {
+                QuoteStateScanner.Stretch stretch = get(scans.get(i));
+                scans.set(i, null);
+                long records = stretch.records[state];
+                long firstRecord = stretch.firstRecord[state];
+                state = stretch.endState[state];
+                if (records == 0) {
+                    continue;
+                }
+                ParseTask task = new ParseTask(i, firstRecord, records);
+                pending.add(ordered ? executor.submit(task) : completed.submit(task));
+                if (pending.size() >= maxPending) {
+                    deliver(handler, ordered ? pending.removeFirst() : take(completed, pending));
+                }
+            }
+            while (!pending.isEmpty()) {
+                deliver(handler, ordered ? pending.removeFirst() : take(completed, pending));
+            }
+        } finally {
+            executor.shutdownNow();
+            input.close();
+        }
+    }
+
+    /**
+     * Plans how to cut the file into parts that can be read independently,
+     * for example by separate processes of a cluster.
+     * <p>
+     * The file is scanned for its quote state like for {@link #read(ChunkHandler, boolean)},
+     * so the splits start at real record boundaries even if quoted fields
+     * contain line breaks.  No values are built.  The splits are of roughly
+     * equal byte size, but they are only cut at the start of a chunk (see
+     * {@link ParallelCSVReaderBuilder#withChunkSize(int)}), so a small file
+     * gives fewer splits than asked for.  Splits without records are left
+     * out.</p>
+     * <p>
+     * Each split is read by a {@link CSVReader} built with
+     * {@link CSVReaderBuilder#withSplit(CsvSplit)} for the same file,
+     * charset and parser settings.</p>
+     *
+     * @param splits The number of splits wanted
+     * @return The splits, in the order of the file
+     * @throws IOException If bad things happen during the scan
+     * @throws IllegalArgumentException If the number of splits is not positive
+     */
+    public List<CsvSplit> split(int splits) throws IOException {
+        if (splits <= 0) {
+            throw new IllegalArgumentException("The number of splits must be positive.");
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        RandomAccessFile input = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = input.getChannel();
+            QuoteStateScanner scanner = new QuoteStateScanner(parser, keepCR);
+            long start = scanner.skipLines(channel, skipLines);
+            long size = channel.size();
+            long splitSize = Math.max(1, (size - start + splits - 1) / splits);
+
+            List<Future<QuoteStateScanner.Stretch>> scans = new ArrayList<Future<QuoteStateScanner.Stretch>>();
+            for (long from = start; from < size; from += chunkSize) {
+                scans.add(executor.submit(new ScanTask(scanner, channel, from, Math.min(from + chunkSize, size), from == start)));
+            }
+
+            List<CsvSplit> result = new ArrayList<CsvSplit>(splits);
+            int state = QuoteStateScanner.RECORD_START;
+            long lines = start < size ? skipLines : 0;
+            long records = 0;
+            long splitStart = -1;
+            long splitLines = 0;
+            long splitRecords = 0;
+            for (int i = 0; i < scans.size() && state != QuoteStateScanner.END; i++) {
+                QuoteStateScanner.Stretch stretch = get(scans.get(i));
+                scans.set(i, null);
+                if (stretch.records[state] > 0) {
+                    long firstRecord = stretch.firstRecord[state];
+                    long firstLines = lines + stretch.linesBefore[state];
+                    long chunkStart = start + (long) i * chunkSize;
+                    if (splitStart >= 0 && chunkStart >= start + (result.size() + 1) * splitSize) {
+                        result.add(new CsvSplit(result.size(), splitStart, firstRecord,
+                                records - splitRecords, splitLines, splitRecords));
+                        splitStart = -1;
+                    }
+                    if (splitStart < 0) {
+                        splitStart = firstRecord;
+                        splitLines = firstLines;
+                        splitRecords = records;
+                    }
+                    records += stretch.records[state];
+                }
+                lines += stretch.lines[state];
+                state = stretch.endState[state];
+            }
+            if (splitStart >= 0) {
+                result.add(new CsvSplit(result.size(), splitStart, size, records - splitRecords, splitLines, splitRecords));
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+            input.close();
+        }
+    }
+
+    private static Future<ParsedChunk> take(CompletionService<ParsedChunk> completed,
+                                            LinkedList<Future<ParsedChunk>> pending) throws IOException {
+        try {
+            Future<ParsedChunk> future = completed.take();
+            pending.removeFirst();
+            return future;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        }
+    }
+
+    private static void deliver(ChunkHandler handler, Future<ParsedChunk> future) throws IOException {
+        ParsedChunk chunk = get(future);
+        handler.handleChunk(chunk.index, chunk.records);
+    }
+
+    private static <T> T get(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Receives the records read by a {@link ParallelCSVReader}.
+     */
+    public interface ChunkHandler {
+
+        /**
+         * Called with the records beginning in a chunk of the file.  Chunks
+         * in which no record begins are left out.
+         *
+         * @param chunk   The number of the chunk, counting from zero at the start of the file
+         * @param records The records beginning in the chunk, in the order of the file
+         */
+        void handleChunk(int chunk, List<String[]> records);
+    }
+
+    /**
+     * Scans the lines starting in a byte range of the file.
+     */
+    private static class ScanTask implements Callable<QuoteStateScanner.Stretch> {
+        private final QuoteStateScanner scanner;
+        private final FileChannel channel;
+        private final long from;
+        private final long to;
+        private final boolean first;
+
+        ScanTask(QuoteStateScanner scanner, FileChannel channel, long from, long to, boolean first) {
+            this.scanner = scanner;
+            this.channel = channel;
+            this.from = from;
+            this.to = to;
+            this.first = first;
+        }
+
+        @Override
+        public QuoteStateScanner.Stretch call() throws IOException {
+            long start = first ? from : scanner.lineStart(channel, from);
+            long end = scanner.lineStart(channel, to);
+            long length = Math.max(end - start, 0);
+            if (length > Integer.MAX_VALUE - 8) {
+                throw new IOException("A line of more than " + (Integer.MAX_VALUE - 8) + " bytes cannot be read in parallel.");
+            }
+            ByteBuffer bytes = ByteBuffer.allocate((int) length);
+            while (bytes.hasRemaining()) {
+                if (channel.read(bytes, start + bytes.position()) < 0) {
+                    break;
+                }
+            }
+            return scanner.scan(bytes.array(), bytes.position(), start);
+        }
+    }
+
+    /**
+     * Parses a number of records from a position in the file on.
+     */
+    private class ParseTask implements Callable<ParsedChunk> {
+        private final int index;
+        private final long position;
+        private final long records;
+
+        ParseTask(int index, long position, long records) {
+            this.index = index;
+            this.position = position;
+            this.records = records;
+        }
+
+        @Override
+        public ParsedChunk call() throws IOException {
+            FileInputStream in = new FileInputStream(file);
+            CSVReader reader = null;
+            try {
+                in.getChannel().position(position);
+                reader = new CSVReader(in, charset, 0, parser, keepCR, false, true);
+                List<String[]> result = new ArrayList<String[]>((int) Math.min(records, 1024));
+                String[] record;
+                for (long i = 0; i < records && (record = reader.readNext()) != null; i++) {
+                    result.add(record);
+                }
+                return new ParsedChunk(index, result);
+            } finally {
+                if (reader != null) {
+                    reader.close();
+                } else {
+                    in.close();
+                }
+            }
+        }
+    }
+
+    private static class ParsedChunk {
+        private final int index;
+        private final List<String[]> records;
+
+        ParsedChunk(int index, List<String[]> records) {
+            this.index = index;
+            this.records = records;
+        }
+    }
+}
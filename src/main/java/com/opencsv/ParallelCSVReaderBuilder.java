@@ -0,0 +1,203 @@
+package com.opencsv;
+
+import java.io.File;
+import java.nio.charset.Charset;
+
+/**
+ * Builder for creating a ParallelCSVReader.
+ * <p>
+ * <code>
+ * final ParallelCSVReader reader =<br>
+ * new ParallelCSVReaderBuilder(new File("big.csv"))<br>
+ * .withCharset(Charset.forName("UTF-8"))<br>
+ * .withCSVParser(new CSVParserBuilder().withSeparator('\t').build())<br>
+ * .withThreads(8)<br>
+ * .build();<br>
+ * </code></p>
+ *
+ * @see com.opencsv.ParallelCSVReader
+ * @since 3.10
+ */
+public class ParallelCSVReaderBuilder {
+
+    private final File file;
+    private Charset charset = Charset.defaultCharset();
+    private CSVParser parser;
+    private int skipLines = CSVReader.DEFAULT_SKIP_LINES;
+    private boolean keepCR;
+    private int chunkSize = ParallelCSVReader.DEFAULT_CHUNK_SIZE;
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Sets the file to read.
+     *
+     * @param file The file to read.
+     */
+    public ParallelCSVReaderBuilder(final File file) {
+        if (file == null) {
+            throw new IllegalArgumentException("File may not be null");
+        }
+        this.file = file;
+    }
+
+    /**
+     * Used by unit tests.
+     *
+     * @return The file.
+     */
+    protected File getFile() {
+        return file;
+    }
+
+    /**
+     * Sets the charset of the file.  The default is the platform charset.
+     *
+     * @param charset The charset of the file.  It has to encode the line
+     *                terminators and the special characters of the parser
+     *                as single ASCII bytes that do not occur inside other
+     *                characters, like UTF-8 or ISO-8859-1 do.
+     * @return The ParallelCSVReaderBuilder with the charset set.
+     */
+    public ParallelCSVReaderBuilder withCharset(final Charset charset) {
+        this.charset = charset;
+        return this;
+    }
+
+    /**
+     * Used by unit tests.
+     *
+     * @return The charset of the file
+     */
+    protected Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Sets the parser whose rules are used to read the file.  The default is a
+     * CSVParser with default settings.
+     *
+     * @param parser The parser.  Subclasses of CSVParser are not supported.
+     * @return The ParallelCSVReaderBuilder with the parser set.
+     */
+    public ParallelCSVReaderBuilder withCSVParser(final /*@Nullable*/ CSVParser parser) {
+        this.parser = parser;
+        return this;
+    }
+
+    /**
+     * Used by unit tests.
+     *
+     * @return The parser, or null if none was set
+     */
+    protected CSVParser getCsvParser() {
+        return parser;
+    }
+
+    /**
+     * Sets the number of lines to skip before reading.
+     *
+     * @param skipLines The number of lines to skip before reading.
+     * @return The ParallelCSVReaderBuilder with skipLines set.
+     */
+    public ParallelCSVReaderBuilder withSkipLines(final int skipLines) {
+        this.skipLines = skipLines <= 0 ? 0 : skipLines;
+        return this;
+    }
+
+    /**
+     * Used by unit tests.
+     *
+     * @return The set number of lines to skip
+     */
+    protected int getSkipLines() {
+        return skipLines;
+    }
+
+    /**
+     * Sets if the reader will keep or discard carriage returns.
+     *
+     * @param keepCR True to keep carriage returns, false to discard.
+     * @return The ParallelCSVReaderBuilder based on the set criteria.
+     */
+    public ParallelCSVReaderBuilder withKeepCarriageReturn(boolean keepCR) {
+        this.keepCR = keepCR;
+        return this;
+    }
+
+    /**
+     * Used by unit tests.
+     *
+     * @return True if the reader built will keep carriage returns, false otherwise.
+     */
+    protected boolean keepCarriageReturn() {
+        return keepCR;
+    }
+
+    /**
+     * Sets the size of the chunks the file is cut into.  The default is
+     * {@link ParallelCSVReader#DEFAULT_CHUNK_SIZE}.
+     *
+     * @param chunkSize The size of a chunk in bytes.
+     * @return The ParallelCSVReaderBuilder with the chunk size set.
+     */
+    public ParallelCSVReaderBuilder withChunkSize(final int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive.");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Used by unit tests.
+     *
+     * @return The size of a chunk in bytes
+     */
+    protected int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets the number of threads reading the file.  The default is the number
+     * of available processors.
+     *
+     * @param threads The number of threads.
+     * @return The ParallelCSVReaderBuilder with the number of threads set.
+     */
+    public ParallelCSVReaderBuilder withThreads(final int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("The number of threads must be positive.");
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Used by unit tests.
+     *
+     * @return The number of threads
+     */
+    protected int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Creates the ParallelCSVReader.
+     *
+     * @return The ParallelCSVReader based on the set criteria.
+     * @throws IllegalArgumentException If the parser is a subclass of
+     *                                  CSVParser or the charset cannot be
+     *                                  scanned byte by byte.
+     */
+    public ParallelCSVReader build() {
+        final CSVParser csvParser = parser != null ? parser : new CSVParser();
+        if (csvParser.getClass() != CSVParser.class) {
+            throw new IllegalArgumentException("Only the rules of the CSVParser itself can be read in parallel.");
+        }
+        if (!CSVParserByteTokenizer.canScan(charset, csvParser)) {
+            throw new IllegalArgumentException("The charset " + charset.name()
+                    + " does not encode the special characters as single ASCII bytes.");
+        }
+        return new ParallelCSVReader(file, charset, csvParser, skipLines, keepCR, chunkSize, threads);
+    }
+}
@@ -0,0 +1,182 @@
+package com.opencsv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the bytes of a file given by its path.
+ * <p>
+ * Like the {@link PathReader} the file is only opened on the first read, so
+ * the errors opening it surface from the read methods.  Skipping moves the
+ * position in the file without reading anything, which lets a
+ * {@link CSVReader} resume from a checkpoint in a large file at once.</p>
+ * <p>
+ * A file at least as large as the mapping threshold is read through memory
+ * mapped windows like the {@link MappedFileReader} reads it, instead of
+ * copying it through the channel.</p>
+ *
+ * @since 3.10
+ */
+class PathInputStream extends InputStream {
+
+    private final Path path;
+    private final long mappingThreshold;
+    private final int windowSize;
+    private FileChannel channel;
+    private boolean mapped;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a stream reading the given file without mapping it.
+     *
+     * @param path The file to read
+     */
+    PathInputStream(Path path) {
+        this(path, Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a stream reading the given file.
+     *
+     * @param path             The file to read
+     * @param mappingThreshold The size from which on the file is memory mapped
+     *                         instead of read through its channel
+     */
+    PathInputStream(Path path, long mappingThreshold) {
+        this(path, mappingThreshold, MappedFileReader.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructs a stream reading the given file.
+     *
+     * @param path             The file to read
+     * @param mappingThreshold The size from which on the file is memory mapped
+     *                         instead of read through its channel
+     * @param windowSize       The size of a mapped window
+     */
+    PathInputStream(Path path, long mappingThreshold, int windowSize) {
+        this.path = path;
+        this.mappingThreshold = mappingThreshold;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * @return The file read.
+     */
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return The channel of the file, which is opened by the first call.
+     * @throws IOException If the file cannot be opened or the stream is closed
+     */
+    FileChannel channel() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (channel == null) {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                mapped = channel.size() >= mappingThreshold;
+            } catch (IOException e) {
+                channel.close();
+                channel = null;
+                throw e;
+            }
+        }
+        return channel;
+    }
+
+    /**
+     * Used by unit tests.
+     *
+     * @return True if the file is read through memory mapped windows.
+     * @throws IOException If the file cannot be opened
+     */
+    boolean isMapped() throws IOException {
+        channel();
+        return mapped;
+    }
+
+    /**
+     * @return True if the stream has been closed.
+     */
+    boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        FileChannel in = channel();
+        if (!mapped) {
+            return in.read(ByteBuffer.wrap(b, off, len));
+        }
+        // the position of the channel stays the position of the stream, so
+        // skipping and the available bytes need not know about the windows
+        long position = in.position();
+        long size = in.size();
+        if (position >= size) {
+            return -1;
+        }
+        if (window == null || position < windowStart || position >= windowStart + window.limit()) {
+            window = in.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, size - position));
+            windowStart = position;
+        }
+        window.position((int) (position - windowStart));
+        int read = Math.min(len, window.remaining());
+        window.get(b, off, read);
+        in.position(position + read);
+        return read;
+    }
+
+    /**
+     * Moves the position in the file forward, but not beyond its end.
+     *
+     * @param n The number of bytes to skip
+     * @return The number of bytes skipped
+     * @throws IOException If the file cannot be opened
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        FileChannel in = channel();
+        long skipped = Math.max(0, Math.min(n, in.size() - in.position()));
+        in.position(in.position() + skipped);
+        return skipped;
+    }
+
+    /**
+     * @return The number of bytes in the file after the read position.
+     * @throws IOException If the file cannot be opened
+     */
+    @Override
+    public int available() throws IOException {
+        FileChannel in = channel();
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, in.size() - in.position()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        window = null;
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
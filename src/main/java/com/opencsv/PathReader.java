@@ -0,0 +1,90 @@
+package com.opencsv;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file given by its path, memory mapping it if it is large enough.
+ * <p>
+ * The file is only opened on the first read, so creating a
+ * {@link CSVReader} for a path does not fail and the errors opening the
+ * file surface from the read methods as they would for any other input.</p>
+ *
+ * @see MappedFileReader
+ * @since 3.10
+ */
+class PathReader extends Reader {
+
+    private final Path path;
+    private final Charset charset;
+    private final long mappingThreshold;
+
+    private Reader in;
+    private boolean closed;
+
+    /**
+     * Constructs a reader for the given file.
+     *
+     * @param path             The file to read
+     * @param charset          The charset of the file
+     * @param mappingThreshold The size from which on the file is memory mapped
+     *                         instead of streamed
+     */
+    PathReader(Path path, Charset charset, long mappingThreshold) {
+        this.path = path;
+        this.charset = charset;
+        this.mappingThreshold = mappingThreshold;
+    }
+
+    private Reader in() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (in == null) {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                in = channel.size() >= mappingThreshold
+                        ? new MappedFileReader(channel, charset, MappedFileReader.DEFAULT_WINDOW_SIZE)
+                        : new InputStreamReader(Channels.newInputStream(channel), charset);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+        return in;
+    }
+
+    /**
+     * Used by unit tests.
+     *
+     * @return True if the file is read through memory mapped windows.
+     * @throws IOException If the file cannot be opened
+     */
+    boolean isMapped() throws IOException {
+        return in() instanceof MappedFileReader;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        return in().read(cbuf, off, len);
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        return in().ready();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (in != null) {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.opencsv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Follows the quote state of the {@link CSVParser} rules through raw bytes
+ * without building any values.
+ * <p>
+ * Whether a physical line starts a new record or continues a quoted field
+ * cannot be told from the line itself.  For the rules of the CSVParser the
+ * whole state at the start of a line is captured by one of three states:
+ * {@link #RECORD_START}, {@link #QUOTED} or {@link #QUOTED_IN_FIELD}, plus
+ * {@link #END} once an empty line ends the input in keepCR mode.  Scanning a
+ * stretch of the input once under every state yields, for each of them, the
+ * state at the end of the stretch and where the records in it begin.  That
+ * lets separate stretches be scanned independently and resolved afterwards
+ * in order.</p>
+ * <p>
+ * The scanner looks at bytes, so it only works for charsets in which the
+ * line terminators and the separator, quote and escape characters are
+ * single ASCII bytes that never occur inside the encoding of another
+ * character, like UTF-8 and the ISO-8859 family.</p>
+ *
+ * @since 3.10
+ */
+class QuoteStateScanner {
+
+    /**
+     * The line starts a new record.
+     */
+    static final int RECORD_START = 0;
+    /**
+     * The line continues a quoted section, outside of a field.
+     */
+    static final int QUOTED = 1;
+    /**
+     * The line continues a quoted section inside of a field.
+     */
+    static final int QUOTED_IN_FIELD = 2;
+    /**
+     * The input has ended before the line.
+     */
+    static final int END = 3;
+
+    /**
+     * The number of states a line can start in while there is input.
+     */
+    static final int STATES = 3;
+
+    private static final int BLOCK_SIZE = 8192;
+
+    private final int separator;
+    private final int quotechar;
+    private final int escape;
+    private final boolean strictQuotes;
+    private final boolean ignoreQuotations;
+    private final boolean keepCR;
+    private final SpecialByteFinder specials;
+    private final SpecialByteFinder terminators;
+
+    /**
+     * Constructs a scanner for the rules of the given parser.
+     *
+     * @param parser The parser whose settings are used
+     * @param keepCR True if carriage returns are kept in the data read, false otherwise
+     * @throws IllegalArgumentException If one of the special characters of the
+     *                                  parser is not an ASCII character.
+     */
+    QuoteStateScanner(CSVParser parser, boolean keepCR) {
+        this.separator = asciiByte(parser.getSeparator(), "separator");
+        this.quotechar = asciiByte(parser.getQuotechar(), "quote character");
+        this.escape = asciiByte(parser.getEscape(), "escape character");
+        this.strictQuotes = parser.isStrictQuotes();
+        this.ignoreQuotations = parser.isIgnoreQuotations();
+        this.keepCR = keepCR;
+        this.specials = new SpecialByteFinder((byte) separator, (byte) quotechar, (byte) escape);
+        this.terminators = keepCR ? new SpecialByteFinder((byte) '\n') : new SpecialByteFinder((byte) '\n', (byte) '\r');
+    }
+
+    private static int asciiByte(char c, String name) {
+        if (c > 0x7F) {
+            throw new IllegalArgumentException("The " + name + " must be an ASCII character to scan bytes.");
+        }
+        return c;
+    }
+
+    /**
+     * Scans one physical line.
+     *
+     * @param words The bytes, as returned by {@link SpecialByteFinder#words(byte[])}
+     * @param b     The bytes
+     * @param start The index of the first byte of the line
+     * @param end   The index of the line terminator or the end of the input
+     * @param state The state at the start of the line
+     * @return The state at the start of the next line.
+     */
+    int scanLine(ByteBuffer words, byte[] b, int start, int end, int state) {
+        if (state == END) {
+            return END;
+        }
+        boolean inQuotes = state != RECORD_START;
+        boolean inField = state == QUOTED_IN_FIELD;
+        for (int i = start; i < end; i++) {
+            int c = b[i];
+            if (c == escape) {
+                if (((inQuotes && !ignoreQuotations) || inField)
+                        && i + 1 < end && (b[i + 1] == quotechar || b[i + 1] == escape)) {
+                    i++;
+                }
+            } else if (c == quotechar) {
+                if (((inQuotes && !ignoreQuotations) || inField) && i + 1 < end && b[i + 1] == quotechar) {
+                    i++;
+                } else {
+                    inQuotes = !inQuotes;
+                }
+                inField = !inField;
+            } else if (c == separator && !(inQuotes && !ignoreQuotations)) {
+                inField = false;
+            } else {
+                if (!strictQuotes || (inQuotes && !ignoreQuotations)) {
+                    inField = true;
+                }
+                // the rest of a run of ordinary bytes changes nothing
+                i = specials.find(words, i + 1, end) - 1;
+            }
+        }
+        if (inQuotes && !ignoreQuotations) {
+            return inField ? QUOTED_IN_FIELD : QUOTED;
+        }
+        return RECORD_START;
+    }
+
+    /**
+     * Scans a stretch of whole lines under every possible starting state.
+     *
+     * @param b      The bytes, starting at the beginning of a line
+     * @param length The number of bytes to scan, ending at the beginning of a
+     *               line or at the end of the input
+     * @param offset The position of the first byte in the input
+     * @return What the stretch looks like under each starting state.
+     */
+    Stretch scan(byte[] b, int length, long offset) {
+        Stretch stretch = new Stretch();
+        for (int s = 0; s < STATES; s++) {
+            stretch.endState[s] = s;
+            stretch.firstRecord[s] = -1;
+        }
+        ByteBuffer words = SpecialByteFinder.words(b);
+        boolean converged = false;
+        int p = 0;
+        while (p < length) {
+            int lineEnd = terminators.find(words, p, length);
+            boolean endsInput = keepCR && lineEnd == p && lineEnd < length;
+            if (converged) {
+                // all states agree from here on, so one scan does for all of them
+                long lines = stretch.lines[0];
+                boolean recordStart = scanLine(stretch, 0, words, b, p, lineEnd, endsInput, offset);
+                for (int s = 1; s < STATES; s++) {
+                    stretch.endState[s] = stretch.endState[0];
+                    stretch.lines[s] += stretch.lines[0] - lines;
+                    if (recordStart) {
+                        stretch.records[s]++;
+                        if (stretch.firstRecord[s] < 0) {
+                            stretch.firstRecord[s] = offset + p;
+                            stretch.linesBefore[s] = stretch.lines[s] - 1;
+                        }
+                    }
+                }
+            } else {
+                for (int s = 0; s < STATES; s++) {
+                    scanLine(stretch, s, words, b, p, lineEnd, endsInput, offset);
+                }
+                converged = stretch.endState[0] == stretch.endState[1]
+                        && stretch.endState[1] == stretch.endState[2];
+            }
+            p = lineEnd;
+            if (p < length) {
+                p++;
+                if (b[lineEnd] == '\r' && p < length && b[p] == '\n') {
+                    p++;
+                }
+            }
+        }
+        return stretch;
+    }
+
+    private boolean scanLine(Stretch stretch, int s, ByteBuffer words, byte[] b, int start, int end, boolean endsInput, long offset) {
+        int state = stretch.endState[s];
+        if (state == END) {
+            return false;
+        }
+        if (endsInput) {
+            stretch.endState[s] = END;
+            return false;
+        }
+        stretch.endState[s] = scanLine(words, b, start, end, state);
+        stretch.lines[s]++;
+        if (state != RECORD_START) {
+            return false;
+        }
+        stretch.records[s]++;
+        if (stretch.firstRecord[s] < 0) {
+            stretch.firstRecord[s] = offset + start;
+            stretch.linesBefore[s] = stretch.lines[s] - 1;
+        }
+        return true;
+    }
+
+    /**
+     * Finds the first line start at or after the given position.
+     *
+     * @param channel  The input
+     * @param position The position to start looking at
+     * @return The position of the line start or the size of the input if no
+     * line starts at or after the position.
+     * @throws IOException If bad things happen during the read
+     */
+    long lineStart(FileChannel channel, long position) throws IOException {
+        if (position <= 0) {
+            return 0;
+        }
+        long size = channel.size();
+        ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+        byte[] b = block.array();
+        long p = position - 1;
+        while (p < size) {
+            block.clear();
+            int read = channel.read(block, p);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (b[i] == '\n') {
+                    return p + i + 1;
+                }
+                if (b[i] == '\r' && !keepCR) {
+                    long next = p + i + 1;
+                    if (next >= size || (i + 1 < read ? b[i + 1] : byteAt(channel, next)) != '\n') {
+                        return next;
+                    }
+                    return next + 1;
+                }
+            }
+            p += read;
+        }
+        return size;
+    }
+
+    private static byte byteAt(FileChannel channel, long position) throws IOException {
+        ByteBuffer one = ByteBuffer.allocate(1);
+        return channel.read(one, position) == 1 ? one.get(0) : -1;
+    }
+
+    /**
+     * Finds the position after the given number of physical lines, skipped
+     * without looking at quotes.
+     *
+     * @param channel The input
+     * @param lines   The number of lines to skip
+     * @return The position of the first line not skipped.
+     * @throws IOException If bad things happen during the read
+     */
+    long skipLines(FileChannel channel, int lines) throws IOException {
+        long position = 0;
+        for (int i = 0; i < lines && position < channel.size(); i++) {
+            position = lineStart(channel, position + 1);
+        }
+        return position;
+    }
+
+    /**
+     * What a stretch of lines looks like under each of the states it may
+     * start in.  All arrays are indexed by the starting state.
+     */
+    static class Stretch {
+        /**
+         * The state at the end of the stretch.
+         */
+        final int[] endState = new int[STATES];
+        /**
+         * The position of the first record starting in the stretch or -1 if
+         * no record starts in it.
+         */
+        final long[] firstRecord = new long[STATES];
+        /**
+         * The number of records starting in the stretch.
+         */
+        final long[] records = new long[STATES];
+        /**
+         * The number of lines read in the stretch, which stops at an empty
+         * line ending the input in keepCR mode.
+         */
+        final long[] lines = new long[STATES];
+        /**
+         * The number of lines read in the stretch before its first record,
+         * if a record starts in it.
+         */
+        final long[] linesBefore = new long[STATES];
+    }
+}
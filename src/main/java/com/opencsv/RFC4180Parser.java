@@ -1,12 +1,10 @@
 package com.opencsv;
 
 import com.opencsv.enums.CSVReaderNullFieldIndicator;
-import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.ArrayUtils;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Arrays;
 
 /**
  * This Parser is meant to parse according to the RFC4180 specification.
@@ -34,20 +32,15 @@ import java.util.regex.Pattern;
 
 public class RFC4180Parser implements ICSVParser {
 
-    /**
-     * This is needed by the split command in case the separator character is a regex special character.
-     */
-    private static final Pattern SPECIAL_REGEX_CHARS = Pattern.compile("[{}()\\[\\].+*?^$\\\\|]");
-
     /**
      * This is the character that the RFC4180Parser will treat as the separator.
      */
     private final char separator;
 
     /**
-     * Separator character as String (used for split command).
+     * Splits lines without quotes.
      */
-    private final String separatorAsString;
+    private final UnquotedLineSplitter unquotedSplitter;
 
     /**
      * This is the character that the RFC4180Parser will treat as the quotation character.
@@ -61,8 +54,22 @@ public class RFC4180Parser implements ICSVParser {
 
     /**
      * This is what was from a previous read of a multi-lined csv record.
+     * It is kept as a builder so that lines continuing a quoted field can
+     * simply be appended to it.
+     */
+    private StringBuilder pending;
+
+    /**
+     * True if the pending field has an odd number of quotes after its
+     * opening quote, which decides which of the quotes to come can end it.
+     */
+    private boolean pendingQuotesOdd;
+
+    /**
+     * The number of fields of the last line parsed, used to size the array
+     * for the next one.
      */
-    private String pending;
+    private int expectedTokens = 1;
 
     /**
      * Default constructor for the RFC4180Parser.  Uses values from the ICSVParser.
@@ -81,7 +88,9 @@ public class RFC4180Parser implements ICSVParser {
     RFC4180Parser(char quoteChar, char separator, CSVReaderNullFieldIndicator nullFieldIndicator) {
         this.quotechar = quoteChar;
         this.separator = separator;
-        this.separatorAsString = SPECIAL_REGEX_CHARS.matcher(Character.toString(separator)).replaceAll("\\\\$0");
+        this.unquotedSplitter = new UnquotedLineSplitter(separator,
+                nullFieldIndicator == CSVReaderNullFieldIndicator.EMPTY_SEPARATORS
+                        || nullFieldIndicator == CSVReaderNullFieldIndicator.BOTH);
         this.nullFieldIndicator = nullFieldIndicator;
     }
 
@@ -100,6 +109,16 @@ public class RFC4180Parser implements ICSVParser {
         return pending != null;
     }
 
+    /**
+     * @return The length of the field that continues on the next line,
+     * including the newline ending it so far, or 0 if there is none.  Quotes
+     * doubled within the field still count twice.
+     */
+    int pendingLength() {
+        // the opening quote is not part of the value
+        return pending == null ? 0 : pending.length() - 1;
+    }
+
     @Override
     public String[] parseLineMulti(String nextLine) throws IOException {
         return parseLine(nextLine, true);
@@ -119,130 +138,205 @@ public class RFC4180Parser implements ICSVParser {
      * @throws IOException If bad things happen during the read
      */
     protected String[] parseLine(String nextLine, boolean multi) throws IOException {
-        String[] elements;
-
         if (!multi && pending != null) {
             pending = null;
         }
 
         if (nextLine == null) {
             if (pending != null) {
-                String s = pending;
+                String s = pending.toString();
                 pending = null;
                 return new String[]{s};
             }
             return null;
         }
 
-        String lineToProcess = multi && pending != null ? pending + nextLine : nextLine;
-        pending = null;
-
-        if (!StringUtils.contains(lineToProcess, quotechar)) {
-            elements = handleEmptySeparators(tokenizeStringIntoArray(lineToProcess));
-        } else {
-            elements = handleEmptySeparators(splitWhileNotInQuotes(lineToProcess, multi));
-            for (int i = 0; i < elements.length; i++) {
-                if (StringUtils.contains(elements[i], quotechar)) {
-                    elements[i] = handleQuotes(elements[i]);
-                }
+        if (nextLine.indexOf(quotechar) == -1) {
+            if (pending == null) {
+                return unquotedSplitter.split(nextLine);
             }
+            // without a quote the line cannot end the pending field
+            pending.append(nextLine).append('\n');
+            return ArrayUtils.EMPTY_STRING_ARRAY;
         }
-        return elements;
+        return tokenize(nextLine, multi);
     }
 
-    private String[] tokenizeStringIntoArray(String nextLine) {
-        return nextLine.split(separatorAsString, -1);
-    }
-
-    private String[] handleEmptySeparators(String[] strings) {
-        if (nullFieldIndicator == CSVReaderNullFieldIndicator.EMPTY_SEPARATORS || nullFieldIndicator == CSVReaderNullFieldIndicator.BOTH) {
-            for (int i = 0; i < strings.length; i++) {
-                if (strings[i].isEmpty()) {
-                    strings[i] = null;
-                }
+    /**
+     * Splits a line holding quotes into its fields in a single pass.  Each
+     * value is taken from the line as it is found, and only values with
+     * doubled quotes are copied.
+     * <p>
+     * A field starting with a quote ends at the first separator that follows
+     * an odd number of quotes after the opening one.  A field not starting
+     * with a quote ends at the next separator.  If the line ends in a field
+     * starting with a quote but not ending with one, the field continues on
+     * the next line when parsing multiple lines.</p>
+     *
+     * @param line  The line, holding at least one quote
+     * @param multi Does it take multiple lines to form a single record?
+     * @return The fields of the line, except a field continuing on the next line
+     */
+    private String[] tokenize(String line, boolean multi) {
+        final int length = line.length();
+        String[] tokens = new String[expectedTokens];
+        int tokenCount = 0;
+        int pos = 0;
+
+        if (pending != null) {
+            // the field started on a previous line goes on with this one
+            int end = findEndOfQuotedField(line, 0, pendingQuotesOdd);
+            if (end == length && line.charAt(length - 1) != quotechar) {
+                pending.append(line).append('\n');
+                return ArrayUtils.EMPTY_STRING_ARRAY;
             }
+            tokens[tokenCount++] = continuedField(line, end);
+            pending = null;
+            pos = end + 1;
         }
-        return strings;
-    }
 
-    private String[] splitWhileNotInQuotes(String nextLine, boolean multi) {
-        int currentPosition = 0;
-        List<String> elements = new ArrayList<String>();
-        int nextSeparator;
-        int nextQuote;
-
-
-        while (currentPosition < nextLine.length()) {
-            nextSeparator = nextLine.indexOf(separator, currentPosition);
-            nextQuote = nextLine.indexOf(quotechar, currentPosition);
-
-            if (nextSeparator == -1) {
-                elements.add(nextLine.substring(currentPosition));
-                currentPosition = nextLine.length();
-            } else if (nextQuote == -1 || nextQuote > nextSeparator || nextQuote != currentPosition) {
-                elements.add(nextLine.substring(currentPosition, nextSeparator));
-                currentPosition = nextSeparator + 1;
+        while (pos < length) {
+            int end;
+            if (line.charAt(pos) == quotechar) {
+                end = findEndOfQuotedField(line, pos + 1, false);
+                if (end == length && multi && end - pos > 1 && line.charAt(length - 1) != quotechar) {
+                    // the last field goes on on the next line
+                    pending = new StringBuilder(length - pos + READ_BUFFER_SIZE)
+                            .append(line, pos, length).append('\n');
+                    break;
+                }
             } else {
-                int fieldEnd = findEndOfFieldFromPosition(nextLine, currentPosition);
-
-                elements.add(fieldEnd >= nextLine.length() ? nextLine.substring(currentPosition) : nextLine.substring(currentPosition, fieldEnd));
-
-                currentPosition = fieldEnd + 1;
+                end = line.indexOf(separator, pos);
+                if (end == -1) {
+                    end = length;
+                }
             }
-
+            if (tokenCount == tokens.length) {
+                tokens = Arrays.copyOf(tokens, tokenCount * 2);
+            }
+            tokens[tokenCount++] = field(line, pos, end);
+            pos = end + 1;
         }
 
-        if (multi && lastElementStartedWithQuoteButDidNotEndInOne(elements)) {
-            pending = elements.get(elements.size() - 1) + "\n";
-            elements.remove(elements.size() - 1);
-        } else if (nextLine.lastIndexOf(separator) == nextLine.length() - 1) {
-            elements.add("");
+        if (pending == null && line.charAt(length - 1) == separator) {
+            if (tokenCount == tokens.length) {
+                tokens = Arrays.copyOf(tokens, tokenCount + 1);
+            }
+            tokens[tokenCount++] = emptyField();
+        }
+        if (tokenCount > 0) {
+            expectedTokens = tokenCount;
         }
-        return elements.toArray(new String[elements.size()]);
+        return tokenCount == tokens.length ? tokens : Arrays.copyOf(tokens, tokenCount);
     }
 
-    private boolean lastElementStartedWithQuoteButDidNotEndInOne(List<String> elements) {
-        String lastElement = elements.get(elements.size() - 1);
-        return lastElement.startsWith(Character.toString(quotechar)) && !lastElement.endsWith(Character.toString(quotechar));
+    /**
+     * Finds the end of a field starting with a quote.  If the field runs on
+     * to the end of the line, {@link #pendingQuotesOdd} is set to tell
+     * whether it has an odd number of quotes after the opening one, so that
+     * it can go on with the next line.
+     *
+     * @param line       The line
+     * @param from       The index after the opening quote, or where the
+     *                   field goes on from on this line
+     * @param quotesOdd  True if an odd number of quotes has been counted
+     *                   after the opening quote so far
+     * @return The index of the separator ending the field, or the length of
+     * the line.
+     */
+    private int findEndOfQuotedField(String line, int from, boolean quotesOdd) {
+        final int length = line.length();
+        int quote = line.indexOf(quotechar, from);
+        while (quote != -1) {
+            quotesOdd = !quotesOdd;
+            if (quotesOdd && quote + 1 < length && line.charAt(quote + 1) == separator) {
+                return quote + 1;
+            }
+            quote = line.indexOf(quotechar, quote + 1);
+        }
+        pendingQuotesOdd = quotesOdd;
+        return length;
     }
 
-    private int findEndOfFieldFromPosition(String nextLine, int currentPosition) {
-        int nextQuote = nextLine.indexOf(quotechar, currentPosition + 1);
-
-        boolean inQuote = false;
-        while (haveNotFoundLastQuote(nextLine, nextQuote)) {
-            if (!inQuote && nextLine.charAt(nextQuote + 1) == separator) {
-                return nextQuote + 1;
+    /**
+     * Takes the value of a field from the line.  A field starting with a
+     * quote loses that quote and a quote it ends with, and doubled quotes
+     * are replaced by single ones.
+     *
+     * @param line  The line
+     * @param start The start of the field
+     * @param end   The end of the field
+     * @return The value of the field
+     */
+    private String field(String line, int start, int end) {
+        if (start == end) {
+            return emptyField();
+        }
+        int from = start;
+        int to = end;
+        boolean quoted = line.charAt(start) == quotechar;
+        if (quoted) {
+            from++;
+            if (to > from && line.charAt(to - 1) == quotechar) {
+                to--;
             }
-
-            do {
-                nextQuote = nextLine.indexOf(quotechar, nextQuote + 1);
-                inQuote = !inQuote;
-            } while (haveNotFoundLastQuote(nextLine, nextQuote) && nextLine.charAt(nextQuote + 1) == quotechar);
         }
-
-        return nextLine.length();
+        int quote = line.indexOf(quotechar, from);
+        if (quote == -1 || quote >= to) {
+            if (!quoted) {
+                return line.substring(start, end);
+            }
+            return from == to && emptyQuotesAsNull() ? null : line.substring(from, to);
+        }
+        StringBuilder sb = new StringBuilder(to - from);
+        appendUnquoted(sb, line, from, to);
+        return sb.toString();
     }
 
-    private boolean haveNotFoundLastQuote(String nextLine, int nextQuote) {
-        return nextQuote != -1 && nextQuote < nextLine.length() - 1;
+    /**
+     * Takes the value of the pending field, which ends on this line.
+     *
+     * @param line The line
+     * @param end  The end of the field on this line
+     * @return The value of the field
+     */
+    private String continuedField(String line, int end) {
+        int to = end > 0 && line.charAt(end - 1) == quotechar ? end - 1 : end;
+        StringBuilder sb = new StringBuilder(pending.length() + to);
+        // the pending part ends with a newline, so no doubled quote spans both parts
+        appendUnquoted(sb, pending, 1, pending.length());
+        appendUnquoted(sb, line, 0, to);
+        return sb.toString();
     }
 
-    private String handleQuotes(String element) {
-        String ret = element;
-        String quoteCharString = Character.toString(getQuotechar());
-        if (StringUtils.startsWith(ret, quoteCharString)) {
-            ret = StringUtils.removeStart(ret, quoteCharString);
-
-            if (StringUtils.endsWith(ret, quoteCharString)) {
-                ret = StringUtils.removeEnd(ret, quoteCharString);
+    /**
+     * Appends characters, replacing doubled quotes by single ones.
+     *
+     * @param sb   The builder to append to
+     * @param s    The characters
+     * @param from The index of the first character
+     * @param to   The index after the last character
+     */
+    private void appendUnquoted(StringBuilder sb, CharSequence s, int from, int to) {
+        int runStart = from;
+        for (int i = from; i < to; i++) {
+            if (s.charAt(i) == quotechar && i + 1 < to && s.charAt(i + 1) == quotechar) {
+                sb.append(s, runStart, i + 1);
+                i++;
+                runStart = i + 1;
             }
         }
-        ret = StringUtils.replace(ret, quoteCharString + quoteCharString, quoteCharString);
-        if (ret.isEmpty() && (nullFieldIndicator == CSVReaderNullFieldIndicator.BOTH || nullFieldIndicator == CSVReaderNullFieldIndicator.EMPTY_QUOTES)) {
-            ret = null;
-        }
-        return ret;
+        sb.append(s, runStart, to);
+    }
+
+    private String emptyField() {
+        return nullFieldIndicator == CSVReaderNullFieldIndicator.EMPTY_SEPARATORS
+                || nullFieldIndicator == CSVReaderNullFieldIndicator.BOTH ? null : "";
+    }
+
+    private boolean emptyQuotesAsNull() {
+        return nullFieldIndicator == CSVReaderNullFieldIndicator.BOTH
+                || nullFieldIndicator == CSVReaderNullFieldIndicator.EMPTY_QUOTES;
     }
 
     @Override
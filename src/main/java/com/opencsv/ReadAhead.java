@@ -0,0 +1,207 @@
+package com.opencsv;
+
+import com.opencsv.exceptions.CsvRunawayQuoteException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads the records of a {@link CSVReader} in a background thread, see
+ * {@link CSVReaderBuilder#withReadAhead(int, int)}.
+ * <p>
+ * The thread reads and parses records into batches and puts them into a
+ * bounded queue, from which {@link #next()} takes them one by one.  It is
+ * started by the first call to {@link #next()}, and blocks once the queue is
+ * full until the caller has taken a batch.  If reading fails the records read
+ * before are handed out first, then the exception is thrown.  After a
+ * {@link CsvRunawayQuoteException} the thread goes on reading, just like the
+ * reader does without read ahead, any other failure ends the input.</p>
+ *
+ * @since 3.10
+ */
+final class ReadAhead {
+
+    /**
+     * How long closing the reader waits for the thread to stop, in
+     * milliseconds.
+     */
+    private static final long STOP_TIMEOUT = 1000;
+
+    private final CSVReader reader;
+    private final int batchSize;
+    private final BlockingQueue<Batch> queue;
+    private Thread thread;
+    private volatile boolean stopped;
+
+    private Batch current;
+    private int position;
+    private long linesRead;
+    private long recordsRead;
+
+    /**
+     * Constructs the read ahead for a reader.
+     *
+     * @param reader    The reader the records are read from
+     * @param batches   The number of batches read ahead
+     * @param batchSize The number of records in a batch
+     */
+    ReadAhead(CSVReader reader, int batches, int batchSize) {
+        this.reader = reader;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<Batch>(batches);
+    }
+
+    /**
+     * Takes the next record read by the background thread.
+     *
+     * @return The next record or null if there is no more input.
+     * @throws IOException If reading the record failed
+     */
+    String[] next() throws IOException {
+        if (thread == null) {
+            start();
+        }
+        while (current == null || position == current.size) {
+            if (current != null && current.failure != null && !current.last) {
+                // the thread went on reading, so the failure is only thrown once
+                Throwable failure = current.failure;
+                current.failure = null;
+                linesRead = current.linesAtEnd;
+                Batch.rethrow(failure);
+            }
+            if (current != null && current.last) {
+                linesRead = current.linesAtEnd;
+                Batch.rethrow(current.failure);
+                return null;
+            }
+            try {
+                current = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(e.getMessage());
+            }
+            position = 0;
+        }
+        linesRead = current.lines[position];
+        recordsRead++;
+        return current.records[position++];
+    }
+
+    private void start() {
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                readBatches();
+            }
+        }, "opencsv read ahead");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void readBatches() {
+        boolean last = false;
+        while (!last && !stopped) {
+            Batch batch = new Batch(batchSize);
+            try {
+                String[] record;
+                while (batch.size < batchSize && !stopped && (record = reader.readNextDirectly()) != null) {
+                    batch.add(record, reader.linesRead);
+                }
+                last = batch.size < batchSize;
+            } catch (CsvRunawayQuoteException e) {
+                // the reader has resynchronized and goes on after the record
+                batch.failure = e;
+            } catch (Throwable t) {
+                batch.failure = t;
+                last = true;
+            }
+            batch.last = last;
+            batch.linesAtEnd = reader.linesRead;
+            if (stopped) {
+                return;
+            }
+            try {
+                queue.put(batch);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stops the background thread and waits for it to end, so that the
+     * reader can be closed without the thread still reading from it.  A
+     * thread blocked in reading the input for longer than
+     * {@link #STOP_TIMEOUT} is left to fail once the input is closed.
+     */
+    void stop() {
+        stopped = true;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(STOP_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * @return The number of lines read up to the last record taken, or up
+     * to the end of the input once it has been reached.
+     */
+    long getLinesRead() {
+        return linesRead;
+    }
+
+    /**
+     * @return The number of records taken.
+     */
+    long getRecordsRead() {
+        return recordsRead;
+    }
+
+    /**
+     * Records read together, possibly followed by the failure that ended the
+     * batch, and the reading unless the reader can go on after it.
+     */
+    private static final class Batch {
+        final String[][] records;
+        final long[] lines;
+        int size;
+        boolean last;
+        /**
+         * The number of lines read when the batch was complete, which for the
+         * last batch includes lines after its last record.
+         */
+        long linesAtEnd;
+        Throwable failure;
+
+        Batch(int capacity) {
+            records = new String[capacity][];
+            lines = new long[capacity];
+        }
+
+        void add(String[] record, long linesRead) {
+            records[size] = record;
+            lines[size++] = linesRead;
+        }
+
+        static void rethrow(Throwable failure) throws IOException {
+            if (failure instanceof IOException) {
+                throw (IOException) failure;
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            if (failure != null) {
+                throw new IOException(failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.opencsv;
+
+import com.opencsv.exceptions.CsvLimitExceededException;
+import com.opencsv.exceptions.CsvRunawayQuoteException;
+
+/**
+ * The limits a {@link CSVReader} puts on the records it reads, so that
+ * broken input cannot make it use unbounded memory.
+ * <p>
+ * Lengths and sizes count characters, or bytes for readers finding records
+ * in bytes.</p>
+ *
+ * @since 3.10
+ */
+final class RecordLimits {
+
+    private final int maxFieldLength;
+    private final int maxColumns;
+    private final int maxRecordSize;
+    private final int maxQuotedLines;
+    private final int maxQuotedSize;
+
+    /**
+     * Constructs the limits.  A limit that is not positive means no limit.
+     *
+     * @param maxFieldLength The maximum length of a field
+     * @param maxColumns     The maximum number of columns of a record
+     * @param maxRecordSize  The maximum size of a record, including line terminators
+     * @param maxQuotedLines The maximum number of lines of a record a quote keeps open
+     * @param maxQuotedSize  The maximum size of a record a quote keeps open
+     */
+    RecordLimits(int maxFieldLength, int maxColumns, int maxRecordSize, int maxQuotedLines, int maxQuotedSize) {
+        this.maxFieldLength = maxFieldLength > 0 ? maxFieldLength : Integer.MAX_VALUE;
+        this.maxColumns = maxColumns > 0 ? maxColumns : Integer.MAX_VALUE;
+        this.maxRecordSize = maxRecordSize > 0 ? maxRecordSize : Integer.MAX_VALUE;
+        this.maxQuotedLines = maxQuotedLines > 0 ? maxQuotedLines : Integer.MAX_VALUE;
+        this.maxQuotedSize = maxQuotedSize > 0 ? maxQuotedSize : Integer.MAX_VALUE;
+    }
+
+    /**
+     * @return True if records running on over several lines are checked for
+     * runaway quotes.
+     */
+    boolean detectsRunawayQuotes() {
+        return maxQuotedLines != Integer.MAX_VALUE || maxQuotedSize != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Checks the length of a field, or of the part of it read so far.
+     *
+     * @param length The length of the field
+     * @param line   The line the record starts on
+     * @throws CsvLimitExceededException If the field is too long
+     */
+    void checkFieldLength(long length, long line) throws CsvLimitExceededException {
+        if (length > maxFieldLength) {
+            throw new CsvLimitExceededException("The record starting on line " + line
+                    + " has a field longer than " + maxFieldLength + ".", line);
+        }
+    }
+
+    /**
+     * Checks the number of columns of a record, or of the part of it read
+     * so far.
+     *
+     * @param columns The number of columns
+     * @param line    The line the record starts on
+     * @throws CsvLimitExceededException If the record has too many columns
+     */
+    void checkColumns(int columns, long line) throws CsvLimitExceededException {
+        if (columns > maxColumns) {
+            throw new CsvLimitExceededException("The record starting on line " + line
+                    + " has more than " + maxColumns + " columns.", line);
+        }
+    }
+
+    /**
+     * Checks the size of a record, or of the part of it read so far.
+     *
+     * @param size The size of the record
+     * @param line The line the record starts on
+     * @throws CsvLimitExceededException If the record is too large
+     */
+    void checkRecordSize(long size, long line) throws CsvLimitExceededException {
+        if (size > maxRecordSize) {
+            throw new CsvLimitExceededException("The record starting on line " + line
+                    + " is larger than " + maxRecordSize + ".", line);
+        }
+    }
+
+    /**
+     * Checks a record that a quote keeps open beyond its first line, or the
+     * part of it read so far.
+     *
+     * @param lines The number of lines of the record
+     * @param size  The size of the record
+     * @param line  The line the record starts on
+     * @throws CsvRunawayQuoteException If the quote has most likely run away
+     */
+    void checkQuotedRecord(long lines, long size, long line) throws CsvRunawayQuoteException {
+        if (lines > maxQuotedLines || size > maxQuotedSize) {
+            throw new CsvRunawayQuoteException("The record starting on line " + line
+                    + " has a quote that is still open after " + (lines > maxQuotedLines
+                    ? maxQuotedLines + " lines" : maxQuotedSize + " characters")
+                    + ", reading goes on at line " + (line + 1) + ".", line);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.opencsv;
+
+import java.io.IOException;
+
+/**
+ * Reads records for a {@link CSVReader} that is asked to bypass the
+ * {@link com.opencsv.stream.reader.LineReader}.
+ * <p>
+ * Instead of reading one String per physical line and handing it to an
+ * {@link ICSVParser} a tokenizer finds the records and their fields directly
+ * in the input and hands the fields to a {@link FieldSink}.</p>
+ * <p>
+ * Line handling matches the line based reading: without keepCR a line is
+ * terminated by LF, CR or CRLF, with keepCR only LF terminates a line and
+ * an empty line ends the input.</p>
+ *
+ * @see CharRecordTokenizer
+ * @see ByteRecordTokenizer
+ * @since 3.10
+ */
+interface RecordTokenizer {
+
+    /**
+     * The default size of the input window.
+     */
+    int DEFAULT_BUFFER_SIZE = 16384;
+
+    /**
+     * Reads the next record and hands its fields to the sink.
+     *
+     * @param sink Receives the fields of the record.
+     * @return True if a record was read, false if the input is exhausted.
+     * @throws IOException If bad things happen during the read
+     */
+    boolean readRecord(FieldSink sink) throws IOException;
+
+    /**
+     * @return The number of physical lines read so far, including skipped lines.
+     */
+    long getLinesRead();
+
+    /**
+     * Skips the given number of physical lines without looking at quotes.
+     * Every skipped line is counted as read, but if the reader is verified
+     * nothing is skipped when the input is already exhausted.
+     *
+     * @param lines The number of lines to skip
+     * @throws IOException If bad things happen during the read
+     */
+    void skipLines(int lines) throws IOException;
+
+    /**
+     * @return The position in the input after the last record read, counted
+     * in the units the tokenizer reads: characters or bytes.
+     */
+    long getPosition();
+
+    /**
+     * @return True if the last record read ended with a carriage return, so
+     * a line feed following it still belongs to that record.
+     */
+    boolean isAfterCarriageReturn();
+
+    /**
+     * @return True if the tokenizer has reached the end of the input.  Kept
+     * carriage returns make an empty line end the input, just like for the
+     * line based reading, so there may be input left after this point.
+     */
+    boolean isEndOfInput();
+
+    /**
+     * @return True if the input ended inside a quoted section.  The line
+     * based reading drops such a section from the last record, and so does
+     * the tokenizer.
+     */
+    boolean isQuoteOpenAtEnd();
+
+    /**
+     * Sets the limits the records read are checked against.
+     *
+     * @param limits The limits, or null to read records of any size
+     */
+    void setLimits(RecordLimits limits);
+
+    /**
+     * Continues reading where a tokenizer reading the same input stopped.
+     * The input up to the position is skipped without being tokenized.  This
+     * must be called before anything is read.
+     *
+     * @param position            The position to resume from, see {@link #getPosition()}
+     * @param linesRead           The number of lines read up to the position
+     * @param afterCarriageReturn True if the input before the position ended
+     *                            with a carriage return, see
+     *                            {@link #isAfterCarriageReturn()}
+     * @param endOfInput          True if the tokenizer had reached the end of
+     *                            the input, see {@link #isEndOfInput()}
+     * @throws IOException If the input cannot be skipped up to the position
+     */
+    void resume(long position, long linesRead, boolean afterCarriageReturn, boolean endOfInput) throws IOException;
+
+    /**
+     * Receives the fields found by a tokenizer.
+     */
+    interface FieldSink {
+
+        /**
+         * Called before the first field of a record.
+         */
+        void startRecord();
+
+        /**
+         * Called before each field of the record.  Fields the sink does not
+         * want are not handed to it, which lets the tokenizer skip building
+         * their values.
+         *
+         * @param index The index of the field in the record, counting from zero
+         * @return True if {@link #field(char[], int, int, boolean)} should be
+         * called for the field.
+         */
+        boolean wantsField(int index);
+
+        /**
+         * Called for each field of the record.  The characters are only valid
+         * for the duration of the call.
+         *
+         * @param chars  The characters of the field or null for a null field
+         * @param offset The offset of the field in chars
+         * @param length The length of the field
+         * @param quoted True if the field was enclosed in quotes
+         */
+        void field(char[] chars, int offset, int length, boolean quoted);
+
+        /**
+         * Called after the last field of a record.
+         */
+        void endRecord();
+    }
+}
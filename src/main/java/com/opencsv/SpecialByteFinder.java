@@ -0,0 +1,112 @@
+package com.opencsv;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Finds the next of a small set of special bytes, eight bytes at a time.
+ * <p>
+ * Most of the input of a CSV file is ordinary data between the separators,
+ * quotes and line terminators.  Instead of comparing every byte against every
+ * special byte, eight bytes are read as one long and compared against all of
+ * them at once with the usual word tricks: XORing the word with a special
+ * byte repeated eight times turns every matching byte into zero, and
+ * <code>(x - 0x0101...) &amp; ~x &amp; 0x8080...</code> sets the high bit of
+ * the lowest zero byte.  Higher bits may be set falsely, but only above a
+ * real match, so the lowest bit set always marks the first special byte.</p>
+ * <p>
+ * The bytes are read through a little endian {@link ByteBuffer} wrapping the
+ * byte array, which lets the runtime read a whole word at once.  Finders keep
+ * no state and may be shared between threads.</p>
+ *
+ * @since 3.10
+ */
+final class SpecialByteFinder {
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+
+    private final byte[] special;
+    private final long p0;
+    private final long p1;
+    private final long p2;
+    private final long p3;
+    private final long p4;
+
+    /**
+     * Constructs a finder for the given bytes.
+     *
+     * @param special Between one and five special bytes
+     * @throws IllegalArgumentException If there are no or too many special bytes
+     */
+    SpecialByteFinder(byte... special) {
+        if (special.length == 0 || special.length > 5) {
+            throw new IllegalArgumentException("Between one and five special bytes can be found at once.");
+        }
+        this.special = special.clone();
+        long[] p = new long[5];
+        for (int i = 0; i < p.length; i++) {
+            // unused patterns repeat the first one
+            p[i] = (special[i < special.length ? i : 0] & 0xFFL) * ONES;
+        }
+        p0 = p[0];
+        p1 = p[1];
+        p2 = p[2];
+        p3 = p[3];
+        p4 = p[4];
+    }
+
+    /**
+     * Wraps a byte array for reading words.
+     *
+     * @param b The bytes
+     * @return A little endian buffer over the whole array.
+     */
+    static ByteBuffer words(byte[] b) {
+        return ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Finds the first special byte in a range.
+     *
+     * @param words The bytes, as returned by {@link #words(byte[])}
+     * @param from  The index of the first byte to look at
+     * @param to    The index after the last byte to look at
+     * @return The index of the first special byte, or <code>to</code> if there
+     * is none in the range.
+     */
+    int find(ByteBuffer words, int from, int to) {
+        int i = from;
+        for (int last = to - 8; i <= last; i += 8) {
+            long match = match(words.getLong(i));
+            if (match != 0) {
+                return i + (Long.numberOfTrailingZeros(match) >>> 3);
+            }
+        }
+        for (; i < to; i++) {
+            if (isSpecial(words.get(i))) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    private long match(long word) {
+        long x0 = word ^ p0;
+        long x1 = word ^ p1;
+        long x2 = word ^ p2;
+        long x3 = word ^ p3;
+        long x4 = word ^ p4;
+        return ((x0 - ONES) & ~x0 | (x1 - ONES) & ~x1 | (x2 - ONES) & ~x2
+                | (x3 - ONES) & ~x3 | (x4 - ONES) & ~x4) & HIGHS;
+    }
+
+    private boolean isSpecial(byte b) {
+        for (byte s : special) {
+            if (b == s) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+package com.opencsv;
+
+import java.util.Arrays;
+
+/**
+ * The fields a {@link CSVReader} streams to a {@link CsvFieldStreamHandler}
+ * instead of returning their values: those of certain columns and those
+ * longer than a threshold.
+ *
+ * @since 3.10
+ */
+final class StreamedFields {
+
+    private final int threshold;
+    private final int[] columns;
+
+    /**
+     * Constructs the fields to stream.
+     *
+     * @param threshold The length beyond which a field is streamed, or 0 to
+     *                  stream only the given columns
+     * @param columns   The columns that are always streamed, counting from zero
+     */
+    StreamedFields(int threshold, int[] columns) {
+        this.threshold = threshold > 0 ? threshold : Integer.MAX_VALUE;
+        this.columns = columns.clone();
+        Arrays.sort(this.columns);
+    }
+
+    /**
+     * @param column The column of a field
+     * @return True if the fields of the column are always streamed.
+     */
+    boolean isStreamed(int column) {
+        return Arrays.binarySearch(columns, column) >= 0;
+    }
+
+    /**
+     * @param length The length of a field, or of the part of it read so far
+     * @return True if the field is too long to be kept in memory.
+     */
+    boolean exceedsThreshold(long length) {
+        return length > threshold;
+    }
+}
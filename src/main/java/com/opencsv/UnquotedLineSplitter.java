@@ -0,0 +1,71 @@
+package com.opencsv;
+
+import java.util.Arrays;
+
+/**
+ * Splits lines of dialects without quotes, like tab separated values or
+ * pipe delimited database dumps, at their separators.
+ * <p>
+ * Without quotes and escapes the only thing to find in a line is the
+ * separator, so the line is scanned with {@link String#indexOf(int, int)}
+ * and each field is taken from it with a single substring.  There is no
+ * regular expression, no StringBuilder and no state kept per character.
+ * The parsers hand a line to the splitter when they know there is nothing
+ * else special in it.</p>
+ *
+ * @since 3.10
+ */
+final class UnquotedLineSplitter {
+
+    private final char separator;
+    private final boolean emptyAsNull;
+    /**
+     * The number of fields of the last line split, used to size the array
+     * for the next one.
+     */
+    private int expectedTokens = 1;
+
+    /**
+     * Constructs a splitter.
+     *
+     * @param separator   The delimiter separating the fields
+     * @param emptyAsNull True if empty fields are returned as null
+     */
+    UnquotedLineSplitter(char separator, boolean emptyAsNull) {
+        this.separator = separator;
+        this.emptyAsNull = emptyAsNull;
+    }
+
+    /**
+     * Splits a line.
+     *
+     * @param line The line, which holds no special characters but the separator
+     * @return The fields of the line
+     */
+    String[] split(String line) {
+        String[] tokens = new String[expectedTokens];
+        int count = 0;
+        int start = 0;
+        int end;
+        while ((end = line.indexOf(separator, start)) >= 0) {
+            if (count == tokens.length) {
+                tokens = Arrays.copyOf(tokens, count * 2);
+            }
+            tokens[count++] = field(line, start, end);
+            start = end + 1;
+        }
+        if (count == tokens.length) {
+            tokens = Arrays.copyOf(tokens, count + 1);
+        }
+        tokens[count++] = field(line, start, line.length());
+        expectedTokens = count;
+        return count == tokens.length ? tokens : Arrays.copyOf(tokens, count);
+    }
+
+    private String field(String line, int start, int end) {
+        if (start == end) {
+            return emptyAsNull ? null : "";
+        }
+        return line.substring(start, end);
+    }
+}
@@ -0,0 +1,226 @@
+package com.opencsv;
+
+import java.util.Arrays;
+
+/**
+ * Hands out one canonical String for values repeated in a column, see
+ * {@link CSVReaderBuilder#withValuePool(int)}.
+ * <p>
+ * Every column gets a small hash table of the values seen last.  A value is
+ * looked up from the characters it was found in, so no String is created for
+ * values already in the table.  The tables are bounded: a new value evicts an
+ * old one once a table is full.  A column whose values are hardly ever found
+ * again, like an id or a free text column, is no longer pooled after a while,
+ * so it costs neither lookups nor memory.</p>
+ *
+ * @since 3.10
+ */
+final class ValuePool {
+
+    /**
+     * Longer values are not pooled.
+     */
+    static final int MAX_VALUE_LENGTH = 64;
+
+    /**
+     * The number of lookups after which a column is checked for being worth
+     * pooling.
+     */
+    private static final int SAMPLE_SIZE = 1024;
+
+    /**
+     * The number of slots looked at for a value.
+     */
+    private static final int PROBES = 4;
+
+    private static final int MAX_SLOTS = 1 << 20;
+
+    private static final Column DISABLED = new Column(0);
+
+    private final int slots;
+    private Column[] columns = new Column[16];
+
+    /**
+     * Constructs a pool.
+     *
+     * @param valuesPerColumn The number of distinct values kept per column
+     */
+    ValuePool(int valuesPerColumn) {
+        if (valuesPerColumn <= 0) {
+            throw new IllegalArgumentException("The number of values per column must be positive.");
+        }
+        int size = 4;
+        while (size < 2L * valuesPerColumn && size < MAX_SLOTS) {
+            size <<= 1;
+        }
+        this.slots = size;
+    }
+
+    /**
+     * Returns the value of a column as a String.
+     *
+     * @param column The index of the column
+     * @param chars  The characters of the value
+     * @param offset The offset of the value in chars
+     * @param length The length of the value
+     * @return The canonical String for the value, or a new String if the
+     * value is not pooled.
+     */
+    String get(int column, char[] chars, int offset, int length) {
+        Column c = column(column);
+        if (c == DISABLED || length > MAX_VALUE_LENGTH) {
+            return new String(chars, offset, length);
+        }
+        int hash = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int mask = c.values.length - 1;
+        int index = spread(hash) & mask;
+        for (int probe = 0; probe < PROBES; probe++) {
+            String value = c.values[(index + probe) & mask];
+            if (value == null) {
+                break;
+            }
+            if (c.hashes[(index + probe) & mask] == hash && regionEquals(value, chars, offset, length)) {
+                c.hit(this, column);
+                return value;
+            }
+        }
+        String value = new String(chars, offset, length);
+        c.put(value, hash, index, mask);
+        c.miss(this, column);
+        return value;
+    }
+
+    /**
+     * Returns the canonical instance of a value of a column.
+     *
+     * @param column The index of the column
+     * @param value  The value, may be null
+     * @return The canonical String for the value, or the value itself if it
+     * is not pooled.
+     */
+    String get(int column, String value) {
+        if (value == null || value.length() > MAX_VALUE_LENGTH) {
+            return value;
+        }
+        Column c = column(column);
+        if (c == DISABLED) {
+            return value;
+        }
+        int hash = value.hashCode();
+        int mask = c.values.length - 1;
+        int index = spread(hash) & mask;
+        for (int probe = 0; probe < PROBES; probe++) {
+            String pooled = c.values[(index + probe) & mask];
+            if (pooled == null) {
+                break;
+            }
+            if (c.hashes[(index + probe) & mask] == hash && pooled.equals(value)) {
+                c.hit(this, column);
+                return pooled;
+            }
+        }
+        c.put(value, hash, index, mask);
+        c.miss(this, column);
+        return value;
+    }
+
+    /**
+     * Replaces the values of a record by their canonical instances.
+     *
+     * @param record The record, may be null
+     * @return The record passed in.
+     */
+    String[] pool(String[] record) {
+        if (record != null) {
+            for (int i = 0; i < record.length; i++) {
+                record[i] = get(i, record[i]);
+            }
+        }
+        return record;
+    }
+
+    private Column column(int column) {
+        if (column >= columns.length) {
+            columns = Arrays.copyOf(columns, Math.max(column + 1, columns.length * 2));
+        }
+        Column c = columns[column];
+        if (c == null) {
+            c = new Column(slots);
+            columns[column] = c;
+        }
+        return c;
+    }
+
+    private void disable(int column) {
+        columns[column] = DISABLED;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean regionEquals(String value, char[] chars, int offset, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The values of one column.
+     */
+    private static final class Column {
+        private final String[] values;
+        private final int[] hashes;
+        private int lookups;
+        private int misses;
+
+        Column(int slots) {
+            values = new String[slots];
+            hashes = new int[slots];
+        }
+
+        void put(String value, int hash, int index, int mask) {
+            // take the first free slot, or evict the value in the home slot
+            int slot = index;
+            for (int probe = 0; probe < PROBES; probe++) {
+                if (values[(index + probe) & mask] == null) {
+                    slot = (index + probe) & mask;
+                    break;
+                }
+            }
+            values[slot] = value;
+            hashes[slot] = hash;
+        }
+
+        void hit(ValuePool pool, int column) {
+            if (++lookups == SAMPLE_SIZE) {
+                sample(pool, column);
+            }
+        }
+
+        void miss(ValuePool pool, int column) {
+            misses++;
+            if (++lookups == SAMPLE_SIZE) {
+                sample(pool, column);
+            }
+        }
+
+        private void sample(ValuePool pool, int column) {
+            // a column where most values are new is not worth pooling
+            if (misses > SAMPLE_SIZE / 2) {
+                pool.disable(column);
+            }
+            lookups = 0;
+            misses = 0;
+        }
+    }
+}
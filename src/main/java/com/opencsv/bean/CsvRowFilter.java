@@ -0,0 +1,52 @@
+package com.opencsv.bean;
+
+import com.opencsv.CsvRow;
+
+/**
+ * A filter for {@link CsvToBean} that looks at lazy rows instead of String
+ * arrays.
+ * <p>
+ * CsvToBean reads records with {@link com.opencsv.CSVReader#readNextRow()}
+ * when given such a filter, so only the fields the filter looks at are turned
+ * into Strings for records it rejects.  This pays off when most records are
+ * rejected based on a few columns.  Use {@link CsvRow#getChars(int)} to
+ * examine a field without creating a String for it at all.</p>
+ * <pre>
+ * {@code
+ * public class StateFilter extends CsvRowFilter {
+ *     public boolean allowRow(CsvRow row) {
+ *         return !StringUtils.equals(row.getChars(3), "production");
+ *     }
+ * }
+ * }
+ * </pre>
+ *
+ * @since 3.10
+ */
+public abstract class CsvRowFilter implements CsvToBeanFilter {
+
+   /**
+    * Determines if a record from the CSV file will be included in the
+    * output of {@link CsvToBean}.
+    *
+    * @param row A record of data from the CSV file, only valid for the
+    *            duration of the call
+    * @return True if the record is to be included in the output. Otherwise,
+    * false.
+    */
+   public abstract boolean allowRow(CsvRow row);
+
+   /**
+    * Wraps the line into a row and hands it to {@link #allowRow(CsvRow)}.
+    * This is used where records are not read as rows, like in
+    * {@link IterableCSVToBean}.
+    *
+    * @param line A line of data from the CSV file
+    * @return True if the line is to be included in the output. Otherwise,
+    * false.
+    */
+   @Override
+   public boolean allowLine(String[] line) {
+      return allowRow(new CsvRow(line));
+   }
+}
@@ -17,16 +17,20 @@ package com.opencsv.bean;
  */
 
 import com.opencsv.CSVReader;
+import com.opencsv.CsvPublisher;
+import com.opencsv.CsvRow;
 import com.opencsv.exceptions.*;
 
 import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
 import java.beans.PropertyEditor;
+import java.io.IOException;
 import java.io.Reader;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Converts CSV data to objects.
@@ -204,7 +208,7 @@ public class CsvToBean<T> extends AbstractCSVToBean {
           throw new IllegalStateException("Both mapping strategy and CSVReader/Reader must be specified!");
       }
       
-      long lineProcessed = 0;
+      long[] lineProcessed = {0};
       String[] line = null;
 
       try {
@@ -215,13 +219,12 @@ public class CsvToBean<T> extends AbstractCSVToBean {
 
       try {
          List<T> list = new ArrayList<T>();
-         while (null != (line = csvReader.readNext())) {
-            lineProcessed++;
+         while ((line = readAcceptedLine(csvReader, filter, lineProcessed)) != null) {
             try {
-               processLine(mappingStrategy, filter, line, list);
+               list.add(processLine(mappingStrategy, line));
             } catch (CsvException e) {
                CsvException csve = (CsvException) e;
-               csve.setLineNumber(lineProcessed);
+               csve.setLineNumber(lineProcessed[0]);
                if (throwExceptions) {
                   throw csve;
                } else {
@@ -231,18 +234,94 @@ public class CsvToBean<T> extends AbstractCSVToBean {
          }
          return list;
       } catch (Exception e) {
-         throw new RuntimeException("Error parsing CSV line: " + lineProcessed + " values: " + Arrays.toString(line), e);
+         throw new RuntimeException("Error parsing CSV line: " + lineProcessed[0] + " values: " + Arrays.toString(line), e);
       }
    }
 
-   private void processLine(MappingStrategy<T> mapper, CsvToBeanFilter filter, String[] line, List<T> list)
-           throws IllegalAccessException, InvocationTargetException,
-           InstantiationException, IntrospectionException,
-           CsvBadConverterException, CsvDataTypeMismatchException,
-           CsvRequiredFieldEmptyException, CsvConstraintViolationException {
-      if (filter == null || filter.allowLine(line)) {
-         T obj = processLine(mapper, line);
-         list.add(obj);
+   /**
+    * Creates a publisher of the beans of the input, based on parameters
+    * already set through other methods.  A bean is only read and created once
+    * the subscriber has requested it, so the beans need not fit into memory
+    * together.  The header is captured when the first bean is requested.
+    * Problems with the data are sent to the subscriber, or captured and
+    * skipped if exceptions are not to be thrown.
+    *
+    * @param executor The executor to read and send the beans with, or null to
+    *                 do so in the thread requesting them
+    * @return A publisher for a single subscriber
+    * @throws IllegalStateException If either MappingStrategy or CSVReader is
+    *   not specified
+    * @since 3.10
+    */
+   public CsvPublisher<T> publisher(Executor executor) throws IllegalStateException {
+      if(mappingStrategy == null || csvReader == null) {
+          throw new IllegalStateException("Both mapping strategy and CSVReader/Reader must be specified!");
+      }
+      final MappingStrategy<T> mapper = mappingStrategy;
+      final CSVReader reader = csvReader;
+      final CsvToBeanFilter lineFilter = filter;
+      final boolean throwing = throwExceptions;
+      return new CsvPublisher<T>(executor) {
+         private boolean headerCaptured = false;
+         private final long[] lineProcessed = {0};
+
+         @Override
+         protected T next() throws Exception {
+            if (!headerCaptured) {
+               mapper.captureHeader(reader);
+               headerCaptured = true;
+            }
+            String[] line;
+            while ((line = readAcceptedLine(reader, lineFilter, lineProcessed)) != null) {
+               try {
+                  return processLine(mapper, line);
+               } catch (CsvException e) {
+                  e.setLineNumber(lineProcessed[0]);
+                  if (throwing) {
+                     throw e;
+                  }
+                  getCapturedExceptions().add(e);
+               }
+            }
+            return null;
+         }
+      };
+   }
+
+   /**
+    * Reads the next line of input the filter accepts.  A {@link CsvRowFilter}
+    * is given the rows, so only the rows it accepts are turned into Strings.
+    *
+    * @param reader        The reader to read the lines from
+    * @param filter        The filter to apply, or null to accept every line
+    * @param lineProcessed Counts the lines read, including the ones the filter
+    *                      rejects
+    * @return The next accepted line, or null at the end of the input
+    * @throws IOException If bad things happen during the read
+    */
+   private static String[] readAcceptedLine(CSVReader reader, CsvToBeanFilter filter, long[] lineProcessed)
+           throws IOException {
+      CsvRowFilter rowFilter = filter instanceof CsvRowFilter ? (CsvRowFilter) filter : null;
+      while (true) {
+         if (rowFilter != null) {
+            CsvRow row = reader.readNextRow();
+            if (row == null) {
+               return null;
+            }
+            lineProcessed[0]++;
+            if (rowFilter.allowRow(row)) {
+               return row.toArray();
+            }
+         } else {
+            String[] line = reader.readNext();
+            if (line == null) {
+               return null;
+            }
+            lineProcessed[0]++;
+            if (filter == null || filter.allowLine(line)) {
+               return line;
+            }
+         }
       }
    }
 
@@ -0,0 +1,42 @@
+package com.opencsv.exceptions;
+
+import java.io.IOException;
+
+/**
+ * Thrown by a {@link com.opencsv.CSVReader} when a record exceeds one of the
+ * limits set through the {@link com.opencsv.CSVReaderBuilder}: the length of
+ * a field, the number of columns or the size of a record.
+ * <p>
+ * The reader stops at the record, since data this far off from what was
+ * expected usually means the input is broken, for example by a quote that
+ * is never closed.  It is an IOException so that it passes through the
+ * reading methods of the reader.</p>
+ *
+ * @since 3.10
+ */
+public class CsvLimitExceededException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long lineNumber;
+
+    /**
+     * Constructor with a message and the line the record starts on.
+     *
+     * @param message    A human-readable error message
+     * @param lineNumber The number of the physical line the record starts on,
+     *                   counting from one and including skipped lines
+     */
+    public CsvLimitExceededException(String message, long lineNumber) {
+        super(message);
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * @return The number of the physical line the record exceeding the limit
+     * starts on, counting from one and including skipped lines.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+}
@@ -0,0 +1,31 @@
+package com.opencsv.exceptions;
+
+/**
+ * Thrown by a {@link com.opencsv.CSVReader} when a quoted field runs on for
+ * longer than the bounds set through
+ * {@link com.opencsv.CSVReaderBuilder#withRunawayQuoteDetection(int, int)},
+ * which most likely means a stray quote turned the lines that follow into
+ * a single field.
+ * <p>
+ * Unlike for the other limits, the reader can go on: the record the quote
+ * belongs to is dropped, and the next read starts over at the line after
+ * the one the record starts on, which is where the next record most likely
+ * begins.</p>
+ *
+ * @since 3.10
+ */
+public class CsvRunawayQuoteException extends CsvLimitExceededException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor with a message and the line the record starts on.
+     *
+     * @param message    A human-readable error message
+     * @param lineNumber The number of the physical line the record starts on,
+     *                   counting from one and including skipped lines
+     */
+    public CsvRunawayQuoteException(String message, long lineNumber) {
+        super(message, lineNumber);
+    }
+}
@@ -0,0 +1,180 @@
+package com.opencsv;
+
+import com.opencsv.exceptions.CsvRunawayQuoteException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+public class CSVBatchReaderTest {
+
+    private static String data(int records) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= records; i++) {
+            sb.append(i).append(",\"value\n").append(i).append("\"\n");
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void batchesCoverTheInputInOrder() throws IOException {
+        CSVBatchReader batches = new CSVReaderBuilder(new StringReader(data(7))).build().batches(3);
+        CSVBatchReader.Batch batch = batches.nextBatch();
+        assertEquals(0, batch.getIndex());
+        assertEquals(1, batch.getFirstRecord());
+        assertEquals(3, batch.getRecords().size());
+        assertArrayEquals(new String[]{"1", "value\n1"}, batch.getRecords().get(0));
+
+        batch = batches.nextBatch();
+        assertEquals(1, batch.getIndex());
+        assertEquals(4, batch.getFirstRecord());
+
+        batch = batches.nextBatch();
+        assertEquals(2, batch.getIndex());
+        assertEquals(7, batch.getFirstRecord());
+        assertEquals(1, batch.getRecords().size());
+        assertArrayEquals(new String[]{"7", "value\n7"}, batch.getRecords().get(0));
+
+        assertNull(batches.nextBatch());
+    }
+
+    @Test
+    public void severalThreadsShareTheRecords() throws Exception {
+        final int records = 10000;
+        final CSVBatchReader batches = new CSVReaderBuilder(new StringReader(data(records)))
+                .withRecordTokenizer(true).build().batches(64);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Long>> sums = new ArrayList<Future<Long>>();
+            for (int i = 0; i < 4; i++) {
+                sums.add(executor.submit(new Callable<Long>() {
+                    @Override
+                    public Long call() throws IOException {
+                        long sum = 0;
+                        CSVBatchReader.Batch batch;
+                        while ((batch = batches.nextBatch()) != null) {
+                            long number = batch.getFirstRecord();
+                            for (String[] record : batch.getRecords()) {
+                                assertEquals(number, Long.parseLong(record[0]));
+                                sum += number++;
+                            }
+                        }
+                        return sum;
+                    }
+                }));
+            }
+            long total = 0;
+            for (Future<Long> sum : sums) {
+                total += sum.get();
+            }
+            assertEquals((long) records * (records + 1) / 2, total);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void readErrorsAreNotHidden() throws IOException {
+        Reader failing = new StringReader(data(10)) {
+            private int reads;
+
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                if (++reads > 1) {
+                    throw new IOException("disk gone");
+                }
+                return super.read(cbuf, off, Math.min(len, 30));
+            }
+        };
+        CSVBatchReader batches = new CSVReaderBuilder(failing).withRecordTokenizer(true)
+                .withVerifyReader(false).build().batches(100);
+        try {
+            batches.nextBatch();
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertEquals("disk gone", e.getMessage());
+        }
+        try {
+            batches.nextBatch();
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertEquals("disk gone", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void recordsReadBeforeAFailureAreHandedOut() throws IOException {
+        Reader failing = new StringReader(data(10)) {
+            private int reads;
+
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                if (++reads > 1) {
+                    throw new IOException("disk gone");
+                }
+                return super.read(cbuf, off, Math.min(len, 30));
+            }
+
+            @Override
+            public boolean ready() {
+                // makes the buffered reader hand out the first read on its own
+                return false;
+            }
+        };
+        CSVBatchReader batches = new CSVReaderBuilder(failing).withRecordTokenizer(true)
+                .withVerifyReader(false).build().batches(100);
+        CSVBatchReader.Batch batch = batches.nextBatch();
+        assertEquals(2, batch.getRecords().size());
+        assertArrayEquals(new String[]{"2", "value\n2"}, batch.getRecords().get(1));
+        try {
+            batches.nextBatch();
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertEquals("disk gone", e.getMessage());
+        }
+        try {
+            batches.nextBatch();
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertEquals("disk gone", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void batchesGoOnAfterARunawayQuote() throws IOException {
+        String data = "1,a\n2,\"b\n3,c\n4,d\n5,e\n";
+        for (boolean tokenize : new boolean[]{true, false}) {
+            CSVBatchReader batches = new CSVReaderBuilder(new StringReader(data)).withRecordTokenizer(tokenize)
+                    .withRunawayQuoteDetection(2, 0).build().batches(3);
+            CSVBatchReader.Batch batch = batches.nextBatch();
+            assertEquals(1, batch.getRecords().size());
+            assertArrayEquals(new String[]{"1", "a"}, batch.getRecords().get(0));
+            try {
+                batches.nextBatch();
+                fail("CsvRunawayQuoteException expected");
+            } catch (CsvRunawayQuoteException e) {
+                assertEquals(2, e.getLineNumber());
+            }
+            batch = batches.nextBatch();
+            assertEquals(2, batch.getFirstRecord());
+            assertEquals(3, batch.getRecords().size());
+            assertArrayEquals(new String[]{"3", "c"}, batch.getRecords().get(0));
+            assertArrayEquals(new String[]{"5", "e"}, batch.getRecords().get(2));
+            assertNull(batches.nextBatch());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void batchSizeMustBePositive() {
+        new CSVReaderBuilder(new StringReader("")).build().batches(0);
+    }
+}
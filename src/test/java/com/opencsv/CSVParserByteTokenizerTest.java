@@ -0,0 +1,148 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CSVParserByteTokenizerTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final Charset[] CHARSETS = {
+            UTF8, Charset.forName("ISO-8859-1"), Charset.forName("US-ASCII"), Charset.forName("windows-1252")};
+    private static final byte[][] PIECES = {
+            {'a'}, {'b'}, {' '}, {','}, {'\t'}, {'"'}, {'\''}, {'\\'}, {'\n'}, {'\r'}, {0},
+            "\u00e4".getBytes(UTF8), "\u20ac".getBytes(UTF8), "\u2003".getBytes(UTF8),
+            "\uD83D\uDE00".getBytes(UTF8), {(byte) 0xE2}, {(byte) 0x82}, {(byte) 0xFF}};
+
+    /**
+     * A stream handing out very few bytes per read so that records and
+     * characters cross the boundaries of the byte window.
+     */
+    private static class TrickleInputStream extends InputStream {
+        private final byte[] bytes;
+        private final Random random;
+        private int position;
+
+        TrickleInputStream(byte[] bytes, Random random) {
+            this.bytes = bytes;
+            this.random = random;
+        }
+
+        @Override
+        public int read() {
+            return position < bytes.length ? bytes[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (position >= bytes.length) {
+                return -1;
+            }
+            int n = Math.min(len, Math.min(bytes.length - position, 1 + random.nextInt(4)));
+            System.arraycopy(bytes, position, b, off, n);
+            position += n;
+            return n;
+        }
+    }
+
+    private List<String[]> readAll(CSVReader reader) throws IOException {
+        List<String[]> records = new ArrayList<String[]>();
+        String[] record;
+        while ((record = reader.readNext()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    private void assertSameRecords(List<String[]> expected, List<String[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void streamsAreTokenizedAsBytesOnlyWhenPossible() {
+        InputStream in = new ByteArrayInputStream(new byte[0]);
+        assertTrue(new CSVReaderBuilder(in, UTF8).withRecordTokenizer(true).build().usesRecordTokenizer());
+        assertFalse(new CSVReaderBuilder(in, UTF8).build().usesRecordTokenizer());
+        assertTrue(new CSVReaderBuilder(in, Charset.forName("UTF-16")).withRecordTokenizer(true).build().usesRecordTokenizer());
+        assertFalse(CSVParserByteTokenizer.canScan(Charset.forName("UTF-16"), new CSVParser()));
+        assertFalse(CSVParserByteTokenizer.canScan(UTF8, new CSVParserBuilder().withSeparator('\u00a7').build()));
+    }
+
+    @Test
+    public void streamsTokenizedAsBytesAreNotDecodedAsAWhole() throws IOException {
+        final boolean[] closed = {false};
+        InputStream in = new ByteArrayInputStream("a,b\n".getBytes(UTF8)) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        CSVReader reader = new CSVReaderBuilder(in, UTF8).withRecordTokenizer(true).build();
+        assertNull(reader.br);
+        assertArrayEquals(new String[]{"a", "b"}, reader.readNext());
+        reader.close();
+        assertTrue(closed[0]);
+        assertNotNull(new CSVReaderBuilder(in, Charset.forName("UTF-16")).withRecordTokenizer(true).build().br);
+    }
+
+    @Test
+    public void decodesValuesOnly() throws IOException {
+        byte[] bytes = "\u00e4,\"\u20ac\r\n\uD83D\uDE00\",x\r\ny".getBytes(UTF8);
+        CSVReader reader = new CSVReaderBuilder(new ByteArrayInputStream(bytes), UTF8).withRecordTokenizer(true).build();
+
+        assertArrayEquals(new String[]{"\u00e4", "\u20ac\n\uD83D\uDE00", "x"}, reader.readNext());
+        assertArrayEquals(new String[]{"y"}, reader.readNext());
+        assertNull(reader.readNext());
+        assertEquals(3, reader.getLinesRead());
+    }
+
+    @Test
+    public void byteTokenizerReturnsTheSameDataAsTheParser() throws IOException {
+        Random random = new Random(7);
+        CSVReaderNullFieldIndicator[] indicators = CSVReaderNullFieldIndicator.values();
+        for (int i = 0; i < 20000; i++) {
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+            int length = random.nextInt(30);
+            for (int j = 0; j < length; j++) {
+                byte[] piece = PIECES[random.nextInt(PIECES.length)];
+                data.write(piece, 0, piece.length);
+            }
+            byte[] bytes = data.toByteArray();
+            Charset charset = CHARSETS[random.nextInt(CHARSETS.length)];
+            char separator = random.nextBoolean() ? ',' : '\t';
+            char quote = random.nextInt(4) == 0 ? '\'' : '"';
+            char escape = random.nextInt(4) == 0 ? ICSVParser.NULL_CHARACTER : '\\';
+            boolean strictQuotes = random.nextInt(4) == 0;
+            boolean ignoreLeadingWhiteSpace = random.nextBoolean();
+            boolean ignoreQuotations = random.nextInt(4) == 0;
+            CSVReaderNullFieldIndicator indicator = indicators[random.nextInt(indicators.length)];
+            int skipLines = random.nextInt(4) == 0 ? 1 : 0;
+            boolean keepCR = random.nextInt(4) == 0;
+
+            CSVReader lineReader = new CSVReader(new InputStreamReader(new ByteArrayInputStream(bytes), charset), skipLines,
+                    new CSVParser(separator, quote, escape, strictQuotes, ignoreLeadingWhiteSpace, ignoreQuotations, indicator),
+                    keepCR, true, false);
+            CSVReader byteReader = new CSVReader(new TrickleInputStream(bytes, random), charset, skipLines,
+                    new CSVParser(separator, quote, escape, strictQuotes, ignoreLeadingWhiteSpace, ignoreQuotations, indicator),
+                    keepCR, true, true);
+
+            assertSameRecords(readAll(lineReader), readAll(byteReader));
+            assertEquals(lineReader.getLinesRead(), byteReader.getLinesRead());
+            assertEquals(lineReader.getRecordsRead(), byteReader.getRecordsRead());
+        }
+    }
+}
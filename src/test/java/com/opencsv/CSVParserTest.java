@@ -5,6 +5,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.io.StringReader;
+import java.util.Random;
 
 import static org.junit.Assert.*;
 
@@ -701,4 +703,105 @@ public class CSVParserTest {
         assertTrue(nextLine[0].isEmpty());
         assertEquals("2", nextLine[1]);
     }
+
+    @Test
+    public void lineLengthsMayChangeFromLineToLine() throws IOException {
+        assertArrayEquals(new String[]{"a", "b", "c"}, csvParser.parseLine("a,b,c"));
+        assertArrayEquals(new String[]{"a"}, csvParser.parseLine("a"));
+        assertArrayEquals(new String[]{"a", "b", "c", "d", "e"}, csvParser.parseLine("a,b,c,d,e"));
+        assertArrayEquals(new String[]{"a", "b", "c", "d", "e"}, csvParser.parseLine("a,b,c,d,e"));
+        assertArrayEquals(new String[]{"a,", "b"}, csvParser.parseLineMulti("\"a,\",b"));
+        assertArrayEquals(new String[]{"x"}, csvParser.parseLineMulti("x,\"y"));
+        assertArrayEquals(new String[]{"y\nz", ""}, csvParser.parseLineMulti("z\","));
+    }
+
+    @Test
+    public void charactersBeyondTheSpecialCharactersAreOrdinary() throws IOException {
+        CSVParser parser = new CSVParserBuilder().withSeparator('\u00a7').build();
+        assertArrayEquals(new String[]{"\u00e4,\u20ac", "\uD83D\uDE00"}, parser.parseLine("\u00e4,\u20ac\u00a7\uD83D\uDE00"));
+    }
+
+    @Test
+    public void unquotedDialectsAreSplitAtSeparators() throws IOException {
+        CSVParser parser = new CSVParserBuilder()
+                .withSeparator('\t')
+                .withQuoteChar(ICSVParser.NULL_CHARACTER)
+                .withEscapeChar(ICSVParser.NULL_CHARACTER)
+                .build();
+        assertArrayEquals(new String[]{"a", "\"b\"", " c ", "", "d\\e", ""}, parser.parseLine("a\t\"b\"\t c \t\td\\e\t"));
+        assertArrayEquals(new String[]{""}, parser.parseLineMulti(""));
+        assertFalse(parser.isPending());
+
+        CSVParser nulls = new CSVParserBuilder()
+                .withSeparator('|')
+                .withQuoteChar(ICSVParser.NULL_CHARACTER)
+                .withFieldAsNull(CSVReaderNullFieldIndicator.EMPTY_SEPARATORS)
+                .build();
+        assertArrayEquals(new String[]{null, "a", null, "b", null}, nulls.parseLine("|a||b|"));
+        // the escape still applies wherever it appears
+        assertArrayEquals(new String[]{"ab", null}, nulls.parseLine("a\\b|"));
+    }
+
+    @Test
+    public void unquotedDialectsReturnTheSameDataAsTheTokenizer() throws IOException {
+        char[] alphabet = {'a', ' ', '\t', '\\', '"', '\0'};
+        CSVReaderNullFieldIndicator[] indicators = CSVReaderNullFieldIndicator.values();
+        Random random = new Random(23);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                sb.append(alphabet[random.nextInt(alphabet.length)]);
+            }
+            String line = sb.toString();
+            char escape = random.nextBoolean() ? ICSVParser.NULL_CHARACTER : '\\';
+            CSVReaderNullFieldIndicator indicator = indicators[random.nextInt(indicators.length)];
+            CSVParser parser = new CSVParser('\t', ICSVParser.NULL_CHARACTER, escape, false, false, false, indicator);
+            CSVReader reader = new CSVReader(new StringReader(line), 0,
+                    new CSVParser('\t', ICSVParser.NULL_CHARACTER, escape, false, false, false, indicator),
+                    false, true, true);
+            String[] expected = reader.readNext();
+            if (expected == null || reader.readNext() != null) {
+                // an empty line or a null character opening a field across lines
+                continue;
+            }
+            assertArrayEquals(line, expected, parser.parseLineMulti(line));
+        }
+    }
+
+    @Test
+    public void defaultDialectReturnsTheSameDataAsTheGeneralParser() throws IOException {
+        char[] alphabet = {'a', ' ', ',', '\\', '"'};
+        CSVReaderNullFieldIndicator[] indicators = CSVReaderNullFieldIndicator.values();
+        Random random = new Random(25);
+        for (int i = 0; i < 20000; i++) {
+            boolean ignoreLeadingWhiteSpace = random.nextBoolean();
+            CSVReaderNullFieldIndicator indicator = indicators[random.nextInt(indicators.length)];
+            CSVParser parser = new CSVParser(',', '"', '\\', false, ignoreLeadingWhiteSpace, false, indicator);
+            // a subclass is never given the loop of the default dialect
+            CSVParser general = new CSVParser(',', '"', '\\', false, ignoreLeadingWhiteSpace, false, indicator) {
+            };
+            int lines = 1 + random.nextInt(3);
+            for (int k = 0; k < lines; k++) {
+                StringBuilder sb = new StringBuilder();
+                int length = random.nextInt(12);
+                for (int j = 0; j < length; j++) {
+                    sb.append(alphabet[random.nextInt(alphabet.length)]);
+                }
+                String line = sb.toString();
+                boolean multi = random.nextInt(4) != 0;
+                assertArrayEquals(line, parseOrNull(general, line, multi), parseOrNull(parser, line, multi));
+                assertEquals(line, general.isPending(), parser.isPending());
+            }
+        }
+    }
+
+    private static String[] parseOrNull(CSVParser parser, String line, boolean multi) {
+        try {
+            return multi ? parser.parseLineMulti(line) : parser.parseLine(line);
+        } catch (IOException e) {
+            // an unterminated quoted field
+            return null;
+        }
+    }
 }
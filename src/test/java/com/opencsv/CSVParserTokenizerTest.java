@@ -0,0 +1,199 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CSVParserTokenizerTest {
+
+    private static final char[] ALPHABET = {'a', 'b', ' ', ',', '\t', '"', '\'', '\\', '\n', '\r', '\0'};
+
+    /**
+     * A reader handing out very few characters per read so that records
+     * cross the boundaries of the character window.
+     */
+    private static class TrickleReader extends Reader {
+        private final String s;
+        private final Random random;
+        private int position;
+
+        TrickleReader(String s, Random random) {
+            this.s = s;
+            this.random = random;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (position >= s.length()) {
+                return -1;
+            }
+            int n = Math.min(len, Math.min(s.length() - position, 1 + random.nextInt(4)));
+            s.getChars(position, position + n, cbuf, off);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private CSVReader createReader(Reader reader, boolean useRecordTokenizer) {
+        return new CSVReaderBuilder(reader).withRecordTokenizer(useRecordTokenizer).build();
+    }
+
+    private List<String[]> readAll(CSVReader reader) throws IOException {
+        List<String[]> records = new ArrayList<String[]>();
+        String[] record;
+        while ((record = reader.readNext()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    private void assertSameRecords(List<String[]> expected, List<String[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void readerUsesTokenizerOnlyWhenAskedTo() {
+        assertFalse(createReader(new StringReader("a"), false).usesRecordTokenizer());
+        assertTrue(createReader(new StringReader("a"), true).usesRecordTokenizer());
+    }
+
+    @Test
+    public void otherParsersAreHandedLines() {
+        CSVReader reader = new CSVReaderBuilder(new StringReader("a"))
+                .withCSVParser(new RFC4180Parser())
+                .withRecordTokenizer(true)
+                .build();
+        assertFalse(reader.usesRecordTokenizer());
+    }
+
+    @Test
+    public void parsesSimpleAndQuotedRecords() throws IOException {
+        CSVReader reader = createReader(new StringReader("a,b,c\na,\"b,b,b\",c\n,,\n"), true);
+
+        assertArrayEquals(new String[]{"a", "b", "c"}, reader.readNext());
+        assertArrayEquals(new String[]{"a", "b,b,b", "c"}, reader.readNext());
+        assertArrayEquals(new String[]{"", "", ""}, reader.readNext());
+        assertNull(reader.readNext());
+        assertEquals(3, reader.getRecordsRead());
+        assertEquals(3, reader.getLinesRead());
+    }
+
+    @Test
+    public void multiLineFieldsHaveTheirTerminatorsReplacedByNewlines() throws IOException {
+        CSVReader reader = createReader(new StringReader("a,\"PO Box 123,\r\nKippax\rAustralia\",d.\r\nx"), true);
+
+        assertArrayEquals(new String[]{"a", "PO Box 123,\nKippax\nAustralia", "d."}, reader.readNext());
+        assertEquals(3, reader.getLinesRead());
+        assertArrayEquals(new String[]{"x"}, reader.readNext());
+        assertNull(reader.readNext());
+        assertEquals(4, reader.getLinesRead());
+    }
+
+    @Test
+    public void keepsCarriageReturns() throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new StringReader("\"a\",\"123\r\n4567\",c\r\nd\n"))
+                .withKeepCarriageReturn(true)
+                .withRecordTokenizer(true)
+                .build();
+
+        assertArrayEquals(new String[]{"a", "123\r\n4567", "c\r"}, reader.readNext());
+        assertArrayEquals(new String[]{"d"}, reader.readNext());
+        assertNull(reader.readNext());
+    }
+
+    @Test
+    public void skipsLines() throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new StringReader("skip \"this\nand this\na,b\n"))
+                .withSkipLines(2)
+                .withRecordTokenizer(true)
+                .build();
+
+        assertArrayEquals(new String[]{"a", "b"}, reader.readNext());
+        assertEquals(3, reader.getLinesRead());
+    }
+
+    @Test
+    public void recordsLargerThanTheBufferAreRead() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < RecordTokenizer.DEFAULT_BUFFER_SIZE; i++) {
+            sb.append("ab\n");
+        }
+        String field = sb.toString();
+        CSVReader reader = createReader(new StringReader("x,\"" + field + "\",y\nz"), true);
+
+        assertArrayEquals(new String[]{"x", field, "y"}, reader.readNext());
+        assertArrayEquals(new String[]{"z"}, reader.readNext());
+    }
+
+    @Test
+    public void closedReaderReturnsNull() throws IOException {
+        StringReader stringReader = new StringReader("a,b");
+        stringReader.close();
+        assertNull(createReader(stringReader, true).readNext());
+    }
+
+    @Test
+    public void emptyLineEndingAnOpenQuoteIsCountedLikeTheLines() throws IOException {
+        String data = "b?,|\"\tb,b\t\n|,\n\nab";
+        for (boolean useRecordTokenizer : new boolean[]{false, true}) {
+            CSVReader reader = new CSVReaderBuilder(new StringReader(data))
+                    .withKeepCarriageReturn(true)
+                    .withRecordTokenizer(useRecordTokenizer)
+                    .build();
+
+            assertArrayEquals(new String[]{"b?"}, reader.readNext());
+            assertEquals(2, reader.getLinesRead());
+            assertNull(reader.readNext());
+            assertEquals(3, reader.getLinesRead());
+        }
+    }
+
+    @Test
+    public void tokenizerReturnsTheSameDataAsTheParser() throws IOException {
+        Random random = new Random(42);
+        CSVReaderNullFieldIndicator[] indicators = CSVReaderNullFieldIndicator.values();
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(30);
+            for (int j = 0; j < length; j++) {
+                sb.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+            }
+            String data = sb.toString();
+            char separator = random.nextBoolean() ? ',' : '\t';
+            char quote = random.nextInt(4) == 0 ? '\'' : '"';
+            char escape = random.nextInt(4) == 0 ? ICSVParser.NULL_CHARACTER : '\\';
+            boolean strictQuotes = random.nextInt(4) == 0;
+            boolean ignoreLeadingWhiteSpace = random.nextBoolean();
+            boolean ignoreQuotations = random.nextInt(4) == 0;
+            CSVReaderNullFieldIndicator indicator = indicators[random.nextInt(indicators.length)];
+            int skipLines = random.nextInt(4) == 0 ? 1 : 0;
+            boolean keepCR = random.nextInt(4) == 0;
+
+            CSVReader lineReader = new CSVReader(new StringReader(data), skipLines,
+                    new CSVParser(separator, quote, escape, strictQuotes, ignoreLeadingWhiteSpace, ignoreQuotations, indicator),
+                    keepCR, true, false);
+            CSVReader recordReader = new CSVReader(new TrickleReader(data, random), skipLines,
+                    new CSVParser(separator, quote, escape, strictQuotes, ignoreLeadingWhiteSpace, ignoreQuotations, indicator),
+                    keepCR, true, true);
+
+            assertSameRecords(readAll(lineReader), readAll(recordReader));
+            assertEquals(lineReader.getLinesRead(), recordReader.getLinesRead());
+            assertEquals(lineReader.getRecordsRead(), recordReader.getRecordsRead());
+        }
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
@@ -111,4 +113,28 @@ public class CSVReaderBuilderTest {
 
         assertEquals(CSVReaderNullFieldIndicator.EMPTY_SEPARATORS, reader.getParser().nullFieldIndicator());
     }
+
+    @Test
+    public void testWithRecordTokenizer() {
+        assertFalse(builder.useRecordTokenizer());
+        builder.withRecordTokenizer(true);
+        assertTrue(builder.useRecordTokenizer());
+
+        final CSVReader actual = builder.build();
+        assertTrue(actual.usesRecordTokenizer());
+    }
+
+    @Test
+    public void testWithMappingThreshold() {
+        assertNull(builder.getPath());
+        assertNull(builder.getCharset());
+        assertEquals(CSVReader.DEFAULT_MAPPING_THRESHOLD, builder.getMappingThreshold());
+        builder.withMappingThreshold(0);
+        assertEquals(0, builder.getMappingThreshold());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullPath() {
+        builder = new CSVReaderBuilder((Path) null, Charset.forName("UTF-8"));
+    }
 }
@@ -679,4 +679,89 @@ public class CSVReaderTest {
         assertNull(item[4]);
     }
 
+    /**
+     * Records what a {@link CsvFieldVisitor} is told as a String.
+     */
+    private static class RecordingVisitor implements CsvFieldVisitor {
+        final StringBuilder sb = new StringBuilder();
+
+        @Override
+        public void startRecord() {
+            sb.append('[');
+        }
+
+        @Override
+        public void field(CharSequence value, boolean quoted) {
+            sb.append(quoted ? "q:" : "").append(value).append(';');
+        }
+
+        @Override
+        public void endRecord() {
+            sb.append(']');
+        }
+    }
+
+    @Test
+    public void visitorReceivesFieldViewsFromTheRecordTokenizer() throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new StringReader("a,\"b,\"\"b\"\"\",c\n\"d\ne\",,f\n"))
+                .withFieldAsNull(CSVReaderNullFieldIndicator.EMPTY_SEPARATORS)
+                .withRecordTokenizer(true)
+                .build();
+        RecordingVisitor visitor = new RecordingVisitor();
+
+        assertTrue(reader.readNext(visitor));
+        assertTrue(reader.readNext(visitor));
+        assertFalse(reader.readNext(visitor));
+
+        assertEquals("[a;q:b,\"b\";c;][q:d\ne;null;f;]", visitor.sb.toString());
+        assertEquals(2, reader.getRecordsRead());
+        assertEquals(3, reader.getLinesRead());
+    }
+
+    @Test
+    public void visitorReceivesStringsWhenLinesAreParsed() throws IOException {
+        CSVReader reader = new CSVReader(new StringReader("a,\"b\"\nc\n"));
+        RecordingVisitor visitor = new RecordingVisitor();
+
+        assertTrue(reader.readNext(visitor));
+        assertTrue(reader.readNext(visitor));
+        assertFalse(reader.readNext(visitor));
+
+        assertEquals("[a;b;][c;]", visitor.sb.toString());
+        assertEquals(2, reader.getRecordsRead());
+    }
+
+    @Test
+    public void visitorAndReadNextCanBeMixed() throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new StringReader("a,b\nc,d\ne\n"))
+                .withRecordTokenizer(true)
+                .build();
+        RecordingVisitor visitor = new RecordingVisitor();
+
+        assertArrayEquals(new String[]{"a", "b"}, reader.readNext());
+        assertTrue(reader.readNext(visitor));
+        assertArrayEquals(new String[]{"e"}, reader.readNext());
+        assertEquals("[c;d;]", visitor.sb.toString());
+        assertEquals(3, reader.getRecordsRead());
+    }
+
+    @Test
+    public void recordsSpanningManyLinesAreAssembled() throws IOException {
+        StringBuilder field = new StringBuilder();
+        StringBuilder fields = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            field.append("line ").append(i).append('\n');
+            fields.append(i).append("\",\"");
+        }
+        String input = "a,\"" + field + "\",b\n\"" + fields + "\"\nc\n";
+        ICSVParser[] parsers = {new CSVParser(), new RFC4180Parser()};
+        for (ICSVParser parser : parsers) {
+            CSVReader reader = new CSVReaderBuilder(new StringReader(input)).withCSVParser(parser).build();
+
+            assertArrayEquals(new String[]{"a", field.toString(), "b"}, reader.readNext());
+            assertEquals(10001, reader.readNext().length);
+            assertArrayEquals(new String[]{"c"}, reader.readNext());
+            assertNull(reader.readNext());
+        }
+    }
 }
@@ -0,0 +1,130 @@
+package com.opencsv;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ColumnProjectionTest {
+
+    private static final String DATA = "id,name,\"note\",amount\n"
+            + "1,alice,\"multi\nline, quoted\",10\n"
+            + "2,bob\n"
+            + "3,carol,,30\n";
+
+    private List<CSVReader> readers(CSVReaderBuilderFactory factory) {
+        List<CSVReader> readers = new ArrayList<CSVReader>();
+        readers.add(factory.create(new CSVReaderBuilder(new StringReader(DATA))).build());
+        readers.add(factory.create(new CSVReaderBuilder(
+                new ByteArrayInputStream(DATA.getBytes(Charset.forName("UTF-8"))), Charset.forName("UTF-8"))).build());
+        readers.add(factory.create(new CSVReaderBuilder(new StringReader(DATA)))
+                .withCSVParser(new RFC4180Parser()).build());
+        return readers;
+    }
+
+    private interface CSVReaderBuilderFactory {
+        CSVReaderBuilder create(CSVReaderBuilder builder);
+    }
+
+    @Test
+    public void columnsAreReturnedInTheOrderGiven() throws IOException {
+        for (CSVReader reader : readers(new CSVReaderBuilderFactory() {
+            @Override
+            public CSVReaderBuilder create(CSVReaderBuilder builder) {
+                return builder.withColumns(3, 0);
+            }
+        })) {
+            assertArrayEquals(new String[]{"amount", "id"}, reader.readNext());
+            assertArrayEquals(new String[]{"10", "1"}, reader.readNext());
+            assertArrayEquals(new String[]{null, "2"}, reader.readNext());
+            assertArrayEquals(new String[]{"30", "3"}, reader.readNext());
+            assertNull(reader.readNext());
+            assertEquals(4, reader.getRecordsRead());
+        }
+    }
+
+    @Test
+    public void columnsAreLookedUpInTheHeader() throws IOException {
+        for (CSVReader reader : readers(new CSVReaderBuilderFactory() {
+            @Override
+            public CSVReaderBuilder create(CSVReaderBuilder builder) {
+                return builder.withColumns("note", "name");
+            }
+        })) {
+            assertArrayEquals(new String[]{"note", "name"}, reader.readNext());
+            assertArrayEquals(new String[]{"multi\nline, quoted", "alice"}, reader.readNext());
+            assertArrayEquals(new String[]{null, "bob"}, reader.readNext());
+            assertArrayEquals(new String[]{"", "carol"}, reader.readNext());
+            assertNull(reader.readNext());
+        }
+    }
+
+    @Test
+    public void eachReaderLooksUpItsOwnHeader() throws IOException {
+        CSVReaderBuilder builder = new CSVReaderBuilder(new StringReader("a,b\n1,2\n")).withColumns("b");
+        CSVReader first = builder.build();
+        assertArrayEquals(new String[]{"b"}, first.readNext());
+        CSVReader second = new CSVReaderBuilder(new StringReader("b,a\n1,2\n")).withColumns("b").build();
+        assertArrayEquals(new String[]{"b"}, second.readNext());
+        assertArrayEquals(new String[]{"1"}, second.readNext());
+        assertArrayEquals(new String[]{"2"}, first.readNext());
+    }
+
+    @Test
+    public void missingColumnNamesAreReported() {
+        CSVReader reader = new CSVReaderBuilder(new StringReader(DATA)).withColumns("id", "total").build();
+        try {
+            reader.readNext();
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("total"));
+        }
+    }
+
+    @Test
+    public void visitorsGetTheProjectedColumns() throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new StringReader(DATA)).withColumns(1).build();
+        final List<String> values = new ArrayList<String>();
+        CsvFieldVisitor visitor = new CsvFieldVisitor() {
+            @Override
+            public void startRecord() {
+            }
+
+            @Override
+            public void field(CharSequence value, boolean quoted) {
+                values.add(value.toString());
+            }
+
+            @Override
+            public void endRecord() {
+            }
+        };
+        while (reader.readNext(visitor)) {
+            // collect all
+        }
+        assertEquals(4, values.size());
+        assertEquals("name", values.get(0));
+        assertEquals("carol", values.get(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void columnsMayNotBeGivenTwice() {
+        new CSVReaderBuilder(new StringReader(DATA)).withColumns(1, 2, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void columnIndexesMayNotBeNegative() {
+        new CSVReaderBuilder(new StringReader(DATA)).withColumns(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void columnNamesMayNotBeGivenTwice() {
+        new CSVReaderBuilder(new StringReader(DATA)).withColumns("id", "id");
+    }
+}
@@ -0,0 +1,202 @@
+package com.opencsv;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CsvCheckpointTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final String DATA = "header line\r\n"
+            + "1,\u00e4\u20ac\r\n"
+            + "2,\"multi\r\nline\"\r"
+            + "\n3,\"x\"\"y\"\n"
+            + "4,last";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path file;
+
+    private interface Source {
+        CSVReaderBuilder builder() throws IOException;
+    }
+
+    private List<Source> sources() throws IOException {
+        if (file == null) {
+            File f = folder.newFile();
+            OutputStream out = new FileOutputStream(f);
+            try {
+                out.write(DATA.getBytes(UTF8));
+            } finally {
+                out.close();
+            }
+            file = f.toPath();
+        }
+        List<Source> sources = new ArrayList<Source>();
+        sources.add(new Source() {
+            @Override
+            public CSVReaderBuilder builder() {
+                return new CSVReaderBuilder(new StringReader(DATA));
+            }
+        });
+        sources.add(new Source() {
+            @Override
+            public CSVReaderBuilder builder() {
+                return new CSVReaderBuilder(new ByteArrayInputStream(DATA.getBytes(UTF8)), UTF8);
+            }
+        });
+        sources.add(new Source() {
+            @Override
+            public CSVReaderBuilder builder() {
+                return new CSVReaderBuilder(file, UTF8);
+            }
+        });
+        return sources;
+    }
+
+    private static CsvCheckpoint serialize(CsvCheckpoint checkpoint) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(checkpoint);
+        out.close();
+        return (CsvCheckpoint) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+    }
+
+    private static List<String> rest(CSVReader reader) throws IOException {
+        List<String> records = new ArrayList<String>();
+        String[] record;
+        while ((record = reader.readNext()) != null) {
+            records.add(String.valueOf(reader.getRecordsRead()) + '/' + reader.getLinesRead() + '='
+                    + Arrays.toString(record));
+        }
+        return records;
+    }
+
+    @Test
+    public void readersResumeAfterEveryRecord() throws Exception {
+        for (Source source : sources()) {
+            for (int before = 0; before <= 4; before++) {
+                CSVReader reader = source.builder().withSkipLines(1).withRecordTokenizer(true).build();
+                for (int i = 0; i < before; i++) {
+                    assertNotNull(reader.readNext());
+                }
+                CsvCheckpoint checkpoint = serialize(reader.checkpoint());
+                assertEquals(before, checkpoint.getRecordsRead());
+                List<String> expected = rest(reader);
+
+                CSVReader resumed = source.builder().withSkipLines(1).withCheckpoint(checkpoint).build();
+                assertEquals(before, resumed.getRecordsRead());
+                assertEquals(expected, rest(resumed));
+            }
+        }
+    }
+
+    @Test
+    public void resumedReadersTakeCheckpointsToo() throws Exception {
+        CSVReader reader = new CSVReaderBuilder(new StringReader(DATA)).withSkipLines(1).withRecordTokenizer(true).build();
+        reader.readNext();
+        CSVReader resumed = new CSVReaderBuilder(new StringReader(DATA)).withCheckpoint(reader.checkpoint()).build();
+        assertEquals(reader.checkpoint().getPosition(), resumed.checkpoint().getPosition());
+        assertArrayEquals(new String[]{"2", "multi\nline"}, resumed.readNext());
+        CSVReader again = new CSVReaderBuilder(new StringReader(DATA)).withCheckpoint(resumed.checkpoint()).build();
+        assertArrayEquals(new String[]{"3", "x\"y"}, again.readNext());
+        assertEquals(3, again.getRecordsRead());
+        assertEquals(5, again.getLinesRead());
+    }
+
+    @Test
+    public void filesAndStreamsCountBytes() throws Exception {
+        CSVReader reader = sources().get(2).builder().withRecordTokenizer(true).build();
+        reader.readNext();
+        reader.readNext();
+        CsvCheckpoint checkpoint = reader.checkpoint();
+        assertTrue(checkpoint.isBytePosition());
+        // the line feed after a carriage return is only looked at by the next read
+        assertTrue(checkpoint.isAfterCarriageReturn());
+        assertEquals("header line\r\n1,\u00e4\u20ac\r".getBytes(UTF8).length, checkpoint.getPosition());
+
+        reader = new CSVReaderBuilder(new StringReader(DATA)).withRecordTokenizer(true).build();
+        reader.readNext();
+        reader.readNext();
+        checkpoint = reader.checkpoint();
+        assertFalse(checkpoint.isBytePosition());
+        assertEquals("header line\r\n1,\u00e4\u20ac\r".length(), checkpoint.getPosition());
+    }
+
+    @Test
+    public void readersResumedAtTheEndReadNothingMore() throws Exception {
+        final String data = "a,b\n\n, \rx1\nc,d\n";
+        final byte[] bytes = data.getBytes(UTF8);
+        CSVReaderBuilder[] builders = {
+                new CSVReaderBuilder(new StringReader(data)),
+                new CSVReaderBuilder(new ByteArrayInputStream(bytes), UTF8)};
+        for (CSVReaderBuilder builder : builders) {
+            // with kept carriage returns the empty line ends the input
+            CSVReader reader = builder.withKeepCarriageReturn(true).withRecordTokenizer(true).build();
+            assertArrayEquals(new String[]{"a", "b"}, reader.readNext());
+            assertNull(reader.readNext());
+            CsvCheckpoint checkpoint = serialize(reader.checkpoint());
+            CSVReader resumed = (checkpoint.isBytePosition()
+                    ? new CSVReaderBuilder(new ByteArrayInputStream(bytes), UTF8)
+                    : new CSVReaderBuilder(new StringReader(data)))
+                    .withKeepCarriageReturn(true).withCheckpoint(checkpoint).build();
+            assertNull(resumed.readNext());
+            assertEquals(1, resumed.getRecordsRead());
+        }
+    }
+
+    @Test
+    public void checkpointsMustMatchTheInput() throws Exception {
+        CSVReader reader = sources().get(2).builder().withRecordTokenizer(true).build();
+        reader.readNext();
+        CSVReader resumed = new CSVReaderBuilder(new StringReader(DATA)).withCheckpoint(reader.checkpoint()).build();
+        try {
+            resumed.readNext();
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("bytes"));
+        }
+    }
+
+    @Test
+    public void parsersWithoutTokenizerCannotResume() throws Exception {
+        CSVReader reader = new CSVReaderBuilder(new StringReader(DATA)).withRecordTokenizer(true).build();
+        reader.readNext();
+        CSVReader resumed = new CSVReaderBuilder(new StringReader(DATA)).withCSVParser(new RFC4180Parser())
+                .withCheckpoint(reader.checkpoint()).build();
+        try {
+            resumed.readNext();
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("checkpoint"));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void readersWithoutTokenizerCannotTakeCheckpoints() throws IOException {
+        new CSVReaderBuilder(new StringReader(DATA)).build().checkpoint();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void readersChoosingColumnsByNameCannotTakeCheckpoints() throws IOException {
+        new CSVReaderBuilder(new StringReader(DATA)).withColumns("header line").build().checkpoint();
+    }
+}
@@ -0,0 +1,228 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CsvFieldStreamTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final char[] ALPHABET = {'a', 'b', ' ', ',', '"', '\\', '\n', '\r'};
+
+    /**
+     * Keeps what it reads of the streamed fields, reading in pieces of the
+     * given size.
+     */
+    private static class Collector implements CsvFieldStreamHandler {
+        private final int piece;
+        private final int maxLength;
+        final List<Integer> columns = new ArrayList<Integer>();
+        final List<String> values = new ArrayList<String>();
+        final List<Integer> incomplete = new ArrayList<Integer>();
+
+        Collector(int piece, int maxLength) {
+            this.piece = piece;
+            this.maxLength = maxLength;
+        }
+
+        @Override
+        public void handleField(int column, Reader field) throws IOException {
+            if (field == null) {
+                columns.add(column);
+                values.add(null);
+                return;
+            }
+            StringBuilder sb = new StringBuilder();
+            char[] chars = new char[piece];
+            int n;
+            try {
+                while (sb.length() < maxLength && (n = field.read(chars, 0, Math.min(piece, maxLength - sb.length()))) != -1) {
+                    sb.append(chars, 0, n);
+                }
+            } catch (EOFException e) {
+                incomplete.add(column);
+                return;
+            }
+            columns.add(column);
+            values.add(sb.toString());
+        }
+    }
+
+    private static List<CSVReaderBuilder> builders(String data) {
+        return Arrays.asList(
+                new CSVReaderBuilder(new StringReader(data)),
+                new CSVReaderBuilder(new ByteArrayInputStream(data.getBytes(UTF8)), UTF8),
+                new CSVReaderBuilder(new StringReader(data)).withCSVParser(new RFC4180Parser()));
+    }
+
+    @Test
+    public void configuredColumnsAreStreamed() throws IOException {
+        String data = "a,\"first\nsecond, \"\"third\"\"\",c\nd,e,f\ng\n";
+        for (CSVReaderBuilder builder : builders(data)) {
+            CSVReader reader = builder.withStreamedFields(0, 1).build();
+            Collector collector = new Collector(3, Integer.MAX_VALUE);
+            assertArrayEquals(new String[]{"a", null, "c"}, reader.readNext(collector));
+            assertArrayEquals(new String[]{"d", null, "f"}, reader.readNext(collector));
+            assertArrayEquals(new String[]{"g"}, reader.readNext(collector));
+            assertNull(reader.readNext(collector));
+            assertEquals(Arrays.asList(1, 1), collector.columns);
+            assertEquals(Arrays.asList("first\nsecond, \"third\"", "e"), collector.values);
+        }
+    }
+
+    @Test
+    public void fieldsLongerThanTheThresholdAreStreamed() throws IOException {
+        String data = "short,a rather long field,x\n\"another long one\",y,z\n";
+        for (CSVReaderBuilder builder : builders(data)) {
+            CSVReader reader = builder.withStreamedFields(10).build();
+            Collector collector = new Collector(100, Integer.MAX_VALUE);
+            assertArrayEquals(new String[]{"short", null, "x"}, reader.readNext(collector));
+            assertArrayEquals(new String[]{null, "y", "z"}, reader.readNext(collector));
+            assertEquals(Arrays.asList(1, 0), collector.columns);
+            assertEquals(Arrays.asList("a rather long field", "another long one"), collector.values);
+        }
+    }
+
+    @Test
+    public void theRestOfAFieldNotReadIsSkipped() throws IOException {
+        String data = "1,\"skip,\nme\",3\n4,5,6\n";
+        for (CSVReaderBuilder builder : builders(data)) {
+            CSVReader reader = builder.withStreamedFields(0, 1).build();
+            Collector collector = new Collector(1, 2);
+            assertArrayEquals(new String[]{"1", null, "3"}, reader.readNext(collector));
+            assertArrayEquals(new String[]{"4", null, "6"}, reader.readNext(collector));
+            assertEquals(Arrays.asList("sk", "5"), collector.values);
+            assertEquals(3, reader.getLinesRead());
+        }
+    }
+
+    @Test
+    public void recordsReadWithoutHandlerKeepAllFields() throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new StringReader("a,b\nc,d\n")).withStreamedFields(0, 1).build();
+        assertArrayEquals(new String[]{"a", "b"}, reader.readNext());
+        Collector collector = new Collector(10, Integer.MAX_VALUE);
+        assertArrayEquals(new String[]{"c", null}, reader.readNext(collector));
+        assertEquals(Arrays.asList("d"), collector.values);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void readersNotBuiltToStreamFieldsRefuse() throws IOException {
+        new CSVReaderBuilder(new StringReader("a,b\n")).build().readNext(new Collector(1, 1));
+    }
+
+    @Test
+    public void hugeFieldsAreNotHeldInMemory() throws IOException {
+        StringBuilder sb = new StringBuilder("id,\"");
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            sb.append("line ").append(i).append(" \"\"quoted\"\",\n");
+            expected.append("line ").append(i).append(" \"quoted\",\n");
+        }
+        sb.append("\",end\nnext,2,3\n");
+        CSVReader reader = new CSVReaderBuilder(new StringReader(sb.toString()))
+                .withMaxFieldLength(100000)
+                .withMaxRecordSize(100000)
+                .withStreamedFields(0, 1)
+                .build();
+        Collector collector = new Collector(8192, Integer.MAX_VALUE);
+        assertArrayEquals(new String[]{"id", null, "end"}, reader.readNext(collector));
+        assertEquals(expected.toString(), collector.values.get(0));
+        assertArrayEquals(new String[]{"next", null, "3"}, reader.readNext(collector));
+        assertEquals("2", collector.values.get(1));
+        assertEquals(100002, reader.getLinesRead());
+    }
+
+    @Test
+    public void nullFieldsAreStreamedAsNull() throws IOException {
+        String data = "a,,\"\"\n";
+        for (CSVReaderBuilder builder : builders(data)) {
+            CSVReader reader = builder.withCSVParser(new CSVParserBuilder()
+                    .withFieldAsNull(CSVReaderNullFieldIndicator.EMPTY_SEPARATORS).build())
+                    .withStreamedFields(0, 1, 2).build();
+            Collector collector = new Collector(3, Integer.MAX_VALUE);
+            assertArrayEquals(new String[]{"a", null, null}, reader.readNext(collector));
+            assertEquals(Arrays.asList(1, 2), collector.columns);
+            assertEquals(Arrays.asList(null, ""), collector.values);
+        }
+    }
+
+    @Test
+    public void fieldsTheRecordDropsAreNotStreamedAsComplete() throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new StringReader(",\"")).withStreamedFields(0, 1).build();
+        Collector collector = new Collector(3, Integer.MAX_VALUE);
+        assertArrayEquals(new String[]{""}, reader.readNext(collector));
+        assertTrue(collector.columns.isEmpty());
+        assertTrue(collector.incomplete.isEmpty());
+
+        reader = new CSVReaderBuilder(new StringReader("x,\"abc")).withStreamedFields(0, 1).build();
+        collector = new Collector(3, Integer.MAX_VALUE);
+        assertArrayEquals(new String[]{"x"}, reader.readNext(collector));
+        assertTrue(collector.columns.isEmpty());
+        assertEquals(Collections.singletonList(1), collector.incomplete);
+    }
+
+    @Test
+    public void streamedFieldsHaveTheValuesReadOtherwise() throws IOException {
+        Random random = new Random(17);
+        CSVReaderNullFieldIndicator[] indicators = CSVReaderNullFieldIndicator.values();
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(40);
+            for (int j = 0; j < length; j++) {
+                sb.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+            }
+            String data = sb.toString();
+            boolean strictQuotes = random.nextInt(4) == 0;
+            boolean ignoreLeadingWhiteSpace = random.nextBoolean();
+            boolean ignoreQuotations = random.nextInt(4) == 0;
+            CSVReaderNullFieldIndicator indicator = indicators[random.nextInt(indicators.length)];
+            int threshold = random.nextInt(5);
+            int column = random.nextInt(3);
+
+            CSVReader plain = new CSVReaderBuilder(new StringReader(data))
+                    .withCSVParser(new CSVParser(',', '"', '\\', strictQuotes, ignoreLeadingWhiteSpace,
+                            ignoreQuotations, indicator))
+                    .withRecordTokenizer(true)
+                    .build();
+            CSVReader streaming = new CSVReaderBuilder(new StringReader(data))
+                    .withCSVParser(new CSVParser(',', '"', '\\', strictQuotes, ignoreLeadingWhiteSpace,
+                            ignoreQuotations, indicator))
+                    .withStreamedFields(threshold, column)
+                    .build();
+
+            String[] expected;
+            while ((expected = plain.readNext()) != null) {
+                Collector collector = new Collector(1 + random.nextInt(3), Integer.MAX_VALUE);
+                String[] record = streaming.readNext(collector);
+                assertNotNull(data, record);
+                assertEquals(data, expected.length, record.length);
+                for (int streamed : collector.incomplete) {
+                    // a field left open at the end of the input is not part of the record
+                    assertTrue(data, streamed >= record.length);
+                }
+                for (int k = 0; k < collector.columns.size(); k++) {
+                    int streamed = collector.columns.get(k);
+                    assertTrue(data, streamed < record.length);
+                    assertNull(data, record[streamed]);
+                    record[streamed] = collector.values.get(k);
+                }
+                assertArrayEquals(data, expected, record);
+            }
+            assertNull(data, streaming.readNext(new Collector(1, 1)));
+            assertEquals(data, plain.getLinesRead(), streaming.getLinesRead());
+        }
+    }
+}
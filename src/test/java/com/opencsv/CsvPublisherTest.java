@@ -0,0 +1,228 @@
+package com.opencsv;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class CsvPublisherTest {
+
+    private static final String DATA = "a,1\nb,2\nc,3\nd,4\ne,5\n";
+
+    private static class Recorder implements CsvSubscriber<String[]> {
+        final List<String> received = new ArrayList<String>();
+        final CountDownLatch finished = new CountDownLatch(1);
+        CsvSubscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(CsvSubscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(String[] item) {
+            received.add(item[0]);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            finished.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            finished.countDown();
+        }
+    }
+
+    private static CSVReader reader(String data) {
+        return new CSVReader(new StringReader(data));
+    }
+
+    @Test
+    public void recordsAreOnlyReadWhenRequested() throws IOException {
+        CSVReader reader = reader(DATA);
+        Recorder recorder = new Recorder();
+        reader.publisher(null).subscribe(recorder);
+        assertNotNull(recorder.subscription);
+        assertTrue(recorder.received.isEmpty());
+        assertEquals(0, reader.getRecordsRead());
+
+        recorder.subscription.request(2);
+        assertEquals(Arrays.asList("a", "b"), recorder.received);
+        assertEquals(2, reader.getRecordsRead());
+        assertFalse(recorder.completed);
+
+        recorder.subscription.request(3);
+        assertEquals(Arrays.asList("a", "b", "c", "d", "e"), recorder.received);
+        assertFalse(recorder.completed);
+        recorder.subscription.request(1);
+        assertTrue(recorder.completed);
+        assertNull(recorder.error);
+    }
+
+    @Test
+    public void requestsFromOnNextDoNotRecurse() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            sb.append(i).append('\n');
+        }
+        final int[] count = new int[1];
+        final boolean[] completed = new boolean[1];
+        reader(sb.toString()).publisher(null).subscribe(new CsvSubscriber<String[]>() {
+            private CsvSubscription subscription;
+
+            @Override
+            public void onSubscribe(CsvSubscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(String[] item) {
+                assertEquals(Integer.toString(count[0]++), item[0]);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throw new AssertionError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed[0] = true;
+            }
+        });
+        assertEquals(100000, count[0]);
+        assertTrue(completed[0]);
+    }
+
+    @Test
+    public void cancelStopsTheRecords() {
+        final List<String> received = new ArrayList<String>();
+        reader(DATA).publisher(null).subscribe(new CsvSubscriber<String[]>() {
+            private CsvSubscription subscription;
+
+            @Override
+            public void onSubscribe(CsvSubscription subscription) {
+                this.subscription = subscription;
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String[] item) {
+                received.add(item[0]);
+                if (received.size() == 2) {
+                    subscription.cancel();
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                throw new AssertionError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                fail("A cancelled subscription does not complete.");
+            }
+        });
+        assertEquals(Arrays.asList("a", "b"), received);
+    }
+
+    @Test
+    public void readFailuresAreSentToTheSubscriber() {
+        Reader failing = new Reader() {
+            private boolean first = true;
+
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                if (first) {
+                    first = false;
+                    "a,1\n".getChars(0, 4, cbuf, off);
+                    return 4;
+                }
+                throw new IOException("broken");
+            }
+
+            @Override
+            public boolean ready() {
+                return false;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        CSVReader reader = new CSVReaderBuilder(failing).withVerifyReader(false).build();
+        Recorder recorder = new Recorder();
+        reader.publisher(null).subscribe(recorder);
+        recorder.subscription.request(5);
+        assertEquals(Arrays.asList("a"), recorder.received);
+        assertTrue(recorder.error instanceof IOException);
+        assertFalse(recorder.completed);
+    }
+
+    @Test
+    public void nonPositiveRequestsAreErrors() {
+        Recorder recorder = new Recorder();
+        reader(DATA).publisher(null).subscribe(recorder);
+        recorder.subscription.request(0);
+        assertTrue(recorder.error instanceof IllegalArgumentException);
+        recorder.subscription.request(1);
+        assertTrue(recorder.received.isEmpty());
+    }
+
+    @Test
+    public void onlyOneSubscriberIsAccepted() {
+        CsvPublisher<String[]> publisher = reader(DATA).publisher(null);
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+        assertNull(first.error);
+        assertTrue(second.error instanceof IllegalStateException);
+        second.subscription.request(1);
+        assertTrue(second.received.isEmpty());
+    }
+
+    @Test
+    public void executorSendsTheRecords() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final List<String> threads = new ArrayList<String>();
+            final String caller = Thread.currentThread().getName();
+            Recorder recorder = new Recorder() {
+                @Override
+                public void onNext(String[] item) {
+                    super.onNext(item);
+                    threads.add(Thread.currentThread().getName());
+                    subscription.request(1);
+                }
+            };
+            reader(DATA).publisher(executor).subscribe(recorder);
+            recorder.subscription.request(1);
+            assertTrue(recorder.finished.await(10, TimeUnit.SECONDS));
+            assertTrue(recorder.completed);
+            assertEquals(Arrays.asList("a", "b", "c", "d", "e"), recorder.received);
+            assertFalse(threads.contains(caller));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.opencsv;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CsvPushParserTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static class Collector implements CsvPushParser.RecordHandler {
+        private final List<String> records = new ArrayList<String>();
+
+        @Override
+        public void handleRecord(String[] record) {
+            records.add(Arrays.toString(record));
+        }
+    }
+
+    private static List<String> readAll(String data, ICSVParser parser, boolean keepCR) throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new StringReader(data)).withCSVParser(parser)
+                .withKeepCarriageReturn(keepCR).build();
+        List<String> records = new ArrayList<String>();
+        String[] record;
+        while ((record = reader.readNext()) != null) {
+            records.add(Arrays.toString(record));
+        }
+        return records;
+    }
+
+    private static String randomData(Random random) {
+        String[] pieces = {"a", "b,", ",", "\"", "\"\"", "\n", "\r\n", "\r", " ", "\u00e4", "\u20ac", "\uD83D\uDE00", "\\"};
+        StringBuilder sb = new StringBuilder();
+        int length = random.nextInt(40);
+        for (int i = 0; i < length; i++) {
+            sb.append(pieces[random.nextInt(pieces.length)]);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void chunksGiveTheRecordsOfACSVReader() throws IOException {
+        Random random = new Random(16);
+        for (int run = 0; run < 3000; run++) {
+            String data = randomData(random);
+            boolean keepCR = random.nextInt(4) == 0;
+            boolean rfc = random.nextBoolean();
+            boolean bytes = random.nextBoolean();
+            List<String> expected = readAll(data, rfc ? new RFC4180Parser() : new CSVParser(), keepCR);
+
+            Collector collector = new Collector();
+            CsvPushParser push = new CsvPushParser(rfc ? new RFC4180Parser() : new CSVParser(), keepCR, UTF8, collector);
+            if (bytes) {
+                byte[] encoded = data.getBytes(UTF8);
+                for (int from = 0; from < encoded.length; ) {
+                    int length = Math.min(encoded.length - from, random.nextInt(5));
+                    push.feed(ByteBuffer.wrap(encoded, from, length));
+                    from += length;
+                }
+            } else {
+                for (int from = 0; from < data.length(); ) {
+                    int length = Math.min(data.length() - from, random.nextInt(5));
+                    push.feed(CharBuffer.wrap(data, from, from + length));
+                    from += length;
+                }
+            }
+            push.endOfInput();
+            assertEquals("data " + Arrays.toString(data.toCharArray()), expected, collector.records);
+            assertEquals(expected.size(), push.getRecordsRead());
+        }
+    }
+
+    @Test
+    public void recordsAreHandedOverAsSoonAsTheyAreComplete() throws IOException {
+        Collector collector = new Collector();
+        CsvPushParser push = new CsvPushParser(new CSVParser(), collector);
+        push.feed(CharBuffer.wrap("a,\"b"));
+        assertTrue(collector.records.isEmpty());
+        push.feed(CharBuffer.wrap("\nc\"\r"));
+        assertEquals(Arrays.asList("[a, b\nc]"), collector.records);
+        push.feed(CharBuffer.wrap("\nd,e"));
+        assertEquals(1, collector.records.size());
+        push.endOfInput();
+        assertEquals(Arrays.asList("[a, b\nc]", "[d, e]"), collector.records);
+        assertEquals(3, push.getLinesRead());
+    }
+
+    @Test
+    public void charactersSplitBetweenChunksAreDecoded() throws IOException {
+        Collector collector = new Collector();
+        CsvPushParser push = new CsvPushParser(new CSVParser(), false, UTF8, collector);
+        byte[] encoded = "\u20ac,\uD83D\uDE00\n".getBytes(UTF8);
+        for (byte b : encoded) {
+            push.feed(ByteBuffer.wrap(new byte[]{b}));
+        }
+        push.feed(ByteBuffer.wrap(new byte[]{(byte) 0xE2}));
+        push.endOfInput();
+        assertEquals(Arrays.asList("[\u20ac, \uD83D\uDE00]", "[\ufffd]"), collector.records);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void bytesNeedACharset() throws IOException {
+        new CsvPushParser(new CSVParser(), new Collector()).feed(ByteBuffer.wrap(new byte[]{'a'}));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void nothingMayBeFedAfterTheEnd() throws IOException {
+        CsvPushParser push = new CsvPushParser(new CSVParser(), new Collector());
+        push.endOfInput();
+        push.feed(CharBuffer.wrap("a"));
+    }
+}
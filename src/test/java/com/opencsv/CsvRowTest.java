@@ -0,0 +1,65 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+public class CsvRowTest {
+
+    private static final String DATA = "a,\"b \"\"c\"\"\",,\"d\ne\"\nf\n";
+
+    @Test
+    public void rowsHoldTheSameDataAsArrays() throws IOException {
+        CSVReader[] readers = {
+                new CSVReaderBuilder(new StringReader(DATA)).withRecordTokenizer(true)
+                        .withFieldAsNull(CSVReaderNullFieldIndicator.EMPTY_SEPARATORS).build(),
+                new CSVReaderBuilder(new StringReader(DATA))
+                        .withFieldAsNull(CSVReaderNullFieldIndicator.EMPTY_SEPARATORS).build()};
+        for (CSVReader reader : readers) {
+            CsvRow row = reader.readNextRow();
+            assertEquals(4, row.size());
+            assertArrayEquals(new String[]{"a", "b \"c\"", null, "d\ne"}, row.toArray());
+            assertTrue(row.isNull(2));
+            assertFalse(row.isNull(3));
+            assertEquals("b \"c\"", row.getChars(1).toString());
+            assertNull(row.getChars(2));
+            assertSame(row.get(1), row.get(1));
+
+            row = reader.readNextRow();
+            assertArrayEquals(new String[]{"f"}, row.toArray());
+            assertNull(reader.readNextRow());
+            assertEquals(2, reader.getRecordsRead());
+        }
+    }
+
+    @Test
+    public void theTokenizerReportsQuotedFields() throws IOException {
+        CsvRow row = new CSVReaderBuilder(new StringReader(DATA)).withRecordTokenizer(true).build().readNextRow();
+        assertFalse(row.isQuoted(0));
+        assertTrue(row.isQuoted(1));
+        assertTrue(row.isQuoted(3));
+    }
+
+    @Test
+    public void rowsAreReusedUnlessDetached() throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new StringReader(DATA)).withRecordTokenizer(true).build();
+        CsvRow first = reader.readNextRow();
+        CsvRow detached = first.detach();
+        CsvRow second = reader.readNextRow();
+
+        assertSame(first, second);
+        assertEquals("f", first.get(0));
+        assertEquals(4, detached.size());
+        assertEquals("a", detached.get(0));
+        assertEquals("d\ne", detached.get(3));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void missingFieldsAreReported() {
+        new CsvRow(new String[]{"a"}).get(1);
+    }
+}
@@ -0,0 +1,137 @@
+package com.opencsv;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class CsvScanResultTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static List<CSVReaderBuilder> builders(String data) {
+        return Arrays.asList(
+                new CSVReaderBuilder(new StringReader(data)),
+                new CSVReaderBuilder(new StringReader(data)).withRecordTokenizer(true),
+                new CSVReaderBuilder(new ByteArrayInputStream(data.getBytes(UTF8)), UTF8).withRecordTokenizer(true),
+                new CSVReaderBuilder(new StringReader(data)).withRecordTokenizer(true).withReadAhead(2, 2));
+    }
+
+    private static String randomData(Random random) {
+        String[] pieces = {"a", "b,", ",", "\"", "\"\"", "\n", "\r\n", "\r", " ", "\u00e4", "\\"};
+        StringBuilder sb = new StringBuilder();
+        int length = random.nextInt(40);
+        for (int i = 0; i < length; i++) {
+            sb.append(pieces[random.nextInt(pieces.length)]);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void scanCountsTheRecordsAndColumnsReadNextReturns() throws IOException {
+        Random random = new Random(18);
+        for (int run = 0; run < 2000; run++) {
+            String data = randomData(random);
+            boolean keepCR = random.nextInt(4) == 0;
+            List<CSVReaderBuilder> expectedBuilders = builders(data);
+            List<CSVReaderBuilder> scanBuilders = builders(data);
+            for (int i = 0; i < scanBuilders.size(); i++) {
+                CSVReader expected = expectedBuilders.get(i).withKeepCarriageReturn(keepCR).build();
+                long records = 0;
+                int min = Integer.MAX_VALUE;
+                int max = 0;
+                String[] record;
+                while ((record = expected.readNext()) != null) {
+                    records++;
+                    min = Math.min(min, record.length);
+                    max = Math.max(max, record.length);
+                }
+                CSVReader reader = scanBuilders.get(i).withKeepCarriageReturn(keepCR).build();
+                CsvScanResult result = reader.scan();
+                String message = "reader " + i + " data " + Arrays.toString(data.toCharArray());
+                assertEquals(message, records, result.getRecords());
+                assertEquals(message, records, reader.getRecordsRead());
+                assertEquals(message, expected.getLinesRead(), result.getLinesRead());
+                if (records > 0) {
+                    assertEquals(message, min, result.getMinColumns());
+                    assertEquals(message, max, result.getMaxColumns());
+                }
+                expected.close();
+                reader.close();
+            }
+        }
+    }
+
+    @Test
+    public void inconsistentColumnCountsAreReported() throws IOException {
+        String data = "h1,h2\n1,\"two\nlines\"\n2\n3,x,y\n4,z\n";
+        for (CSVReaderBuilder builder : builders(data)) {
+            CsvScanResult result = builder.build().scan();
+            assertEquals(5, result.getRecords());
+            assertEquals(6, result.getLinesRead());
+            assertEquals(2, result.getColumns());
+            assertEquals(1, result.getMinColumns());
+            assertEquals(3, result.getMaxColumns());
+            assertEquals(2, result.getInconsistentRecords());
+            assertEquals(3, result.getFirstInconsistentRecord());
+            assertEquals(4, result.getFirstInconsistentLine());
+            assertFalse(result.isQuoteOpenAtEnd());
+            assertFalse(result.isValid());
+        }
+    }
+
+    @Test
+    public void skippedLinesComeBeforeTheFirstRecord() throws IOException {
+        String data = "comment\nh1,h2\n1,2\n3\n";
+        for (CSVReaderBuilder builder : builders(data)) {
+            CsvScanResult result = builder.withSkipLines(1).build().scan();
+            assertEquals(3, result.getRecords());
+            assertEquals(4, result.getFirstInconsistentLine());
+        }
+    }
+
+    @Test
+    public void aQuoteOpenAtTheEndIsReported() throws IOException {
+        String data = "a,b\nc,\"d\ne,f\n";
+        for (CSVReaderBuilder builder : builders(data)) {
+            CsvScanResult result = builder.build().scan();
+            assertTrue(result.isQuoteOpenAtEnd());
+            assertFalse(result.isValid());
+        }
+        for (CSVReaderBuilder builder : builders("a,b\nc,\"d\"\n")) {
+            CsvScanResult result = builder.build().scan();
+            assertFalse(result.isQuoteOpenAtEnd());
+            assertTrue(result.isValid());
+            assertEquals(2, result.getRecords());
+        }
+    }
+
+    @Test
+    public void otherParsersAreScannedThroughTheirRecords() throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new StringReader("a,\"b\nc\"\nd,e,f\n\"g"))
+                .withCSVParser(new RFC4180Parser()).build();
+        CsvScanResult result = reader.scan();
+        assertEquals(2, result.getRecords());
+        assertEquals(1, result.getInconsistentRecords());
+        assertEquals(3, result.getFirstInconsistentLine());
+        assertTrue(result.isQuoteOpenAtEnd());
+    }
+
+    @Test
+    public void emptyInputHasNoRecords() throws IOException {
+        for (CSVReaderBuilder builder : builders("")) {
+            CsvScanResult result = builder.build().scan();
+            assertEquals(0, result.getRecords());
+            assertEquals(-1, result.getColumns());
+            assertEquals(-1, result.getFirstInconsistentLine());
+            assertTrue(result.isValid());
+        }
+    }
+}
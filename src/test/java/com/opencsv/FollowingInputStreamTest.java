@@ -0,0 +1,159 @@
+package com.opencsv;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class FollowingInputStreamTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static void append(Path path, String data) throws IOException {
+        OutputStream out = new FileOutputStream(path.toFile(), true);
+        try {
+            out.write(data.getBytes(UTF8));
+        } finally {
+            out.close();
+        }
+    }
+
+    private CSVReader follow(Path path, boolean tokenize, long idleTimeoutMillis) {
+        return new CSVReaderBuilder(path, UTF8).withRecordTokenizer(tokenize)
+                .withFollow(5, idleTimeoutMillis).build();
+    }
+
+    @Test
+    public void recordsWrittenLaterAreRead() throws Exception {
+        for (final boolean tokenize : new boolean[]{false, true}) {
+            final Path path = folder.newFile().toPath();
+            append(path, "id,text\n1,\"multi");
+            final CSVReader reader = follow(path, tokenize, 0);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                assertArrayEquals(new String[]{"id", "text"}, reader.readNext());
+                Future<String[]> next = executor.submit(new Callable<String[]>() {
+                    @Override
+                    public String[] call() throws IOException {
+                        return reader.readNext();
+                    }
+                });
+                Thread.sleep(50);
+                assertFalse("a partial record must not be returned", next.isDone());
+                append(path, "\nline\u00e4");
+                Thread.sleep(50);
+                assertFalse("a partial record must not be returned", next.isDone());
+                append(path, "\"\n2,x\n");
+                assertArrayEquals(new String[]{"1", "multi\nline\u00e4"}, next.get(5, TimeUnit.SECONDS));
+                assertArrayEquals(new String[]{"2", "x"}, reader.readNext());
+                assertEquals(3, reader.getRecordsRead());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    public void theEndIsReportedAfterTheIdleTimeout() throws IOException {
+        Path path = folder.newFile().toPath();
+        append(path, "a,b\nc,d");
+        CSVReader reader = follow(path, true, 50);
+        assertArrayEquals(new String[]{"a", "b"}, reader.readNext());
+        assertArrayEquals(new String[]{"c", "d"}, reader.readNext());
+        assertNull(reader.readNext());
+        reader.close();
+    }
+
+    private static Future<String[]> readInterrupted(final CSVReader reader) throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<String[]> next = executor.submit(new Callable<String[]>() {
+            @Override
+            public String[] call() throws IOException {
+                return reader.readNext();
+            }
+        });
+        Thread.sleep(50);
+        executor.shutdownNow();
+        return next;
+    }
+
+    @Test
+    public void interruptingBetweenRecordsEndsTheInput() throws Exception {
+        for (boolean tokenize : new boolean[]{false, true}) {
+            Path path = folder.newFile().toPath();
+            append(path, "a,b\n");
+            CSVReader reader = follow(path, tokenize, 0);
+            assertArrayEquals(new String[]{"a", "b"}, reader.readNext());
+            assertNull(readInterrupted(reader).get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void interruptingWithinARecordThrows() throws Exception {
+        Path path = folder.newFile().toPath();
+        append(path, "a,b\nc,\"d");
+        CSVReader reader = follow(path, true, 0);
+        assertArrayEquals(new String[]{"a", "b"}, reader.readNext());
+        try {
+            readInterrupted(reader).get(5, TimeUnit.SECONDS);
+            fail("InterruptedIOException expected");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof InterruptedIOException);
+        }
+    }
+
+    @Test
+    public void truncatedFilesAreReported() throws IOException {
+        File file = folder.newFile();
+        append(file.toPath(), "a,b\nc,d\n");
+        FollowingInputStream in = new FollowingInputStream(file.toPath(), 5, 0);
+        byte[] b = new byte[100];
+        assertEquals(8, in.read(b, 0, b.length));
+        RandomAccessFile truncate = new RandomAccessFile(file, "rw");
+        try {
+            truncate.setLength(2);
+        } finally {
+            truncate.close();
+        }
+        try {
+            in.read(b, 0, b.length);
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("truncated"));
+        } finally {
+            in.close();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void onlyPathsCanBeFollowed() {
+        new CSVReaderBuilder(new StringReader("")).withFollow(10, 0);
+    }
+
+    @Test
+    public void builderKeepsTheSetting() throws IOException {
+        CSVReaderBuilder builder = new CSVReaderBuilder(folder.newFile().toPath(), UTF8);
+        assertEquals(0, builder.getFollowPollMillis());
+        assertEquals(10, builder.withFollow(10, 0).getFollowPollMillis());
+    }
+}
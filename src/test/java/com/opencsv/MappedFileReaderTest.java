@@ -0,0 +1,178 @@
+package com.opencsv;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MappedFileReaderTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path write(String data) throws IOException {
+        File file = folder.newFile();
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(data.getBytes(UTF8));
+        } finally {
+            out.close();
+        }
+        return file.toPath();
+    }
+
+    private String readAll(Reader reader, int chunk) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        char[] buf = new char[chunk];
+        int read;
+        while ((read = reader.read(buf, 0, chunk)) != -1) {
+            sb.append(buf, 0, read);
+        }
+        reader.close();
+        return sb.toString();
+    }
+
+    private MappedFileReader open(Path path, int windowSize) throws IOException {
+        return new MappedFileReader(FileChannel.open(path, StandardOpenOption.READ), UTF8, windowSize);
+    }
+
+    @Test
+    public void charactersSpanningWindowsAreDecoded() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        Random random = new Random(3);
+        String[] pieces = {"a", ",", "\n", "\u00e4", "\u20ac", "\uD83D\uDE00"};
+        for (int i = 0; i < 5000; i++) {
+            sb.append(pieces[random.nextInt(pieces.length)]);
+        }
+        String data = sb.toString();
+        Path path = write(data);
+
+        for (int windowSize = 4; windowSize < 12; windowSize++) {
+            assertEquals(data, readAll(open(path, windowSize), 1));
+            assertEquals(data, readAll(open(path, windowSize), 7));
+            assertEquals(data, readAll(open(path, windowSize), 8192));
+        }
+    }
+
+    @Test
+    public void emptyFileIsAtItsEnd() throws IOException {
+        MappedFileReader reader = open(write(""), 16);
+        assertFalse(reader.ready());
+        assertEquals(-1, reader.read(new char[4], 0, 4));
+    }
+
+    @Test(expected = IOException.class)
+    public void closedReaderCannotBeRead() throws IOException {
+        MappedFileReader reader = open(write("a"), 16);
+        reader.close();
+        reader.read(new char[4], 0, 4);
+    }
+
+    @Test
+    public void pathReaderMapsLargeFilesOnly() throws IOException {
+        Path path = write("a,b");
+
+        PathReader small = new PathReader(path, UTF8, 4);
+        assertFalse(small.isMapped());
+        small.close();
+        PathReader large = new PathReader(path, UTF8, 3);
+        assertTrue(large.isMapped());
+        large.close();
+    }
+
+    @Test
+    public void builderReadsPaths() throws IOException {
+        Path path = write("a,b\n\"c\nd\",\u00e4\n");
+
+        for (long threshold : new long[]{0, Long.MAX_VALUE}) {
+            CSVReader reader = new CSVReaderBuilder(path, UTF8).withMappingThreshold(threshold).build();
+            assertArrayEquals(new String[]{"a", "b"}, reader.readNext());
+            assertArrayEquals(new String[]{"c\nd", "\u00e4"}, reader.readNext());
+            assertNull(reader.readNext());
+            reader.close();
+        }
+    }
+
+    @Test
+    public void pathInputStreamMapsLargeFilesOnly() throws IOException {
+        Path path = write("a,b");
+
+        PathInputStream small = new PathInputStream(path, 4);
+        assertFalse(small.isMapped());
+        small.close();
+        PathInputStream large = new PathInputStream(path, 3);
+        assertTrue(large.isMapped());
+        large.close();
+    }
+
+    @Test
+    public void bytesSpanningWindowsAreRead() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            sb.append(i).append(",\u00e4\n");
+        }
+        Path path = write(sb.toString());
+        byte[] expected = sb.toString().getBytes(UTF8);
+
+        PathInputStream in = new PathInputStream(path, 0, 7);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[5];
+        int read;
+        while ((read = in.read(buf, 0, buf.length)) != -1) {
+            out.write(buf, 0, read);
+        }
+        in.close();
+        assertArrayEquals(expected, out.toByteArray());
+
+        in = new PathInputStream(path, 0, 7);
+        assertEquals(expected[0] & 0xFF, in.read());
+        assertEquals(100, in.skip(100));
+        assertEquals(expected.length - 101, in.available());
+        assertEquals(expected[101] & 0xFF, in.read());
+        in.close();
+    }
+
+    @Test
+    public void builderReadsPathsWithTheRecordTokenizer() throws IOException {
+        Path path = write("a,b\n\"c\nd\",\u00e4\n");
+
+        for (long threshold : new long[]{0, Long.MAX_VALUE}) {
+            CSVReader reader = new CSVReaderBuilder(path, UTF8)
+                    .withMappingThreshold(threshold)
+                    .withRecordTokenizer(true)
+                    .build();
+            assertArrayEquals(new String[]{"a", "b"}, reader.readNext());
+            assertArrayEquals(new String[]{"c\nd", "\u00e4"}, reader.readNext());
+            assertNull(reader.readNext());
+            reader.close();
+        }
+    }
+
+    @Test
+    public void missingFileIsReportedOnRead() throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new File(folder.getRoot(), "missing.csv").toPath(), UTF8)
+                .withVerifyReader(false)
+                .build();
+        try {
+            reader.readNext();
+            fail("Missing file was not reported.");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+public class ParallelCSVReaderTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final char[] ALPHABET = {'a', 'b', ' ', ',', '\t', '"', '\'', '\\', '\n', '\r', '\0', '\u00e4', '\u20ac'};
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File write(String data) throws IOException {
+        File file = folder.newFile();
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(data.getBytes(UTF8));
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+
+    private List<String[]> readSequentially(String data, CSVParser parser, int skipLines, boolean keepCR) throws IOException {
+        CSVReader reader = new CSVReader(new StringReader(data), skipLines, parser, keepCR, true, false);
+        List<String[]> records = new ArrayList<String[]>();
+        String[] record;
+        while ((record = reader.readNext()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+
+    private List<String[]> readUnordered(ParallelCSVReader reader) throws IOException {
+        final SortedMap<Integer, List<String[]>> chunks = new TreeMap<Integer, List<String[]>>();
+        reader.read(new ParallelCSVReader.ChunkHandler() {
+            @Override
+            public void handleChunk(int chunk, List<String[]> records) {
+                assertNull(chunks.put(chunk, records));
+            }
+        }, false);
+        List<String[]> records = new ArrayList<String[]>();
+        for (List<String[]> chunk : chunks.values()) {
+            records.addAll(chunk);
+        }
+        return records;
+    }
+
+    private void assertSameRecords(List<String[]> expected, List<String[]> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void readsRecordsSpanningChunks() throws IOException {
+        String data = "a,b,c\n\"multi\nline\",\"x,\"\"y\"\"\"\n\"\n\"\nlast";
+        ParallelCSVReader reader = new ParallelCSVReaderBuilder(write(data))
+                .withCharset(UTF8)
+                .withChunkSize(3)
+                .withThreads(4)
+                .build();
+
+        List<String[]> records = reader.readAll();
+
+        assertEquals(4, records.size());
+        assertArrayEquals(new String[]{"a", "b", "c"}, records.get(0));
+        assertArrayEquals(new String[]{"multi\nline", "x,\"y\""}, records.get(1));
+        assertArrayEquals(new String[]{"\n"}, records.get(2));
+        assertArrayEquals(new String[]{"last"}, records.get(3));
+    }
+
+    @Test
+    public void skipsLines() throws IOException {
+        ParallelCSVReader reader = new ParallelCSVReaderBuilder(write("skip \"this\r\nand this\r\na,b\r\n"))
+                .withCharset(UTF8)
+                .withSkipLines(2)
+                .withChunkSize(5)
+                .build();
+
+        List<String[]> records = reader.readAll();
+
+        assertEquals(1, records.size());
+        assertArrayEquals(new String[]{"a", "b"}, records.get(0));
+    }
+
+    @Test
+    public void emptyFileHasNoRecords() throws IOException {
+        ParallelCSVReader reader = new ParallelCSVReaderBuilder(write("")).withCharset(UTF8).build();
+        assertTrue(reader.readAll().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void subclassesOfTheParserAreRejected() throws IOException {
+        new ParallelCSVReaderBuilder(write("a")).withCSVParser(new CSVParser() {
+        }).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void charsetsWithMultiByteTerminatorsAreRejected() throws IOException {
+        new ParallelCSVReaderBuilder(write("a")).withCharset(Charset.forName("UTF-16")).build();
+    }
+
+    @Test
+    public void builderKeepsSettings() throws IOException {
+        File file = write("a");
+        CSVParser parser = new CSVParser();
+        ParallelCSVReaderBuilder builder = new ParallelCSVReaderBuilder(file)
+                .withCharset(UTF8)
+                .withCSVParser(parser)
+                .withSkipLines(-1)
+                .withKeepCarriageReturn(true)
+                .withChunkSize(100)
+                .withThreads(3);
+
+        assertSame(file, builder.getFile());
+        assertSame(UTF8, builder.getCharset());
+        assertSame(parser, builder.getCsvParser());
+        assertEquals(0, builder.getSkipLines());
+        assertTrue(builder.keepCarriageReturn());
+        assertEquals(100, builder.getChunkSize());
+        assertEquals(3, builder.getThreads());
+    }
+
+    @Test
+    public void parallelReadReturnsTheSameDataAsTheSequentialRead() throws IOException {
+        Random random = new Random(17);
+        CSVReaderNullFieldIndicator[] indicators = CSVReaderNullFieldIndicator.values();
+        for (int i = 0; i < 1500; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(60);
+            for (int j = 0; j < length; j++) {
+                sb.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+            }
+            String data = sb.toString();
+            char separator = random.nextBoolean() ? ',' : '\t';
+            char quote = random.nextInt(4) == 0 ? '\'' : '"';
+            char escape = random.nextInt(4) == 0 ? ICSVParser.NULL_CHARACTER : '\\';
+            CSVParser parser = new CSVParser(separator, quote, escape, random.nextInt(4) == 0,
+                    random.nextBoolean(), random.nextInt(4) == 0, indicators[random.nextInt(indicators.length)]);
+            int skipLines = random.nextInt(4) == 0 ? 1 : 0;
+            boolean keepCR = random.nextInt(4) == 0;
+
+            ParallelCSVReader reader = new ParallelCSVReaderBuilder(write(data))
+                    .withCharset(UTF8)
+                    .withCSVParser(parser)
+                    .withSkipLines(skipLines)
+                    .withKeepCarriageReturn(keepCR)
+                    .withChunkSize(1 + random.nextInt(12))
+                    .withThreads(1 + random.nextInt(4))
+                    .build();
+
+            List<String[]> expected = readSequentially(data, parser, skipLines, keepCR);
+            assertSameRecords(expected, random.nextBoolean() ? reader.readAll() : readUnordered(reader));
+        }
+    }
+
+    private List<String[]> readSplits(File file, List<CsvSplit> splits, CSVParser parser, int skipLines, boolean keepCR) throws IOException {
+        List<String[]> records = new ArrayList<String[]>();
+        for (int i = 0; i < splits.size(); i++) {
+            CsvSplit split = splits.get(i);
+            assertEquals(i, split.getIndex());
+            CSVReader reader = new CSVReaderBuilder(file.toPath(), UTF8)
+                    .withCSVParser(parser)
+                    .withSkipLines(skipLines)
+                    .withKeepCarriageReturn(keepCR)
+                    .withSplit(split)
+                    .build();
+            String[] record;
+            while ((record = reader.readNext()) != null) {
+                records.add(record);
+            }
+            reader.close();
+            assertEquals(records.size(), reader.getRecordsRead());
+            if (i + 1 < splits.size()) {
+                CsvSplit next = splits.get(i + 1);
+                assertEquals(split.getEnd(), next.getStart());
+                assertEquals(split.getRecordsBefore() + split.getRecords(), next.getRecordsBefore());
+                assertEquals(reader.getLinesRead(), next.getLinesBefore());
+            }
+        }
+        return records;
+    }
+
+    @Test
+    public void splitsStartAtRecordBoundaries() throws IOException {
+        String data = "h1,h2\n\"a\n\n\n\",1\nb,2\n\"c\r\nd\",3\ne,4\n";
+        File file = write(data);
+        ParallelCSVReader reader = new ParallelCSVReaderBuilder(file)
+                .withCharset(UTF8)
+                .withChunkSize(2)
+                .withSkipLines(1)
+                .build();
+        List<CsvSplit> splits = reader.split(3);
+        assertEquals(3, splits.size());
+        assertEquals(6, splits.get(0).getStart());
+        assertEquals(1, splits.get(0).getLinesBefore());
+        assertEquals(0, splits.get(0).getRecordsBefore());
+        long records = 0;
+        for (CsvSplit split : splits) {
+            records += split.getRecords();
+        }
+        assertEquals(4, records);
+        assertEquals(file.length(), splits.get(2).getEnd());
+        assertSameRecords(readSequentially(data, new CSVParser(), 1, false),
+                readSplits(file, splits, new CSVParser(), 1, false));
+    }
+
+    @Test
+    public void splitsCanBeSerialized() throws IOException, ClassNotFoundException {
+        File file = write("a\nb\nc\nd\n");
+        List<CsvSplit> splits = new ParallelCSVReaderBuilder(file).withCharset(UTF8).withChunkSize(1).build().split(2);
+        assertEquals(2, splits.size());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(splits.get(1));
+        out.close();
+        CsvSplit copy = (CsvSplit) new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject();
+        assertEquals(splits.get(1).toString(), copy.toString());
+        CSVReader reader = new CSVReaderBuilder(file.toPath(), UTF8).withSplit(copy).build();
+        assertArrayEquals(new String[]{"c"}, reader.readNext());
+        assertEquals(3, reader.getLinesRead());
+        assertArrayEquals(new String[]{"d"}, reader.readNext());
+        assertNull(reader.readNext());
+        assertEquals(4, reader.getRecordsRead());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void splitsMustBeAskedFor() throws IOException {
+        new ParallelCSVReaderBuilder(write("a")).withCharset(UTF8).build().split(0);
+    }
+
+    @Test
+    public void splitsReadTheSameDataAsTheSequentialRead() throws IOException {
+        Random random = new Random(19);
+        CSVReaderNullFieldIndicator[] indicators = CSVReaderNullFieldIndicator.values();
+        for (int i = 0; i < 1000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(60);
+            for (int j = 0; j < length; j++) {
+                sb.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+            }
+            String data = sb.toString();
+            char separator = random.nextBoolean() ? ',' : '\t';
+            char escape = random.nextInt(4) == 0 ? ICSVParser.NULL_CHARACTER : '\\';
+            CSVParser parser = new CSVParser(separator, '"', escape, random.nextInt(4) == 0,
+                    random.nextBoolean(), random.nextInt(4) == 0, indicators[random.nextInt(indicators.length)]);
+            int skipLines = random.nextInt(4) == 0 ? 1 : 0;
+            boolean keepCR = random.nextInt(4) == 0;
+
+            File file = write(data);
+            ParallelCSVReader reader = new ParallelCSVReaderBuilder(file)
+                    .withCharset(UTF8)
+                    .withCSVParser(parser)
+                    .withSkipLines(skipLines)
+                    .withKeepCarriageReturn(keepCR)
+                    .withChunkSize(1 + random.nextInt(12))
+                    .build();
+            List<CsvSplit> splits = reader.split(1 + random.nextInt(5));
+
+            List<String[]> expected = readSequentially(data, parser, skipLines, keepCR);
+            assertSameRecords(expected, readSplits(file, splits, parser, skipLines, keepCR));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class RFC4180ParserTest {
+
+    @Test
+    public void linesWithoutQuotesAreSplitAtSeparators() throws IOException {
+        RFC4180Parser parser = new RFC4180Parser();
+        assertArrayEquals(new String[]{"a", " b ", "", "c\\d", ""}, parser.parseLine("a, b ,,c\\d,"));
+        assertArrayEquals(new String[]{""}, parser.parseLine(""));
+    }
+
+    @Test
+    public void separatorsSpecialToRegularExpressionsAreOrdinary() throws IOException {
+        for (char separator : new char[]{'|', '.', '*', '\\', '$', '['}) {
+            RFC4180Parser parser = new RFC4180ParserBuilder().withSeparator(separator).build();
+            String line = "a" + separator + "b" + separator + separator + "c";
+            assertArrayEquals(line, new String[]{"a", "b", "", "c"}, parser.parseLine(line));
+        }
+    }
+
+    @Test
+    public void emptyFieldsOfUnquotedDialectsMayBeNull() throws IOException {
+        RFC4180Parser parser = new RFC4180ParserBuilder()
+                .withSeparator('\t')
+                .withQuoteChar(ICSVParser.NULL_CHARACTER)
+                .withFieldAsNull(CSVReaderNullFieldIndicator.BOTH)
+                .build();
+        assertArrayEquals(new String[]{null, "\"a\"", null}, parser.parseLineMulti("\t\"a\"\t"));
+        assertFalse(parser.isPending());
+    }
+
+    @Test
+    public void quotedFieldsLoseTheirQuotes() throws IOException {
+        RFC4180Parser parser = new RFC4180Parser();
+        assertArrayEquals(new String[]{"a", "b,c", "d\"e", "", "f"}, parser.parseLine("a,\"b,c\",\"d\"\"e\",\"\",f"));
+        // quotes in a field not starting with one are only undoubled
+        assertArrayEquals(new String[]{"a\"b\"", "c"}, parser.parseLine("a\"\"b\",c"));
+        assertArrayEquals(new String[]{"a", ""}, parser.parseLine("\"a\","));
+    }
+
+    @Test
+    public void emptyQuotedFieldsMayBeNull() throws IOException {
+        RFC4180Parser parser = new RFC4180ParserBuilder()
+                .withFieldAsNull(CSVReaderNullFieldIndicator.EMPTY_QUOTES)
+                .build();
+        assertArrayEquals(new String[]{null, "", "a"}, parser.parseLine("\"\",,\"a\""));
+    }
+
+    @Test
+    public void quotedFieldsGoOnOverSeveralLines() throws IOException {
+        RFC4180Parser parser = new RFC4180Parser();
+        assertArrayEquals(new String[]{"a"}, parser.parseLineMulti("a,\"b"));
+        assertTrue(parser.isPending());
+        assertEquals(0, parser.parseLineMulti("c").length);
+        assertEquals(0, parser.parseLineMulti("d \"\"e\"\", f").length);
+        assertTrue(parser.isPending());
+        assertArrayEquals(new String[]{"b\nc\nd \"e\", f\ng", "h"}, parser.parseLineMulti("g\",h"));
+        assertFalse(parser.isPending());
+    }
+
+    @Test
+    public void aFieldStillOpenAtTheEndIsReturnedAsRead() throws IOException {
+        RFC4180Parser parser = new RFC4180Parser();
+        assertEquals(0, parser.parseLineMulti("\"a").length);
+        assertArrayEquals(new String[]{"\"a\n"}, parser.parseLineMulti(null));
+        assertFalse(parser.isPending());
+        assertNull(parser.parseLineMulti(null));
+    }
+}
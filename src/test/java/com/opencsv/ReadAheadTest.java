@@ -0,0 +1,198 @@
+package com.opencsv;
+
+import com.opencsv.exceptions.CsvRunawayQuoteException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class ReadAheadTest {
+
+    private static String data(int records) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= records; i++) {
+            sb.append(i).append(",\"line\n").append(i).append("\"\n");
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void recordsAreReturnedInOrder() throws IOException {
+        for (boolean tokenize : new boolean[]{false, true}) {
+            CSVReader reader = new CSVReaderBuilder(new StringReader(data(1000)))
+                    .withRecordTokenizer(tokenize).withReadAhead(2, 7).build();
+            for (int i = 1; i <= 1000; i++) {
+                assertArrayEquals(new String[]{Integer.toString(i), "line\n" + i}, reader.readNext());
+                assertEquals(i, reader.getRecordsRead());
+                assertEquals(2 * i, reader.getLinesRead());
+            }
+            assertNull(reader.readNext());
+            assertNull(reader.readNext());
+            assertEquals(1000, reader.getRecordsRead());
+            reader.close();
+        }
+    }
+
+    @Test
+    public void readAllReadsEverything() throws IOException {
+        for (int records : new int[]{0, 1, 9, 10, 11}) {
+            CSVReader reader = new CSVReaderBuilder(new StringReader(data(records))).withReadAhead(1, 10).build();
+            List<String[]> all = reader.readAll();
+            assertEquals(records, all.size());
+        }
+    }
+
+    @Test
+    public void otherReadMethodsUseTheReadAhead() throws IOException {
+        CSVReader reader = new CSVReaderBuilder(new StringReader(data(3)))
+                .withRecordTokenizer(true).withSkipLines(2).withReadAhead(1, 1).build();
+        assertEquals("line\n2", reader.readNextRow().get(1));
+        assertArrayEquals(new String[]{"3", "line\n3"}, reader.readNext());
+        assertNull(reader.readNextRow());
+    }
+
+    @Test
+    public void failuresFollowTheRecordsReadBefore() throws IOException {
+        Reader failing = new StringReader(data(10)) {
+            private int reads;
+
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                if (++reads > 1) {
+                    throw new IOException("disk gone");
+                }
+                return super.read(cbuf, off, Math.min(len, 30));
+            }
+
+            @Override
+            public boolean ready() {
+                return false;
+            }
+        };
+        CSVReader reader = new CSVReaderBuilder(failing).withVerifyReader(false)
+                .withRecordTokenizer(true).withReadAhead(4, 100).build();
+        int records = 0;
+        try {
+            while (reader.readNext() != null) {
+                records++;
+            }
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertEquals("disk gone", e.getMessage());
+        }
+        // 30 characters hold the first two records and part of the third
+        assertEquals(2, records);
+        try {
+            reader.readNext();
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertEquals("disk gone", e.getMessage());
+        }
+    }
+
+    @Test
+    public void readingGoesOnAfterARunawayQuote() throws IOException {
+        String data = "1,a\n2,\"b\n3,c\n4,d\n5,e\n";
+        for (boolean tokenize : new boolean[]{false, true}) {
+            CSVReader reader = new CSVReaderBuilder(new StringReader(data)).withRecordTokenizer(tokenize)
+                    .withRunawayQuoteDetection(2, 0).withReadAhead(2, 2).build();
+            assertArrayEquals(new String[]{"1", "a"}, reader.readNext());
+            try {
+                reader.readNext();
+                fail("CsvRunawayQuoteException expected");
+            } catch (CsvRunawayQuoteException e) {
+                assertEquals(2, e.getLineNumber());
+            }
+            assertEquals(2, reader.getLinesRead());
+            assertArrayEquals(new String[]{"3", "c"}, reader.readNext());
+            assertArrayEquals(new String[]{"4", "d"}, reader.readNext());
+            assertArrayEquals(new String[]{"5", "e"}, reader.readNext());
+            assertNull(reader.readNext());
+            assertEquals(5, reader.getLinesRead());
+        }
+    }
+
+    @Test
+    public void closeWaitsForTheThread() throws Exception {
+        final AtomicBoolean reading = new AtomicBoolean();
+        final AtomicBoolean closedWhileReading = new AtomicBoolean();
+        // the records are found in the bytes, so nothing stands between closing and reading the stream
+        InputStream slow = new ByteArrayInputStream(data(1000).getBytes("UTF-8")) {
+            @Override
+            public int read(byte[] b, int off, int len) {
+                reading.set(true);
+                try {
+                    // like a blocking read, interrupting the thread does not end the wait
+                    boolean interrupted = false;
+                    long end = System.nanoTime() + 20000000L;
+                    while (System.nanoTime() < end) {
+                        try {
+                            Thread.sleep(1);
+                        } catch (InterruptedException e) {
+                            interrupted = true;
+                        }
+                    }
+                    if (interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return super.read(b, off, Math.min(len, 10));
+                } finally {
+                    reading.set(false);
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                closedWhileReading.set(reading.get());
+                super.close();
+            }
+        };
+        CSVReader reader = new CSVReaderBuilder(slow, Charset.forName("UTF-8"))
+                .withRecordTokenizer(true).withReadAhead(1, 1).build();
+        assertNotNull(reader.readNext());
+        reader.close();
+        assertFalse(closedWhileReading.get());
+        assertFalse(readAheadThreadRunning());
+    }
+
+    @Test
+    public void closeStopsTheThread() throws Exception {
+        CSVReader reader = new CSVReaderBuilder(new StringReader(data(1000))).withReadAhead(1, 1).build();
+        assertNotNull(reader.readNext());
+        reader.close();
+        for (int i = 0; i < 100 && readAheadThreadRunning(); i++) {
+            Thread.sleep(10);
+        }
+        assertFalse(readAheadThreadRunning());
+    }
+
+    private static boolean readAheadThreadRunning() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("opencsv read ahead") && thread.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void builderKeepsTheSetting() {
+        CSVReaderBuilder builder = new CSVReaderBuilder(new StringReader(""));
+        assertEquals(0, builder.getReadAheadBatches());
+        assertEquals(3, builder.withReadAhead(3, 10).getReadAheadBatches());
+        assertEquals(0, builder.withReadAhead(-1, 0).getReadAheadBatches());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void batchSizeMustBePositive() {
+        new CSVReaderBuilder(new StringReader("")).withReadAhead(2, 0);
+    }
+}
@@ -0,0 +1,124 @@
+package com.opencsv;
+
+import com.opencsv.exceptions.CsvLimitExceededException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RecordLimitsTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static List<CSVReaderBuilder> builders(String data) {
+        return Arrays.asList(
+                new CSVReaderBuilder(new StringReader(data)),
+                new CSVReaderBuilder(new ByteArrayInputStream(data.getBytes(UTF8)), UTF8),
+                // a subclass of the CSVParser is handed lines
+                new CSVReaderBuilder(new StringReader(data)).withCSVParser(new CSVParser() {
+                }),
+                new CSVReaderBuilder(new StringReader(data)).withCSVParser(new RFC4180Parser()));
+    }
+
+    private static String unterminatedQuote() {
+        StringBuilder sb = new StringBuilder("a,b\nc,\"d\n");
+        for (int i = 0; i < 20000; i++) {
+            sb.append("line ").append(i).append(",x\n");
+        }
+        return sb.toString();
+    }
+
+    private static void assertLimitExceeded(CSVReader reader, int recordsBefore, long line) throws IOException {
+        for (int i = 0; i < recordsBefore; i++) {
+            assertNotNull(reader.readNext());
+        }
+        try {
+            reader.readNext();
+            fail("The limit was not enforced.");
+        } catch (CsvLimitExceededException e) {
+            assertEquals(line, e.getLineNumber());
+            assertTrue(e.getMessage(), e.getMessage().contains("line " + line));
+        }
+    }
+
+    @Test
+    public void anUnterminatedQuoteIsStoppedByTheRecordSize() throws IOException {
+        for (CSVReaderBuilder builder : builders(unterminatedQuote())) {
+            assertLimitExceeded(builder.withMaxRecordSize(1000).build(), 1, 2);
+        }
+    }
+
+    @Test
+    public void anUnterminatedQuoteIsStoppedByTheFieldLength() throws IOException {
+        for (CSVReaderBuilder builder : builders(unterminatedQuote())) {
+            assertLimitExceeded(builder.withMaxFieldLength(1000).build(), 1, 2);
+        }
+    }
+
+    @Test
+    public void tooManyColumnsAreReported() throws IOException {
+        String data = "a,b,c\n\"x\ny\",2,3\n1,2,3,4\n";
+        for (CSVReaderBuilder builder : builders(data)) {
+            assertLimitExceeded(builder.withSkipLines(1).withMaxColumns(3).build(), 1, 4);
+        }
+    }
+
+    @Test
+    public void tooLongFieldsAreReported() throws IOException {
+        String data = "a,bbbb\nccccc,d\n";
+        for (CSVReaderBuilder builder : builders(data)) {
+            assertLimitExceeded(builder.withMaxFieldLength(4).build(), 1, 2);
+        }
+    }
+
+    @Test
+    public void anOpenFieldCountsFromItsFirstLine() throws IOException {
+        for (String data : new String[]{"\"1a ,\r\nc", "\"1a ,\nc\n", "x,\"1a\n,\n"}) {
+            for (CSVReaderBuilder builder : builders(data)) {
+                assertLimitExceeded(builder.withMaxFieldLength(3).build(), 0, 1);
+            }
+        }
+    }
+
+    @Test
+    public void linesEndingInLineFeedsCountTheSameOnEveryPath() throws IOException {
+        String data = "ab,\"c\nd\",e\nf\n";
+        for (CSVReaderBuilder builder : builders(data)) {
+            CSVReader reader = builder.withMaxRecordSize(11).withMaxFieldLength(3).build();
+            assertArrayEquals(new String[]{"ab", "c\nd", "e"}, reader.readNext());
+            assertArrayEquals(new String[]{"f"}, reader.readNext());
+            assertNull(reader.readNext());
+        }
+        for (CSVReaderBuilder builder : builders(data)) {
+            assertLimitExceeded(builder.withMaxRecordSize(10).build(), 0, 1);
+        }
+        for (CSVReaderBuilder builder : builders(data)) {
+            assertLimitExceeded(builder.withMaxFieldLength(2).build(), 0, 1);
+        }
+    }
+
+    @Test
+    public void recordsWithinTheLimitsAreRead() throws IOException {
+        String data = "a,bbbb\n\"c\nd\",e\n";
+        for (CSVReaderBuilder builder : builders(data)) {
+            CSVReader reader = builder.withMaxFieldLength(4).withMaxColumns(2).withMaxRecordSize(8).build();
+            assertArrayEquals(new String[]{"a", "bbbb"}, reader.readNext());
+            assertArrayEquals(new String[]{"c\nd", "e"}, reader.readNext());
+            assertNull(reader.readNext());
+        }
+    }
+
+    @Test
+    public void limitsAreOffByDefault() {
+        CSVReaderBuilder builder = new CSVReaderBuilder(new StringReader(""));
+        assertEquals(0, builder.getMaxRecordSize());
+        assertEquals(0, builder.withMaxRecordSize(-5).getMaxRecordSize());
+        assertEquals(10, builder.withMaxRecordSize(10).getMaxRecordSize());
+    }
+}
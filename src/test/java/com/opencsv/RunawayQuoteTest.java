@@ -0,0 +1,137 @@
+package com.opencsv;
+
+import com.opencsv.enums.CSVReaderNullFieldIndicator;
+import com.opencsv.exceptions.CsvRunawayQuoteException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RunawayQuoteTest {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static List<CSVReaderBuilder> builders(String data) {
+        return Arrays.asList(
+                new CSVReaderBuilder(new StringReader(data)),
+                new CSVReaderBuilder(new ByteArrayInputStream(data.getBytes(UTF8)), UTF8),
+                new CSVReaderBuilder(new StringReader(data)).withCSVParser(new RFC4180Parser()));
+    }
+
+    /**
+     * A reader of the data on each of the ways of reading, with a parser
+     * whose escape character opens a field without leaving it.
+     */
+    private static List<CSVReaderBuilder> escapingBuilders(String data) {
+        return Arrays.asList(
+                new CSVReaderBuilder(new StringReader(data))
+                        .withCSVParser(new CSVParser('|', '"', '#', false, true, false, CSVReaderNullFieldIndicator.NEITHER)),
+                new CSVReaderBuilder(new ByteArrayInputStream(data.getBytes(UTF8)), UTF8)
+                        .withCSVParser(new CSVParser('|', '"', '#', false, true, false, CSVReaderNullFieldIndicator.NEITHER)),
+                // a subclass of the CSVParser is handed lines
+                new CSVReaderBuilder(new StringReader(data))
+                        .withCSVParser(new CSVParser('|', '"', '#', false, true, false, CSVReaderNullFieldIndicator.NEITHER) {
+                        }));
+    }
+
+    private static void assertRunawayQuote(CSVReader reader, long line) throws IOException {
+        try {
+            reader.readNext();
+            fail("The runaway quote was not detected.");
+        } catch (CsvRunawayQuoteException e) {
+            assertEquals(line, e.getLineNumber());
+            assertTrue(e.getMessage(), e.getMessage().contains("line " + line));
+        }
+    }
+
+    @Test
+    public void aQuoteOpenForTooManyLinesIsDetected() throws IOException {
+        String data = "a,b\nc,\"d\ne,f\ng,h\ni,j\n\"k\",l\n";
+        for (CSVReaderBuilder builder : builders(data)) {
+            CSVReader reader = builder.withRunawayQuoteDetection(3, 0).build();
+            assertArrayEquals(new String[]{"a", "b"}, reader.readNext());
+            assertRunawayQuote(reader, 2);
+            assertEquals(2, reader.getLinesRead());
+            assertArrayEquals(new String[]{"e", "f"}, reader.readNext());
+            assertEquals(3, reader.getLinesRead());
+            assertArrayEquals(new String[]{"g", "h"}, reader.readNext());
+            assertArrayEquals(new String[]{"i", "j"}, reader.readNext());
+            assertArrayEquals(new String[]{"k", "l"}, reader.readNext());
+            assertNull(reader.readNext());
+            assertEquals(6, reader.getLinesRead());
+        }
+    }
+
+    @Test
+    public void aQuoteOpenForTooLongIsDetected() throws IOException {
+        String data = "a,\"b\n0123456789,0123456789\n0123456789,0123456789\nc,d\n";
+        for (CSVReaderBuilder builder : builders(data)) {
+            CSVReader reader = builder.withRunawayQuoteDetection(0, 40).build();
+            assertRunawayQuote(reader, 1);
+            assertArrayEquals(new String[]{"0123456789", "0123456789"}, reader.readNext());
+            assertArrayEquals(new String[]{"0123456789", "0123456789"}, reader.readNext());
+            assertArrayEquals(new String[]{"c", "d"}, reader.readNext());
+            assertNull(reader.readNext());
+        }
+    }
+
+    @Test
+    public void fieldsWithinTheBoundsAreRead() throws IOException {
+        String data = "a,\"b\nc\nd\",e\n\"f\",g\n";
+        for (CSVReaderBuilder builder : builders(data)) {
+            CSVReader reader = builder.withRunawayQuoteDetection(3, 100).build();
+            assertArrayEquals(new String[]{"a", "b\nc\nd", "e"}, reader.readNext());
+            assertArrayEquals(new String[]{"f", "g"}, reader.readNext());
+            assertNull(reader.readNext());
+        }
+    }
+
+    @Test
+    public void theRestOfTheInputIsReadAfterAStrayQuote() throws IOException {
+        StringBuilder sb = new StringBuilder("id,value\n1,\"stray\n");
+        for (int i = 2; i < 50000; i++) {
+            sb.append(i).append(",value ").append(i).append('\n');
+        }
+        for (CSVReaderBuilder builder : builders(sb.toString())) {
+            CSVReader reader = builder.withSkipLines(1).withRunawayQuoteDetection(100, 0).build();
+            assertRunawayQuote(reader, 2);
+            int records = 0;
+            String[] record;
+            while ((record = reader.readNext()) != null) {
+                records++;
+                assertEquals(Integer.toString(records + 1), record[0]);
+            }
+            assertEquals(49998, records);
+            assertEquals(50000, reader.getLinesRead());
+        }
+    }
+
+    @Test
+    public void theInputAfterARunawayQuoteIsReadAsIfItStartedThere() throws IOException {
+        String[] data = {
+                "c\"\r\n\"\"ccb\r?a\r?\r\nx1\n",
+                "a|#\"\n\"\"b\nc\nd\n",
+                "x\"\n\"y\"|z\nw\n"};
+        for (String d : data) {
+            List<CSVReaderBuilder> builders = escapingBuilders(d);
+            String rest = d.substring(d.indexOf('\n') + 1);
+            List<CSVReaderBuilder> freshBuilders = escapingBuilders(rest);
+            for (int i = 0; i < builders.size(); i++) {
+                CSVReader reader = builders.get(i).withRunawayQuoteDetection(2, 0).build();
+                CSVReader fresh = freshBuilders.get(i).build();
+                assertRunawayQuote(reader, 1);
+                String[] expected;
+                do {
+                    expected = fresh.readNext();
+                    assertArrayEquals(d, expected, reader.readNext());
+                } while (expected != null);
+            }
+        }
+    }
+}
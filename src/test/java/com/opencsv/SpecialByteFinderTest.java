@@ -0,0 +1,61 @@
+package com.opencsv;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class SpecialByteFinderTest {
+
+    private static int naiveFind(byte[] b, int from, int to, byte... special) {
+        for (int i = from; i < to; i++) {
+            for (byte s : special) {
+                if (b[i] == s) {
+                    return i;
+                }
+            }
+        }
+        return to;
+    }
+
+    @Test
+    public void findsTheFirstSpecialByte() {
+        byte[] b = "abcdefghij,klmnop\"q\n".getBytes();
+        SpecialByteFinder finder = new SpecialByteFinder((byte) ',', (byte) '"', (byte) '\n');
+        ByteBuffer words = SpecialByteFinder.words(b);
+
+        assertEquals(10, finder.find(words, 0, b.length));
+        assertEquals(17, finder.find(words, 11, b.length));
+        assertEquals(19, finder.find(words, 18, b.length));
+        assertEquals(8, finder.find(words, 0, 8));
+        assertEquals(b.length, finder.find(words, b.length, b.length));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void atMostFiveSpecialBytes() {
+        new SpecialByteFinder((byte) 1, (byte) 2, (byte) 3, (byte) 4, (byte) 5, (byte) 6);
+    }
+
+    @Test
+    public void findsTheSameBytesAsAComparisonOfEveryByte() {
+        Random random = new Random(11);
+        byte[] alphabet = {0, 1, '\t', '\n', '\r', ' ', '"', ',', 'a', 0x7F, (byte) 0x80, (byte) 0x8A, (byte) 0xAC, (byte) 0xFF};
+        for (int i = 0; i < 5000; i++) {
+            byte[] b = new byte[random.nextInt(40)];
+            for (int j = 0; j < b.length; j++) {
+                b[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            byte[] special = new byte[1 + random.nextInt(5)];
+            for (int j = 0; j < special.length; j++) {
+                special[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            int from = b.length == 0 ? 0 : random.nextInt(b.length + 1);
+            int to = from + random.nextInt(b.length - from + 1);
+
+            assertEquals(naiveFind(b, from, to, special),
+                    new SpecialByteFinder(special).find(SpecialByteFinder.words(b), from, to));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.opencsv;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ValuePoolTest {
+
+    private static final String DATA = "DE,EUR,1\nFR,EUR,2\nDE,EUR,3\nUS,USD,4\n";
+
+    @Test
+    public void repeatedValuesAreTheSameInstance() throws IOException {
+        CSVReader[] readers = {
+                new CSVReaderBuilder(new StringReader(DATA)).withValuePool(16).build(),
+                new CSVReaderBuilder(new StringReader(DATA)).withValuePool(16).withRecordTokenizer(true).build(),
+                new CSVReaderBuilder(new StringReader(DATA)).withValuePool(16).withColumns(0, 1).build()};
+        for (CSVReader reader : readers) {
+            List<String[]> records = reader.readAll();
+            assertEquals(4, records.size());
+            assertSame(records.get(0)[0], records.get(2)[0]);
+            assertSame(records.get(0)[1], records.get(1)[1]);
+            assertSame(records.get(1)[1], records.get(2)[1]);
+            assertEquals("USD", records.get(3)[1]);
+        }
+    }
+
+    @Test
+    public void valuesAreOnlyPooledWithinTheirColumn() {
+        ValuePool pool = new ValuePool(4);
+        String a = pool.get(0, new String("x"));
+        assertSame(a, pool.get(0, new String("x")));
+        assertNotSame(a, pool.get(1, new String("x")));
+        assertSame(a, pool.get(0, "axb".toCharArray(), 1, 1));
+    }
+
+    @Test
+    public void boundedTablesEvictOldValues() {
+        ValuePool pool = new ValuePool(2);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Integer.toString(i), pool.get(0, Integer.toString(i)));
+        }
+        String recent = pool.get(0, new String("recent"));
+        assertSame(recent, pool.get(0, new String("recent")));
+    }
+
+    @Test
+    public void columnsWithMostlyNewValuesAreNoLongerPooled() {
+        ValuePool pool = new ValuePool(16);
+        for (int i = 0; i < 1024; i++) {
+            pool.get(0, Integer.toString(i));
+        }
+        String value = new String("x");
+        pool.get(0, value);
+        assertNotSame(value, pool.get(0, new String("x")));
+    }
+
+    @Test
+    public void longValuesAreNotPooled() {
+        ValuePool pool = new ValuePool(16);
+        char[] chars = new char[ValuePool.MAX_VALUE_LENGTH + 1];
+        assertNotSame(pool.get(0, chars, 0, chars.length), pool.get(0, chars, 0, chars.length));
+        assertSame(pool.get(0, chars, 1, chars.length - 1), pool.get(0, chars, 1, chars.length - 1));
+    }
+
+    @Test
+    public void nullValuesStayNull() {
+        assertNull(new ValuePool(1).get(0, null));
+    }
+}
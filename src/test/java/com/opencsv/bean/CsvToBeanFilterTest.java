@@ -1,10 +1,16 @@
 package com.opencsv.bean;
 
 import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.CsvRow;
+import com.opencsv.CsvSubscriber;
+import com.opencsv.CsvSubscription;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 
 import java.io.InputStreamReader;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -73,6 +79,37 @@ public class CsvToBeanFilterTest {
 
    }
 
+   private class NonProductionRowFilter extends CsvRowFilter {
+
+      private final MappingStrategy strategy;
+
+      public NonProductionRowFilter(MappingStrategy strategy) {
+         this.strategy = strategy;
+      }
+
+      @Override
+      public boolean allowRow(CsvRow row) {
+         int index = strategy.getColumnIndex("STATE");
+         return !StringUtils.equals(row.getChars(index), "production");
+      }
+
+   }
+
+   @Test
+   public void testColumnNameTranslationWithRowFiltering() {
+      MappingStrategy strategy = CreateMappingStrategy();
+      CsvToBeanFilter filter = new NonProductionRowFilter(strategy);
+      CSVReader[] readers = {createReader(),
+            new CSVReaderBuilder(new StringReader(TEST_STRING)).withRecordTokenizer(true).build()};
+      for (CSVReader reader : readers) {
+         List<Feature> list = new CsvToBean().parse(strategy, reader, filter);
+         assertEquals("Parsing resulted in the wrong number of items.", 2, list.size());
+         assertEquals("The first item has the wrong name.", "calc age", list.get(0).getName());
+         assertEquals("The second item has the wrong state.", "alpha", list.get(1).getState());
+      }
+      assertEquals(false, filter.allowLine(new String[]{"x", "production", "1"}));
+   }
+
    @Test
    public void testColumnNameTranslationWithLineFiltering() {
       CsvToBean csvToBean = new CsvToBean();
@@ -87,6 +124,47 @@ public class CsvToBeanFilterTest {
       assertEquals("The second item has the wrong state.", "alpha", list.get(1).getState());
    }
 
+   @Test
+   public void testPublishedBeansAreFilteredAndSentOnDemand() {
+      MappingStrategy strategy = CreateMappingStrategy();
+      CsvToBean<Feature> csvToBean = new CsvToBean<Feature>();
+      csvToBean.setMappingStrategy(strategy);
+      csvToBean.setCsvReader(createReader());
+      csvToBean.setFilter(new NonProductionFilter(strategy));
+      final List<Feature> received = new ArrayList<Feature>();
+      final CsvSubscription[] subscription = new CsvSubscription[1];
+      final boolean[] completed = new boolean[1];
+      csvToBean.publisher(null).subscribe(new CsvSubscriber<Feature>() {
+         @Override
+         public void onSubscribe(CsvSubscription s) {
+            subscription[0] = s;
+         }
+
+         @Override
+         public void onNext(Feature item) {
+            received.add(item);
+         }
+
+         @Override
+         public void onError(Throwable throwable) {
+            throw new AssertionError(throwable);
+         }
+
+         @Override
+         public void onComplete() {
+            completed[0] = true;
+         }
+      });
+      assertEquals(0, received.size());
+      subscription[0].request(1);
+      assertEquals(1, received.size());
+      assertEquals("calc age", received.get(0).getName());
+      subscription[0].request(5);
+      assertEquals(2, received.size());
+      assertEquals("alpha", received.get(1).getState());
+      assertEquals(true, completed[0]);
+   }
+
    public List<Feature> parseCsv(InputStreamReader streamReader) {
       HeaderColumnNameTranslateMappingStrategy<Feature> strategy = new HeaderColumnNameTranslateMappingStrategy();
       Map<String, String> columnMap = new HashMap();